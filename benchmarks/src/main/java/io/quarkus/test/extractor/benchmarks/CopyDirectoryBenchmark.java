@@ -0,0 +1,58 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import io.quarkus.test.extractor.project.utils.MavenUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying of the module test sources into the generated project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CopyDirectoryBenchmark {
+
+    @Param({ "4", "8" })
+    int depth;
+
+    private Path benchmarkDir;
+    private File sourceDir;
+    private File destinationDir;
+
+    @Setup
+    public void setup() {
+        benchmarkDir = ExtractorFixtures.prepareTargetDir().resolve("copy-directory-benchmark");
+        Path sourceModule = benchmarkDir.resolve("source");
+        ExtractorFixtures.createTestTree(sourceModule, depth, 5);
+        sourceDir = sourceModule.resolve("src").resolve("test").toFile();
+        destinationDir = benchmarkDir.resolve("destination").resolve("src").resolve("test").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExtractorFixtures.deleteDirectory(benchmarkDir);
+    }
+
+    @Benchmark
+    public File copyTestTree() {
+        MavenUtils.copyDirectory(sourceDir, destinationDir, false, "quarkus-integration-test-benchmark-module");
+        return destinationDir;
+    }
+}
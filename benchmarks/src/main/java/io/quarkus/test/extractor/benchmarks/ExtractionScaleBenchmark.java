@@ -0,0 +1,118 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a synthetic reactor and runs the 'collect-project-metadata' and 'extract-tests' goals over it offline,
+ * like the 'extract-tests.sh' script does with the Quarkus project. Every goal is executed in a Maven process
+ * with Java Flight Recorder, so that peak heap usage and bytes read and written can be reported together with
+ * the wall time. Configure it with '-Dmodules' (100 by default), '-Dtest-files' (10 test classes per module
+ * by default), '-Dwork-dir' (a temporary directory by default) and '-Dmaven-executable' ('mvn' by default).
+ * The plugin must be installed in the local repository. Results are appended to the 'extraction-scale-results'
+ * file in the working directory.
+ */
+public final class ExtractionScaleBenchmark {
+
+    private static final String PLUGIN = "io.quarkus.qe:quarkus-test-extractor:1.0-SNAPSHOT:";
+    private static final List<String> GOALS = List.of("collect-project-metadata", "extract-tests");
+    private static final String RESULTS_FILE_NAME = "extraction-scale-results";
+    private static final String RESULTS_HEADER = "# goal;modules;test files per module;wall time ms;peak heap MB;"
+            + "read MB;written MB;wall time per module ms;read KB per module;written KB per module";
+    private static final String RECORDING_SETTINGS = "jdk.FileRead#threshold=0ms,jdk.FileWrite#threshold=0ms,"
+            + "jdk.FileRead#stackTrace=false,jdk.FileWrite#stackTrace=false";
+    private static final double MB = 1024 * 1024;
+
+    private ExtractionScaleBenchmark() {
+    }
+
+    record GoalResult(String goal, int modules, int testFiles, long wallTimeMs, long peakHeapBytes, long readBytes,
+                      long writtenBytes) {
+
+        private String toLine() {
+            return String.join(";", goal, Integer.toString(modules), Integer.toString(testFiles),
+                    Long.toString(wallTimeMs), "%.1f".formatted(peakHeapBytes / MB), "%.1f".formatted(readBytes / MB),
+                    "%.1f".formatted(writtenBytes / MB), "%.2f".formatted((double) wallTimeMs / modules),
+                    "%.1f".formatted(readBytes / 1024.0 / modules), "%.1f".formatted(writtenBytes / 1024.0 / modules));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int modules = Integer.getInteger("modules", 100);
+        int testFiles = Integer.getInteger("test-files", 10);
+        String workDirProperty = System.getProperty("work-dir");
+        Path workDir = workDirProperty == null ? Files.createTempDirectory("extraction-scale-benchmark")
+                : Files.createDirectories(Path.of(workDirProperty));
+        String mavenExecutable = System.getProperty("maven-executable", "mvn");
+
+        Path reactorDir = workDir.resolve("reactor-" + modules + "-" + testFiles);
+        Path extractedTestsDir = workDir.resolve("extracted-tests-" + modules + "-" + testFiles);
+        ExtractorFixtures.deleteDirectory(reactorDir);
+        ExtractorFixtures.deleteDirectory(extractedTestsDir);
+        var reactor = new SyntheticQuarkusReactor(reactorDir, modules, testFiles);
+        reactor.generate();
+        System.out.printf("Generated reactor with %d modules in %s%n", reactor.modules(), reactorDir);
+
+        List<GoalResult> results = new ArrayList<>();
+        for (String goal : GOALS) {
+            results.add(runGoal(mavenExecutable, goal, reactorDir, extractedTestsDir, workDir, reactor.modules(),
+                    testFiles));
+        }
+        storeResults(workDir.resolve(RESULTS_FILE_NAME), results);
+        System.out.println(RESULTS_HEADER);
+        results.stream().map(GoalResult::toLine).forEach(System.out::println);
+    }
+
+    private static GoalResult runGoal(String mavenExecutable, String goal, Path reactorDir, Path extractedTestsDir,
+                                      Path workDir, int modules, int testFiles) throws Exception {
+        Path recording = workDir.resolve(goal + "-" + modules + "-" + testFiles + ".jfr");
+        Path log = workDir.resolve(goal + "-" + modules + "-" + testFiles + ".log");
+        var processBuilder = new ProcessBuilder(mavenExecutable, "-o", "-B", PLUGIN + goal,
+                "-Dwrite-to=" + extractedTestsDir)
+                .directory(reactorDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        String mavenOpts = processBuilder.environment().getOrDefault("MAVEN_OPTS", "");
+        processBuilder.environment().put("MAVEN_OPTS", (mavenOpts + " -XX:StartFlightRecording:filename=" + recording
+                + "," + RECORDING_SETTINGS).trim());
+        long start = System.nanoTime();
+        int exitCode = processBuilder.start().waitFor();
+        long wallTimeMs = (System.nanoTime() - start) / 1_000_000;
+        if (exitCode != 0) {
+            throw new IllegalStateException("Goal '%s' failed with exit code %d, see %s".formatted(goal, exitCode, log));
+        }
+        long peakHeapBytes = 0;
+        long readBytes = 0;
+        long writtenBytes = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            switch (event.getEventType().getName()) {
+                case "jdk.GCHeapSummary" -> peakHeapBytes = Math.max(peakHeapBytes, event.getLong("heapUsed"));
+                case "jdk.FileRead" -> readBytes += Math.max(0, event.getLong("bytesRead"));
+                case "jdk.FileWrite" -> writtenBytes += event.getLong("bytesWritten");
+                default -> {
+                }
+            }
+        }
+        return new GoalResult(goal, modules, testFiles, wallTimeMs, peakHeapBytes, readBytes, writtenBytes);
+    }
+
+    private static void storeResults(Path resultsPath, List<GoalResult> results) {
+        var lines = new ArrayList<String>();
+        if (!Files.exists(resultsPath)) {
+            lines.add(RESULTS_HEADER);
+        }
+        results.stream().map(GoalResult::toLine).forEach(lines::add);
+        try {
+            Files.write(resultsPath, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store extraction scale results to " + resultsPath, e);
+        }
+    }
+}
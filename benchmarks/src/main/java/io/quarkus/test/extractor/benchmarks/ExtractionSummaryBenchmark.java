@@ -0,0 +1,84 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ExtractionSummary;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Repository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every module stores its partial extraction summary, the last module merges all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExtractionSummaryBenchmark {
+
+    private static final String LAST_MODULE_ARTIFACT_ID = "quarkus-documentation";
+
+    @Param({ "200", "1000" })
+    int modules;
+
+    private ExtractionSummary moduleSummary;
+
+    @Setup
+    public void setup() {
+        ExtractorFixtures.prepareTargetDir();
+        var project = Project.extract(ExtractorFixtures.largeIntegrationTestModule(10),
+                ExtractionSummary.of("benchmark-fixture"));
+        for (int i = 0; i < modules; i++) {
+            createSummary("benchmark-module-" + i, project, i).createAndStorePartialSummary();
+        }
+        moduleSummary = createSummary("benchmark-module-store", project, modules);
+    }
+
+    @Benchmark
+    public ExtractionSummary storePartialSummary() {
+        moduleSummary.createAndStorePartialSummary();
+        return moduleSummary;
+    }
+
+    @Benchmark
+    public ExtractionSummary mergePartialSummaries() {
+        return ExtractionSummary.of(LAST_MODULE_ARTIFACT_ID);
+    }
+
+    private static ExtractionSummary createSummary(String artifactId, Project project, int module) {
+        var summary = ExtractionSummary.of(artifactId);
+        for (int i = 0; i < 20; i++) {
+            var dependency = new Dependency();
+            dependency.setGroupId("org.acme.unmanaged");
+            // most of the unmanaged dependencies are shared between modules
+            dependency.setArtifactId("unmanaged-artifact-" + (i < 15 ? i : module + "-" + i));
+            dependency.setVersion("1.0." + i);
+            summary.addNotManagedDependency(dependency, project);
+        }
+        for (int i = 0; i < 5; i++) {
+            var plugin = new Plugin();
+            plugin.setArtifactId("acme-maven-plugin-" + i);
+            plugin.setVersion("2.0." + i);
+            summary.addBuildPlugin(plugin, project);
+        }
+        var repository = new Repository();
+        repository.setId("acme-repository-" + (module % 10));
+        repository.setUrl("https://repository.acme.org/" + (module % 10));
+        summary.addRepository(repository, project);
+        return summary;
+    }
+}
@@ -0,0 +1,134 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that every benchmark reports both the average time and
+ * normalized allocation per operation. Accepts the JMH command line options.
+ * Results are stored into the 'benchmark-results' file (see '-Dbenchmark-results'), one benchmark per line:
+ * 'benchmark;average time;time unit;allocated bytes per operation'. When '-Dbaseline-results' points to
+ * the results of the previous run, benchmarks that got slower or allocate more than the
+ * '-Dregression-threshold' (default 0.1, that is 10 %) are reported and the runner fails.
+ */
+public final class ExtractorBenchmarks {
+
+    private static final String RESULTS_PROPERTY = "benchmark-results";
+    private static final String BASELINE_PROPERTY = "baseline-results";
+    private static final String THRESHOLD_PROPERTY = "regression-threshold";
+    private static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+    private static final String SEPARATOR = ";";
+
+    private ExtractorBenchmarks() {
+    }
+
+    record BenchmarkResult(String benchmark, double time, String timeUnit, double allocatedBytes) {
+
+        private String toLine() {
+            return String.join(SEPARATOR, benchmark, Double.toString(time), timeUnit, Double.toString(allocatedBytes));
+        }
+
+        private static BenchmarkResult fromLine(String line) {
+            String[] columns = line.split(SEPARATOR);
+            return new BenchmarkResult(columns[0], Double.parseDouble(columns[1]), columns[2],
+                    Double.parseDouble(columns[3]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var commandLineOptions = new CommandLineOptions(args);
+        var optionsBuilder = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(ExtractorBenchmarks.class.getPackageName() + ".");
+        }
+        Map<String, BenchmarkResult> results = toBenchmarkResults(new Runner(optionsBuilder.build()).run());
+        Path resultsPath = Path.of(System.getProperty(RESULTS_PROPERTY, "benchmark-results"));
+        storeResults(resultsPath, results);
+        System.out.println("Benchmark results stored in " + resultsPath.toAbsolutePath());
+
+        String baseline = System.getProperty(BASELINE_PROPERTY);
+        if (baseline != null) {
+            double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "0.1"));
+            List<String> regressions = findRegressions(loadResults(Path.of(baseline)), results, threshold);
+            if (!regressions.isEmpty()) {
+                regressions.forEach(System.err::println);
+                System.err.printf("Found %d performance regressions compared to %s%n", regressions.size(), baseline);
+                System.exit(1);
+            }
+            System.out.println("No performance regressions compared to " + baseline);
+        }
+    }
+
+    private static Map<String, BenchmarkResult> toBenchmarkResults(Collection<RunResult> runResults) {
+        Map<String, BenchmarkResult> results = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            var params = runResult.getParams();
+            String parameters = params.getParamsKeys().stream()
+                    .map(key -> key + "=" + params.getParam(key))
+                    .collect(Collectors.joining(",", "(", ")"));
+            String benchmark = params.getBenchmark() + (params.getParamsKeys().isEmpty() ? "" : parameters);
+            Result<?> primaryResult = runResult.getPrimaryResult();
+            Result<?> allocationResult = runResult.getSecondaryResults().get(ALLOCATION_RESULT);
+            double allocatedBytes = allocationResult == null ? Double.NaN : allocationResult.getScore();
+            results.put(benchmark, new BenchmarkResult(benchmark, primaryResult.getScore(),
+                    primaryResult.getScoreUnit(), allocatedBytes));
+        }
+        return results;
+    }
+
+    private static List<String> findRegressions(Map<String, BenchmarkResult> baseline,
+                                                Map<String, BenchmarkResult> current, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        current.values().forEach(result -> {
+            var baselineResult = baseline.get(result.benchmark());
+            if (baselineResult == null) {
+                return;
+            }
+            if (result.timeUnit().equals(baselineResult.timeUnit())
+                    && result.time() > baselineResult.time() * (1 + threshold)) {
+                regressions.add("Benchmark '%s' is slower: %.3f %s, previously %.3f %s".formatted(result.benchmark(),
+                        result.time(), result.timeUnit(), baselineResult.time(), baselineResult.timeUnit()));
+            }
+            if (result.allocatedBytes() > baselineResult.allocatedBytes() * (1 + threshold)) {
+                regressions.add("Benchmark '%s' allocates more: %.0f B/op, previously %.0f B/op".formatted(
+                        result.benchmark(), result.allocatedBytes(), baselineResult.allocatedBytes()));
+            }
+        });
+        return regressions;
+    }
+
+    private static void storeResults(Path resultsPath, Map<String, BenchmarkResult> results) {
+        var lines = new ArrayList<String>();
+        lines.add("# benchmark;average time;time unit;allocated bytes per operation");
+        results.values().stream().map(BenchmarkResult::toLine).forEach(lines::add);
+        try {
+            Files.write(resultsPath, lines);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store benchmark results to " + resultsPath, e);
+        }
+    }
+
+    private static Map<String, BenchmarkResult> loadResults(Path resultsPath) {
+        try (var lines = Files.lines(resultsPath)) {
+            return lines.filter(line -> !line.isBlank() && !line.startsWith("#"))
+                    .map(BenchmarkResult::fromLine)
+                    .collect(Collectors.toMap(BenchmarkResult::benchmark, r -> r, (a, b) -> b, TreeMap::new));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load benchmark results from " + resultsPath, e);
+        }
+    }
+}
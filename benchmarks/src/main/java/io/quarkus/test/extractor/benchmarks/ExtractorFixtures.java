@@ -0,0 +1,258 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Creates fixtures that resemble Quarkus modules: the IT modules have hundreds of dependencies, many profiles
+ * and plugins, the test trees are deep. All the extractor state is written to a temporary '-Dwrite-to' directory,
+ * which must be prepared before any extractor class is loaded, because they read the directory in static fields.
+ */
+final class ExtractorFixtures {
+
+    private static final String WRITE_TO = "write-to";
+    private static final String PROJECT_VERSION = "999-SNAPSHOT";
+    private static final String MANAGED_DEPENDENCIES_FILE_NAME = "quarkus-bom-managed-deps";
+    private static final String CORE_EXTENSIONS_FILE_NAME = "core-extensions";
+    private static final String IT_MODULES_FILE_NAME = "integration-test-modules";
+    /**
+     * Real Quarkus BOM manages roughly 3 thousands of dependencies.
+     */
+    static final int MANAGED_DEPENDENCIES = 3000;
+
+    private ExtractorFixtures() {
+    }
+
+    /**
+     * Creates the target directory with the metadata that extraction of a module expects.
+     * Every fork has its own JVM, so the directory is prepared once per fork.
+     */
+    static synchronized Path prepareTargetDir() {
+        String writeTo = System.getProperty(WRITE_TO);
+        if (writeTo != null) {
+            return Path.of(writeTo);
+        }
+        try {
+            Path targetDir = Files.createTempDirectory("quarkus-test-extractor-benchmarks");
+            Files.write(targetDir.resolve(MANAGED_DEPENDENCIES_FILE_NAME), managementKeys(MANAGED_DEPENDENCIES));
+            Files.write(targetDir.resolve(CORE_EXTENSIONS_FILE_NAME), IntStream.range(0, MANAGED_DEPENDENCIES / 10)
+                    .mapToObj(i -> "quarkus-extension-" + i).toList());
+            Files.writeString(targetDir.resolve(IT_MODULES_FILE_NAME), "benchmark-module");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteDirectory(targetDir)));
+            System.setProperty(WRITE_TO, targetDir.toString());
+            return targetDir;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to prepare benchmark target directory", e);
+        }
+    }
+
+    static List<String> managementKeys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> i % 10 == 0
+                ? "io.quarkus:quarkus-extension-" + (i / 10)
+                : "org.acme.managed" + (i % 7) + ":managed-artifact-" + i).toList();
+    }
+
+    /**
+     * @return project of a large IT module located at 'integration-tests/benchmark-module'
+     */
+    static MavenProject largeIntegrationTestModule(int dependencyCount) {
+        Model effectiveModel = largeIntegrationTestModel(dependencyCount, true);
+        Model originalModel = largeIntegrationTestModel(dependencyCount, false);
+        MavenProject mavenProject = new MavenProject(effectiveModel);
+        mavenProject.setOriginalModel(originalModel);
+        mavenProject.setFile(Path.of(".").toAbsolutePath().resolve("integration-tests").resolve("benchmark-module")
+                .resolve("pom.xml").toFile());
+        return mavenProject;
+    }
+
+    /**
+     * @param effective effective model has resolved versions, original model only has versions that are not managed
+     */
+    static Model largeIntegrationTestModel(int dependencyCount, boolean effective) {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("io.quarkus");
+        model.setArtifactId("quarkus-integration-test-benchmark-module");
+        model.setVersion(PROJECT_VERSION);
+        model.setName("Quarkus - Integration Tests - Benchmark Module");
+        model.setDependencies(dependencies(dependencyCount, effective));
+        model.setBuild(build(effective));
+        for (int i = 0; i < 12; i++) {
+            Profile profile = new Profile();
+            profile.setId("profile-" + i);
+            profile.setDependencies(dependencies(dependencyCount / 10, effective));
+            var profileBuild = new Build();
+            profileBuild.setPlugins(plugins(effective));
+            profile.setBuild(profileBuild);
+            profile.addProperty("quarkus.profile-property-" + i, "value-" + i);
+            profile.addProperty("skipTests", "true");
+            model.addProfile(profile);
+        }
+        for (int i = 0; i < 40; i++) {
+            model.addProperty("benchmark.property-" + i, "${project.version}-" + i);
+        }
+        return model;
+    }
+
+    private static List<Dependency> dependencies(int count, boolean effective) {
+        List<Dependency> dependencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var dependency = new Dependency();
+            switch (i % 5) {
+                case 0 -> {
+                    // managed core extension, with test scope deployment counterpart
+                    dependency.setGroupId("io.quarkus");
+                    dependency.setArtifactId("quarkus-extension-" + i);
+                }
+                case 1 -> {
+                    dependency.setGroupId("io.quarkus");
+                    dependency.setArtifactId("quarkus-extension-" + (i - 1) + "-deployment");
+                    dependency.setType("pom");
+                    dependency.setScope("test");
+                    dependency.setVersion("${project.version}");
+                    var exclusion = new Exclusion();
+                    exclusion.setGroupId("*");
+                    exclusion.setArtifactId("*");
+                    dependency.addExclusion(exclusion);
+                }
+                case 2 -> {
+                    dependency.setGroupId("org.acme.managed" + (i % 7));
+                    dependency.setArtifactId("managed-artifact-" + i);
+                    dependency.setScope("test");
+                }
+                case 3 -> {
+                    // not managed, version is found among resolved dependencies
+                    dependency.setGroupId("org.acme.unmanaged");
+                    dependency.setArtifactId("unmanaged-artifact-" + i);
+                }
+                default -> {
+                    dependency.setGroupId("io.quarkus");
+                    dependency.setArtifactId("quarkus-test-utils-" + i);
+                    dependency.setType("test-jar");
+                    dependency.setScope("test");
+                    dependency.setVersion("${project.version}");
+                }
+            }
+            if (effective && dependency.getVersion() == null) {
+                dependency.setVersion("1.0." + i);
+            }
+            dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
+    private static Build build(boolean effective) {
+        var build = new Build();
+        build.setPlugins(plugins(effective));
+        var pluginManagement = new PluginManagement();
+        pluginManagement.setPlugins(plugins(true));
+        build.setPluginManagement(pluginManagement);
+        return build;
+    }
+
+    private static List<Plugin> plugins(boolean effective) {
+        List<Plugin> plugins = new ArrayList<>();
+        plugins.add(plugin("io.quarkus", "quarkus-maven-plugin", effective ? PROJECT_VERSION : null, "build"));
+        plugins.add(plugin("org.apache.maven.plugins", "maven-surefire-plugin", effective ? "3.5.2" : null, null));
+        plugins.add(plugin("org.apache.maven.plugins", "maven-failsafe-plugin", effective ? "3.5.2" : null,
+                "integration-test"));
+        plugins.add(plugin("org.apache.maven.plugins", "maven-resources-plugin", effective ? "3.3.1" : null,
+                "copy-resources"));
+        plugins.add(plugin("org.codehaus.mojo", "build-helper-maven-plugin", effective ? "3.6.0" : null,
+                "add-test-source"));
+        plugins.add(plugin("de.thetaphi", "forbiddenapis", "3.8", "check"));
+        return plugins;
+    }
+
+    private static Plugin plugin(String groupId, String artifactId, String version, String goal) {
+        var plugin = new Plugin();
+        plugin.setGroupId(groupId);
+        plugin.setArtifactId(artifactId);
+        plugin.setVersion(version);
+        if (goal != null) {
+            var execution = new PluginExecution();
+            execution.setId(goal);
+            execution.addGoal(goal);
+            plugin.addExecution(execution);
+        }
+        return plugin;
+    }
+
+    /**
+     * Creates a test tree like 'src/test/java/io/quarkus/it/...', with packages nested to given depth,
+     * each package has given number of sub-packages (on the first levels only) and test classes.
+     */
+    static void createTestTree(Path root, int depth, int classesPerPackage) {
+        try {
+            createTestTree(root.resolve("src").resolve("test").resolve("java"), depth, 0, classesPerPackage);
+            Path resources = Files.createDirectories(root.resolve("src").resolve("test").resolve("resources"));
+            Files.writeString(resources.resolve("application.properties"), "quarkus.http.test-port=0\n".repeat(20));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create test tree in " + root, e);
+        }
+    }
+
+    private static void createTestTree(Path dir, int depth, int level, int classesPerPackage) throws IOException {
+        Files.createDirectories(dir);
+        for (int i = 0; i < classesPerPackage; i++) {
+            String className = "BenchmarkTest" + level + "x" + i;
+            Files.writeString(dir.resolve(className + ".java"), testClass(className, level));
+        }
+        if (level < depth) {
+            int subPackages = level < 2 ? 3 : 1;
+            for (int i = 0; i < subPackages; i++) {
+                createTestTree(dir.resolve("package" + level + "x" + i), depth, level + 1, classesPerPackage);
+            }
+        }
+    }
+
+    private static String testClass(String className, int level) {
+        String testMethods = IntStream.range(0, 10).mapToObj("""
+                    @Test
+                    public void testMethod%d() {
+                        given().when().get("/hello").then().statusCode(200).body(is("hello"));
+                    }
+                """::formatted).collect(Collectors.joining(System.lineSeparator()));
+        return """
+                package io.quarkus.it.level%d;
+
+                import io.quarkus.test.junit.QuarkusTest;
+                import org.junit.jupiter.api.Test;
+
+                @QuarkusTest
+                public class %s {
+
+                %s
+                }
+                """.formatted(level, className, testMethods);
+    }
+
+    static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete " + dir, e);
+        }
+    }
+}
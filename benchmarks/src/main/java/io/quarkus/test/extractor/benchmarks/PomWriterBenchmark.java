@@ -0,0 +1,64 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import io.quarkus.test.extractor.project.utils.MavenUtils;
+import org.apache.maven.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing of the generated POM files, including the placeholder and version replacements that are
+ * done line by line in the written POM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PomWriterBenchmark {
+
+    @Param({ "100", "400" })
+    int dependencies;
+
+    private Model model;
+    private Path moduleDir;
+
+    @Setup
+    public void setup() throws IOException {
+        Path targetDir = ExtractorFixtures.prepareTargetDir();
+        model = ExtractorFixtures.largeIntegrationTestModel(dependencies, false);
+        moduleDir = Files.createDirectories(targetDir.resolve("pom-writer-benchmark"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        ExtractorFixtures.deleteDirectory(moduleDir);
+    }
+
+    @Benchmark
+    public long writeModulePom() {
+        MavenUtils.writeMavenModel(model, moduleDir);
+        return MavenUtils.getPomFile(moduleDir).length();
+    }
+
+    @Benchmark
+    public long writeParentPom() {
+        MavenUtils.writeParentMavenModel(model, moduleDir);
+        return MavenUtils.getPomFile(moduleDir).length();
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ExtractionSummary;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preparation of the generated module POM, which is done for every extracted module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectBenchmark {
+
+    @Param({ "100", "400" })
+    int dependencies;
+
+    private MavenProject mavenProject;
+    private Model originalModel;
+    private Project project;
+
+    /**
+     * Dependencies used to enforce build order are dropped from the original model and exclusions of some
+     * dependencies are cleared, therefore every invocation gets a fresh copy of the model.
+     */
+    @State(Scope.Thread)
+    public static class FreshOriginalModel {
+
+        @Setup(Level.Invocation)
+        public void setup(ProjectBenchmark benchmark) {
+            benchmark.mavenProject.setOriginalModel(benchmark.originalModel.clone());
+        }
+    }
+
+    @Setup
+    public void setup() {
+        ExtractorFixtures.prepareTargetDir();
+        mavenProject = ExtractorFixtures.largeIntegrationTestModule(dependencies);
+        originalModel = mavenProject.getOriginalModel().clone();
+        project = Project.extract(mavenProject, ExtractionSummary.of(mavenProject.getArtifactId()));
+    }
+
+    @Benchmark
+    public List<Dependency> dependencies(FreshOriginalModel freshOriginalModel) {
+        return project.dependencies();
+    }
+
+    @Benchmark
+    public List<Profile> profiles() {
+        return project.profiles();
+    }
+
+    @Benchmark
+    public Build build() {
+        return project.build();
+    }
+}
@@ -0,0 +1,65 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import io.quarkus.test.extractor.project.helper.QuarkusBom;
+import org.apache.maven.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups whether a dependency is managed by the Quarkus BOM, which is done several times for every dependency
+ * of every extracted module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QuarkusBomBenchmark {
+
+    private List<Dependency> dependencies;
+
+    @Setup
+    public void setup() {
+        ExtractorFixtures.prepareTargetDir();
+        // half of the looked up dependencies is managed
+        dependencies = ExtractorFixtures.managementKeys(ExtractorFixtures.MANAGED_DEPENDENCIES).stream()
+                .limit(500)
+                .flatMap(key -> {
+                    String[] groupIdAndArtifactId = key.split(":");
+                    return List.of(dependency(groupIdAndArtifactId[0], groupIdAndArtifactId[1]),
+                            dependency(groupIdAndArtifactId[0], groupIdAndArtifactId[1] + "-unmanaged")).stream();
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public int isManagedByQuarkusBom() {
+        int managed = 0;
+        for (Dependency dependency : dependencies) {
+            if (QuarkusBom.isManagedByQuarkusBom(dependency)) {
+                managed++;
+            }
+        }
+        return managed;
+    }
+
+    private static Dependency dependency(String groupId, String artifactId) {
+        var dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0.0");
+        return dependency;
+    }
+}
@@ -0,0 +1,503 @@
+package io.quarkus.test.extractor.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a synthetic reactor with the layout the extractor relies on: the 'quarkus-parent' root project,
+ * 'quarkus-bom', 'quarkus-build-parent', 'extensions/*&#47;{runtime,deployment}' with tests in the deployment modules,
+ * 'integration-tests/*' listed in the 'test-modules' profile of the 'quarkus-integration-tests-parent' and
+ * the 'quarkus-documentation' module that depends on all the extensions, therefore it is the last module.
+ * Dependencies between the generated modules have either the test scope or the POM type, so that the reactor
+ * can be processed offline without building it first.
+ */
+final class SyntheticQuarkusReactor {
+
+    static final String VERSION = "999-SNAPSHOT";
+    /**
+     * Root, BOM, build parent, extensions parent, integration tests parent and documentation.
+     */
+    private static final int INFRASTRUCTURE_MODULES = 6;
+    private static final int MODULES_PER_EXTENSION = 3;
+    private static final String DEPENDENCY = """
+                    <dependency>
+                        <groupId>%s</groupId>
+                        <artifactId>%s</artifactId>%s
+                    </dependency>
+            """;
+
+    private final Path rootDir;
+    private final int extensions;
+    private final int integrationTests;
+    private final int testFilesPerModule;
+
+    /**
+     * @param modules total number of modules in the reactor, 3 quarters of test modules are extension modules
+     * @param testFilesPerModule number of test classes in every extension deployment and integration test module
+     */
+    SyntheticQuarkusReactor(Path rootDir, int modules, int testFilesPerModule) {
+        if (modules < INFRASTRUCTURE_MODULES + MODULES_PER_EXTENSION + 1) {
+            throw new IllegalArgumentException("Synthetic reactor needs at least %d modules"
+                    .formatted(INFRASTRUCTURE_MODULES + MODULES_PER_EXTENSION + 1));
+        }
+        int testModules = modules - INFRASTRUCTURE_MODULES;
+        this.rootDir = rootDir;
+        this.extensions = Math.max(1, testModules * 3 / 4 / MODULES_PER_EXTENSION);
+        this.integrationTests = testModules - extensions * MODULES_PER_EXTENSION;
+        this.testFilesPerModule = testFilesPerModule;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: <target directory> <number of modules> <number of test files per module>");
+            System.exit(1);
+        }
+        var reactor = new SyntheticQuarkusReactor(Path.of(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]));
+        reactor.generate();
+        System.out.printf("Generated reactor with %d modules in %s%n", reactor.modules(), args[0]);
+    }
+
+    int modules() {
+        return INFRASTRUCTURE_MODULES + extensions * MODULES_PER_EXTENSION + integrationTests;
+    }
+
+    void generate() {
+        try {
+            writeRoot();
+            writeBom();
+            writeBuildParent();
+            writeExtensions();
+            writeIntegrationTests();
+            writeDocumentation();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate synthetic reactor in " + rootDir, e);
+        }
+    }
+
+    private void writeRoot() throws IOException {
+        writePom(rootDir, """
+                    <groupId>io.quarkus</groupId>
+                    <artifactId>quarkus-parent</artifactId>
+                    <version>%s</version>
+                    <name>Quarkus - Project pom</name>
+                    <packaging>pom</packaging>
+
+                    <properties>
+                        <version.surefire.plugin>3.5.2</version.surefire.plugin>
+                        <version.resources.plugin>3.3.1</version.resources.plugin>
+                        <build-helper-plugin.version>3.6.0</build-helper-plugin.version>
+                    </properties>
+
+                    <modules>
+                        <module>bom/application</module>
+                        <module>build-parent</module>
+                        <module>extensions</module>
+                        <module>integration-tests</module>
+                        <module>docs</module>
+                    </modules>
+
+                    <build>
+                        <pluginManagement>
+                            <plugins>
+                                <plugin>
+                                    <groupId>org.apache.maven.plugins</groupId>
+                                    <artifactId>maven-surefire-plugin</artifactId>
+                                    <version>${version.surefire.plugin}</version>
+                                </plugin>
+                                <plugin>
+                                    <groupId>org.apache.maven.plugins</groupId>
+                                    <artifactId>maven-failsafe-plugin</artifactId>
+                                    <version>${version.surefire.plugin}</version>
+                                </plugin>
+                                <plugin>
+                                    <groupId>org.apache.maven.plugins</groupId>
+                                    <artifactId>maven-resources-plugin</artifactId>
+                                    <version>${version.resources.plugin}</version>
+                                </plugin>
+                                <plugin>
+                                    <groupId>org.codehaus.mojo</groupId>
+                                    <artifactId>build-helper-maven-plugin</artifactId>
+                                    <version>${build-helper-plugin.version}</version>
+                                </plugin>
+                                <plugin>
+                                    <groupId>io.quarkus</groupId>
+                                    <artifactId>quarkus-maven-plugin</artifactId>
+                                    <version>${project.version}</version>
+                                </plugin>
+                            </plugins>
+                        </pluginManagement>
+                    </build>
+                """.formatted(VERSION));
+    }
+
+    private void writeBom() throws IOException {
+        var managedDependencies = new StringBuilder();
+        for (int i = 0; i < extensions; i++) {
+            managedDependencies.append(managedDependency("io.quarkus", runtimeArtifactId(i), "${project.version}"));
+            managedDependencies.append(managedDependency("io.quarkus", deploymentArtifactId(i), "${project.version}"));
+        }
+        managedDependencies.append(managedDependency("io.quarkus", "quarkus-junit5", "${project.version}"));
+        managedDependencies.append(managedDependency("io.quarkus", "quarkus-junit5-internal", "${project.version}"));
+        managedDependencies.append(managedDependency("io.rest-assured", "rest-assured", "5.5.0"));
+        managedDependencies.append(managedDependency("io.smallrye.stork", "stork-configuration-generator", "2.7.1"));
+        managedDependencies.append(managedDependency("org.hibernate.orm", "hibernate-jpamodelgen", "6.6.4.Final"));
+        writePom(rootDir.resolve("bom").resolve("application"), """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../../pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>quarkus-bom</artifactId>
+                    <name>Quarkus - BOM</name>
+                    <packaging>pom</packaging>
+
+                    <dependencyManagement>
+                        <dependencies>
+                %s
+                        </dependencies>
+                    </dependencyManagement>
+                """.formatted(VERSION, managedDependencies.toString().stripTrailing()));
+    }
+
+    private void writeBuildParent() throws IOException {
+        writePom(rootDir.resolve("build-parent"), """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>quarkus-build-parent</artifactId>
+                    <name>Quarkus - Build Parent</name>
+                    <packaging>pom</packaging>
+
+                    <properties>
+                        <assertj.version>3.26.3</assertj.version>
+                        <quarkus.build.skip>false</quarkus.build.skip>
+                    </properties>
+
+                    <dependencyManagement>
+                        <dependencies>
+                            <dependency>
+                                <groupId>io.quarkus</groupId>
+                                <artifactId>quarkus-bom</artifactId>
+                                <version>${project.version}</version>
+                                <type>pom</type>
+                                <scope>import</scope>
+                            </dependency>
+                            <dependency>
+                                <groupId>org.assertj</groupId>
+                                <artifactId>assertj-core</artifactId>
+                                <version>${assertj.version}</version>
+                            </dependency>
+                        </dependencies>
+                    </dependencyManagement>
+                """.formatted(VERSION));
+    }
+
+    private void writeExtensions() throws IOException {
+        Path extensionsDir = rootDir.resolve("extensions");
+        writePom(extensionsDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-build-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../build-parent/pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>quarkus-extensions-parent</artifactId>
+                    <name>Quarkus - Extensions</name>
+                    <packaging>pom</packaging>
+
+                    <modules>
+                %s
+                    </modules>
+                """.formatted(VERSION, modules(IntStream.range(0, extensions).mapToObj(SyntheticQuarkusReactor::extensionName).toList())));
+        for (int i = 0; i < extensions; i++) {
+            writeExtension(extensionsDir.resolve(extensionName(i)), i);
+        }
+    }
+
+    private void writeExtension(Path extensionDir, int extension) throws IOException {
+        writePom(extensionDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-extensions-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>%s-parent</artifactId>
+                    <name>Quarkus - Extension %d - Parent</name>
+                    <packaging>pom</packaging>
+
+                    <modules>
+                        <module>runtime</module>
+                        <module>deployment</module>
+                    </modules>
+                """.formatted(VERSION, runtimeArtifactId(extension), extension));
+
+        Path runtimeDir = extensionDir.resolve("runtime");
+        writePom(runtimeDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>%s-parent</artifactId>
+                        <version>%s</version>
+                    </parent>
+
+                    <artifactId>%s</artifactId>
+                    <name>Quarkus - Extension %d - Runtime</name>
+                """.formatted(runtimeArtifactId(extension), VERSION, runtimeArtifactId(extension), extension));
+        writeJavaFile(runtimeDir.resolve("src").resolve("main"), extensionPackage(extension), "Extension" + extension
+                + "Recorder", "");
+
+        Path deploymentDir = extensionDir.resolve("deployment");
+        var dependencies = new StringBuilder();
+        dependencies.append(dependency("io.quarkus", runtimeArtifactId(extension), null, "test"));
+        if (extension > 0) {
+            // extensions build on top of other extensions
+            dependencies.append(dependency("io.quarkus", deploymentArtifactId(extension - 1), null, "test"));
+        }
+        dependencies.append(dependency("io.quarkus", "quarkus-junit5-internal", null, "test"));
+        dependencies.append(dependency("io.rest-assured", "rest-assured", null, "test"));
+        dependencies.append(dependency("org.assertj", "assertj-core", null, "test"));
+        writePom(deploymentDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>%s-parent</artifactId>
+                        <version>%s</version>
+                    </parent>
+
+                    <artifactId>%s</artifactId>
+                    <name>Quarkus - Extension %d - Deployment</name>
+
+                    <dependencies>
+                %s
+                    </dependencies>
+                """.formatted(runtimeArtifactId(extension), VERSION, deploymentArtifactId(extension), extension,
+                dependencies.toString().stripTrailing()));
+        writeTests(deploymentDir, extensionPackage(extension) + ".deployment", "QuarkusUnitTest");
+    }
+
+    private void writeIntegrationTests() throws IOException {
+        Path integrationTestsDir = rootDir.resolve("integration-tests");
+        var modules = IntStream.range(0, integrationTests).mapToObj(SyntheticQuarkusReactor::integrationTestName)
+                .toList();
+        writePom(integrationTestsDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-build-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../build-parent/pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>quarkus-integration-tests-parent</artifactId>
+                    <name>Quarkus - Integration Tests</name>
+                    <packaging>pom</packaging>
+
+                    <profiles>
+                        <profile>
+                            <id>test-modules</id>
+                            <activation>
+                                <property>
+                                    <name>!no-test-modules</name>
+                                </property>
+                            </activation>
+                            <modules>
+                %s
+                            </modules>
+                        </profile>
+                    </profiles>
+                """.formatted(VERSION, modules(modules).indent(8).stripTrailing()));
+        for (int i = 0; i < integrationTests; i++) {
+            writeIntegrationTest(integrationTestsDir.resolve(integrationTestName(i)), i);
+        }
+    }
+
+    private void writeIntegrationTest(Path moduleDir, int module) throws IOException {
+        var dependencies = new StringBuilder();
+        int extension = module % extensions;
+        dependencies.append(dependency("io.quarkus", runtimeArtifactId(extension), null, "test"));
+        dependencies.append(dependency("io.quarkus", "quarkus-junit5", null, "test"));
+        dependencies.append(dependency("io.rest-assured", "rest-assured", null, "test"));
+        // ensures the deployment module is built before this module
+        dependencies.append(orderingDependency(deploymentArtifactId(extension)));
+        writePom(moduleDir, """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-integration-tests-parent</artifactId>
+                        <version>%s</version>
+                    </parent>
+
+                    <artifactId>quarkus-integration-test-%s</artifactId>
+                    <name>Quarkus - Integration Tests - %d</name>
+
+                    <dependencies>
+                %s
+                    </dependencies>
+
+                    <build>
+                        <plugins>
+                            <plugin>
+                                <groupId>io.quarkus</groupId>
+                                <artifactId>quarkus-maven-plugin</artifactId>
+                                <executions>
+                                    <execution>
+                                        <goals>
+                                            <goal>build</goal>
+                                        </goals>
+                                    </execution>
+                                </executions>
+                            </plugin>
+                            <plugin>
+                                <groupId>org.apache.maven.plugins</groupId>
+                                <artifactId>maven-failsafe-plugin</artifactId>
+                                <executions>
+                                    <execution>
+                                        <goals>
+                                            <goal>integration-test</goal>
+                                            <goal>verify</goal>
+                                        </goals>
+                                    </execution>
+                                </executions>
+                            </plugin>
+                        </plugins>
+                    </build>
+                """.formatted(VERSION, integrationTestName(module), module, dependencies.toString().stripTrailing()));
+        String testPackage = "io.quarkus.it.module" + module;
+        writeJavaFile(moduleDir.resolve("src").resolve("main"), testPackage, "GreetingResource", "");
+        Files.writeString(Files.createDirectories(moduleDir.resolve("src").resolve("main").resolve("resources"))
+                .resolve("application.properties"), "quarkus.http.test-port=0\n");
+        writeTests(moduleDir, testPackage, "QuarkusTest");
+    }
+
+    private void writeDocumentation() throws IOException {
+        var dependencies = IntStream.range(0, extensions)
+                .mapToObj(i -> orderingDependency(deploymentArtifactId(i)))
+                .collect(Collectors.joining());
+        writePom(rootDir.resolve("docs"), """
+                    <parent>
+                        <groupId>io.quarkus</groupId>
+                        <artifactId>quarkus-build-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath>../build-parent/pom.xml</relativePath>
+                    </parent>
+
+                    <artifactId>quarkus-documentation</artifactId>
+                    <name>Quarkus - Documentation</name>
+                    <packaging>pom</packaging>
+
+                    <dependencies>
+                %s
+                    </dependencies>
+                """.formatted(VERSION, dependencies.stripTrailing()));
+    }
+
+    private void writeTests(Path moduleDir, String testPackage, String testAnnotation) throws IOException {
+        Path testDir = moduleDir.resolve("src").resolve("test");
+        for (int i = 0; i < testFilesPerModule; i++) {
+            writeJavaFile(testDir, testPackage, "Synthetic" + i + "Test", """
+                    @io.quarkus.test.junit.%s
+                    """.formatted(testAnnotation));
+        }
+        Files.writeString(Files.createDirectories(testDir.resolve("resources")).resolve("application.properties"),
+                "quarkus.log.category.\"io.quarkus\".level=DEBUG\n");
+    }
+
+    private static void writeJavaFile(Path sourceSetDir, String packageName, String className, String annotations)
+            throws IOException {
+        Path packageDir = sourceSetDir.resolve("java").resolve(packageName.replace('.', '/'));
+        String methods = IntStream.range(0, 5).mapToObj("""
+                    @org.junit.jupiter.api.Test
+                    public void test%d() {
+                        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+                    }
+                """::formatted).collect(Collectors.joining(System.lineSeparator()));
+        Files.writeString(Files.createDirectories(packageDir).resolve(className + ".java"), """
+                package %s;
+
+                %spublic class %s {
+
+                %s
+                }
+                """.formatted(packageName, annotations, className, methods));
+    }
+
+    private static void writePom(Path moduleDir, String content) throws IOException {
+        Files.createDirectories(moduleDir);
+        Files.writeString(moduleDir.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0"
+                         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+
+                %s
+                </project>
+                """.formatted(content.stripTrailing()));
+    }
+
+    private static String modules(List<String> modules) {
+        return modules.stream().map(m -> "        <module>" + m + "</module>").collect(Collectors.joining("\n"));
+    }
+
+    private static String managedDependency(String groupId, String artifactId, String version) {
+        return DEPENDENCY.indent(8).formatted(groupId, artifactId, "\n                    <version>" + version
+                + "</version>");
+    }
+
+    private static String dependency(String groupId, String artifactId, String type, String scope) {
+        var details = new ArrayList<String>();
+        if (type != null) {
+            details.add("<type>" + type + "</type>");
+        }
+        if (scope != null) {
+            details.add("<scope>" + scope + "</scope>");
+        }
+        String extra = details.stream().map(d -> "\n            " + d).collect(Collectors.joining());
+        return DEPENDENCY.formatted(groupId, artifactId, extra);
+    }
+
+    private static String orderingDependency(String artifactId) {
+        return DEPENDENCY.formatted("io.quarkus", artifactId, """
+
+                            <version>${project.version}</version>
+                            <type>pom</type>
+                            <scope>test</scope>
+                            <exclusions>
+                                <exclusion>
+                                    <groupId>*</groupId>
+                                    <artifactId>*</artifactId>
+                                </exclusion>
+                            </exclusions>""");
+    }
+
+    private static String extensionName(int extension) {
+        return "extension-" + extension;
+    }
+
+    private static String runtimeArtifactId(int extension) {
+        return "quarkus-extension-" + extension;
+    }
+
+    private static String deploymentArtifactId(int extension) {
+        return runtimeArtifactId(extension) + "-deployment";
+    }
+
+    private static String extensionPackage(int extension) {
+        return "io.quarkus.extension" + extension;
+    }
+
+    private static String integrationTestName(int module) {
+        return "module-" + module;
+    }
+}
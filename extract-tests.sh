@@ -11,8 +11,9 @@ WORKING_DIR='/tmp/test-extractor'
 SUPER_VERBOSE=false
 SKIP_QUARKUS_BUILD=false
 GH_TOKEN=''
+EXTRACTION_METRICS=false
 
-while getopts l:b:d:vt:u:n:pxw:sg: opt
+while getopts l:b:d:vt:u:n:pxw:sg:m opt
 do
     case "${opt}" in
         l) QUARKUS_URL=${OPTARG};;
@@ -27,6 +28,7 @@ do
         x) SUPER_VERBOSE=true;;
         s) SKIP_QUARKUS_BUILD=true;;
         g) GH_TOKEN=${OPTARG};;
+        m) EXTRACTION_METRICS=true;;
     esac
 done
 
@@ -110,6 +112,9 @@ ADDITIONAL_ARGS=''
 if [ "$SUPER_VERBOSE" = true ]; then
   ADDITIONAL_ARGS='-X'
 fi
+if [ "$EXTRACTION_METRICS" = true ]; then
+  ADDITIONAL_ARGS="$ADDITIONAL_ARGS -Dextraction-metrics"
+fi
 
 # if we also want to push the extracted tests, we need to prepare git project
 if [ "$PUSH_EXTRACTED_TESTS" = true ]; then
@@ -136,21 +141,32 @@ if [ "$PUSH_EXTRACTED_TESTS" = true ]; then
   cd $PREVIOUS_DIR
 fi
 
-# build Quarkus because some artifacts are not available in Maven central
-if [ "$SKIP_QUARKUS_BUILD" = false ]; then
-  echo 'Building Quarkus'
-  MAVEN_OPTS="-Xmx4g" ./mvnw -B --no-transfer-progress -Dquickly
-else
-  echo 'Skipping Quarkus build'
-fi
-
-# collect metadata about Quarkus BOM
+# collect metadata about Quarkus BOM and modules, doesn't require built Quarkus
 echo 'Collecting Quarkus project metadata'
 mvn io.quarkus.qe:quarkus-test-extractor:1.0-SNAPSHOT:collect-project-metadata -Dwrite-to=$TARGET_DIR $ADDITIONAL_ARGS >> test-extraction-log
 
-# extract tests
+# detect whether collecting of the metadata succeeded, the Quarkus build and the extraction depend on them
+exitCode=$?
+if [ $exitCode -ne 0 ]; then
+    echo 'Failed to collect Quarkus project metadata, if the collection did not fail for obvious reason, enable super verbose mode with x option. Collection logs:'
+    cat test-extraction-log
+    exit 1
+fi
+
+# build Quarkus modules with artifacts that are not available in Maven central and are missing in the local repository
+PRE_BUILD_MODULES=$(cat $TARGET_DIR/pre-build-modules)
+if [ "$SKIP_QUARKUS_BUILD" = true ]; then
+  echo 'Skipping Quarkus build'
+elif [ -z "$PRE_BUILD_MODULES" ]; then
+  echo 'Skipping Quarkus build, all required artifacts are available'
+else
+  echo 'Building Quarkus modules' $PRE_BUILD_MODULES
+  MAVEN_OPTS="-Xmx4g" ./mvnw -B --no-transfer-progress -Dquickly -pl "$PRE_BUILD_MODULES" -am
+fi
+
+# extract tests only from modules selected when collecting metadata
 echo 'Extracting tests from Quarkus' $QUARKUS_GIT_HEAD ', you will be informed about the extraction result'
-mvn io.quarkus.qe:quarkus-test-extractor:1.0-SNAPSHOT:extract-tests -Dwrite-to=$TARGET_DIR $ADDITIONAL_ARGS >> test-extraction-log
+mvn io.quarkus.qe:quarkus-test-extractor:1.0-SNAPSHOT:extract-tests -Dwrite-to=$TARGET_DIR -pl "$(cat $TARGET_DIR/extraction-modules)" $ADDITIONAL_ARGS >> test-extraction-log
 
 # detect whether the extraction succeeded
 exitCode=$?
@@ -174,7 +190,11 @@ if [ "$VERBOSE" = true ]; then
 fi
 
 # delete auxiliary files and directories, but keep 'extraction-summary' as it might be useful
-rm -r -f quarkus-bom-managed-deps quarkus-build-parent-context quarkus-parent-pom-context partial-extraction-summaries
+rm -r -f quarkus-bom-managed-deps quarkus-build-parent-context quarkus-parent-pom-context partial-extraction-summaries \
+  partial-test-inventories partial-managed-module-dependencies partial-parallel-execution-plans \
+  partial-module-infrastructure partial-container-images partial-module-dependency-closures partial-extraction-metrics \
+  partial-extraction-modules extraction-modules partial-pre-build-modules pre-build-modules \
+  partial-managed-projects managed-projects
 
 # push extracted tests to dedicated GitHub project
 if [ "$PUSH_EXTRACTED_TESTS" = true ]; then
@@ -0,0 +1,176 @@
+package io.quarkus.test.extractor.engine;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ExtractionEvents;
+import io.quarkus.test.extractor.project.helper.ExtractionMetrics;
+import io.quarkus.test.extractor.project.helper.ExtractionModules;
+import io.quarkus.test.extractor.project.helper.ExtractionShards;
+import io.quarkus.test.extractor.project.helper.ExtractionSummary;
+import io.quarkus.test.extractor.project.helper.ManagedProjects;
+import io.quarkus.test.extractor.project.helper.PreBuildModules;
+import io.quarkus.test.extractor.project.helper.QuarkusBom;
+import io.quarkus.test.extractor.project.result.ParentProject;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
+import io.quarkus.test.extractor.project.writer.ProjectWriter;
+import io.quarkus.test.extractor.project.writer.ProjectWriter.Stage;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.quarkus.test.extractor.project.helper.CoreExtensions.addIfCoreExtension;
+import static io.quarkus.test.extractor.project.helper.IntegrationTestModules.addDirectItModules;
+import static io.quarkus.test.extractor.project.helper.IntegrationTestModules.isItModuleParent;
+import static io.quarkus.test.extractor.project.helper.QuarkusBom.isQuarkusBom;
+import static io.quarkus.test.extractor.project.result.ParentProject.copyAsIs;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.isLastModule;
+import static io.quarkus.test.extractor.project.writer.ProjectWriter.isExtracted;
+import static io.quarkus.test.extractor.project.writer.ProjectWriter.writeProject;
+
+/**
+ * Extraction of a single module shared by the Maven plugin goals and the {@link StandaloneExtractor}.
+ * Modules must be passed in the Maven reactor order, the last module finalizes the result.
+ */
+public final class ExtractionEngine {
+
+    private ExtractionEngine() {
+        // utils
+    }
+
+    /**
+     * Collects metadata the extraction needs before it starts, such as keys managed by the Quarkus BOM,
+     * and records whether the module is extracted and which reactor artifacts it needs.
+     */
+    public static void collectProjectMetadata(MavenProject mavenProject) {
+        if (isQuarkusBom(mavenProject.getArtifactId())) {
+            QuarkusBom.saveDependencyKeys(mavenProject);
+        } else if (isItModuleParent(mavenProject.getArtifactId())) {
+            addDirectItModules(mavenProject.getOriginalModel());
+        } else {
+            addIfCoreExtension(mavenProject.getArtifactId(), mavenProject.getBasedir().getAbsolutePath());
+        }
+        var project = Project.extract(mavenProject, ExtractionSummary.empty(mavenProject.getArtifactId()));
+        boolean extracted = isExtracted(project);
+        if (extracted) {
+            ExtractionModules.recordExtractionModule(project);
+        }
+        boolean copied = extracted && copyAsIs(project);
+        if (copied && ProjectWriter.getStage(project) == Stage.MODULE) {
+            ManagedProjects.recordManagedProject(project.artifactId());
+        }
+        PreBuildModules.recordModule(mavenProject, project.relativePath(), copied,
+                copied || (extracted && project.isTestModule()));
+    }
+
+    /**
+     * Must be called after metadata of the last module were collected.
+     *
+     * @return number of modules that must be built before extraction
+     */
+    public static int createAndStoreProjectMetadata(RepositorySystemSession repositorySession) {
+        ExtractionModules.createAndStoreExtractionModules();
+        ManagedProjects.createAndStoreManagedProjects();
+        return PreBuildModules.createAndStorePreBuildModules(repositorySession);
+    }
+
+    /**
+     * @return when the module can be extracted relative to other modules, {@link Stage#NONE} for modules
+     *         where the extraction does nothing, e.g. runtime modules
+     */
+    public static Stage getStage(MavenProject mavenProject) {
+        return ProjectWriter.getStage(Project.extract(mavenProject, ExtractionSummary.empty(mavenProject.getArtifactId())));
+    }
+
+    /**
+     * Extracts tests of the module and writes them to the target directory. When the extraction is sharded,
+     * only parent projects and modules of the current shard are extracted, the rest is left to the merge of shards.
+     *
+     * @return run report when the module is the last one and metrics are enabled, otherwise null
+     */
+    public static String extractTests(MavenProject mavenProject, DependencyResolver dependencyResolver) {
+        if (!ExtractionShards.isSharded()) {
+            return extractModule(mavenProject, dependencyResolver);
+        }
+        switch (getStage(mavenProject)) {
+            case PARENT -> extractModule(mavenProject, dependencyResolver);
+            case MODULE -> {
+                if (isInCurrentShard(mavenProject)) {
+                    extractShardModule(mavenProject, dependencyResolver);
+                }
+            }
+            default -> {
+                // unsupported modules and the last module are extracted when shards are merged
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the module of the current shard and stores changes of the parent project it made.
+     */
+    public static void extractShardModule(MavenProject mavenProject, DependencyResolver dependencyResolver) {
+        var changes = ParentProject.recordChanges(() -> extractModule(mavenProject, dependencyResolver));
+        ExtractionShards.storeParentProjectChanges(mavenProject.getArtifactId(), changes);
+    }
+
+    public static boolean isInCurrentShard(MavenProject mavenProject) {
+        return ExtractionShards.isInCurrentShard(
+                Project.extract(mavenProject, ExtractionSummary.empty(mavenProject.getArtifactId())).relativePath());
+    }
+
+    /**
+     * Merges shards into the target directory with the same result as if all the modules were extracted at once.
+     *
+     * @param mavenProjects all the projects of the reactor in the Maven reactor order
+     * @return run report when metrics are enabled, otherwise null
+     */
+    public static String mergeShards(List<MavenProject> mavenProjects, List<Path> shardDirs,
+                                     DependencyResolver dependencyResolver) {
+        Map<MavenProject, Stage> projectToStage = new LinkedHashMap<>();
+        mavenProjects.forEach(mavenProject -> projectToStage.put(mavenProject, getStage(mavenProject)));
+        // parent projects write files that shards also contain, shards are copied after them
+        extractModules(projectToStage, Stage.PARENT, dependencyResolver);
+        ExtractionShards.copyShards(shardDirs);
+        var artifactIdToChanges = ExtractionShards.loadAndDeleteParentProjectChanges();
+        mavenProjects.forEach(mavenProject -> ParentProject.applyChanges(
+                artifactIdToChanges.getOrDefault(mavenProject.getArtifactId(), List.of())));
+        extractModules(projectToStage, Stage.UNSUPPORTED, dependencyResolver);
+        return extractModules(projectToStage, Stage.FINALIZATION, dependencyResolver);
+    }
+
+    private static String extractModules(Map<MavenProject, Stage> projectToStage, Stage stage,
+                                         DependencyResolver dependencyResolver) {
+        String runReport = null;
+        for (var entry : projectToStage.entrySet()) {
+            if (entry.getValue() == stage) {
+                runReport = extractModule(entry.getKey(), dependencyResolver);
+            }
+        }
+        return runReport;
+    }
+
+    /**
+     * @return run report when the module is the last one and metrics are enabled, otherwise null
+     */
+    public static String extractModule(MavenProject mavenProject, DependencyResolver dependencyResolver) {
+        ExtractionEvents.startModule(mavenProject.getArtifactId(), mavenProject.getBasedir());
+        ExtractionMetrics.startModule(mavenProject.getArtifactId());
+        try {
+            ExtractionSummary summary = ExtractionSummary.of(mavenProject.getArtifactId());
+            Project project = Project.extract(mavenProject, summary, dependencyResolver);
+            writeProject(project, summary);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to extract tests from module " + mavenProject.getArtifactId(), e);
+        } finally {
+            ExtractionMetrics.endModule();
+            ExtractionEvents.endModule();
+        }
+        if (isLastModule(mavenProject.getArtifactId())) {
+            return ExtractionMetrics.createAndStoreRunReport();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+package io.quarkus.test.extractor.engine;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuildingResult;
+import org.apache.maven.model.building.ModelCache;
+import org.apache.maven.model.io.DefaultModelReader;
+import org.apache.maven.model.io.ModelReader;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectSorter;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM;
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM_XML;
+
+/**
+ * Maven reactor built with the {@link ModelBuilder} directly, without the Maven session. Effective models
+ * of modules are built concurrently and projects are sorted the same way the Maven sorts its reactor.
+ * Unlike the Maven, profiles from the Maven settings are not applied, lifecycle plugins are not injected
+ * and POM files that are not in the reactor are only looked up in the local repository.
+ * The reactor also serves its POM files to the dependency collection.
+ */
+final class Reactor implements WorkspaceReader {
+
+    private static final ModelReader MODEL_READER = new DefaultModelReader();
+    private static final WorkspaceRepository WORKSPACE_REPOSITORY = new WorkspaceRepository("reactor");
+
+    private final Map<String, File> gavToPom;
+    private final File localRepository;
+    private final ModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
+    private final ModelCache modelCache = new ConcurrentModelCache();
+    private final Properties systemProperties;
+    private final Date buildStartTime = new Date();
+
+    private Reactor(Map<String, File> gavToPom, File localRepository, Properties systemProperties) {
+        this.gavToPom = gavToPom;
+        this.localRepository = localRepository;
+        this.systemProperties = systemProperties;
+    }
+
+    private record ProjectNode(MavenProject project, List<ProjectNode> modules) {
+
+        private void addTo(List<MavenProject> projects) {
+            projects.add(project);
+            modules.forEach(module -> module.addTo(projects));
+        }
+    }
+
+    private record CacheKey(String groupId, String artifactId, String version, String tag) {
+    }
+
+    private static final class ConcurrentModelCache implements ModelCache {
+
+        private final Map<CacheKey, Object> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public void put(String groupId, String artifactId, String version, String tag, Object data) {
+            cache.put(new CacheKey(groupId, artifactId, version, tag), data);
+        }
+
+        @Override
+        public Object get(String groupId, String artifactId, String version, String tag) {
+            return cache.get(new CacheKey(groupId, artifactId, version, tag));
+        }
+    }
+
+    private final class BuildProjectTask extends RecursiveTask<ProjectNode> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File pomFile;
+
+        private BuildProjectTask(File pomFile) {
+            this.pomFile = pomFile;
+        }
+
+        @Override
+        protected ProjectNode compute() {
+            var project = buildProject(pomFile);
+            var moduleTasks = new ArrayList<BuildProjectTask>();
+            for (String module : project.getModules()) {
+                File modulePom = getModulePom(pomFile, module);
+                if (modulePom.exists()) {
+                    moduleTasks.add(new BuildProjectTask(modulePom));
+                }
+            }
+            invokeAll(moduleTasks);
+            return new ProjectNode(project, moduleTasks.stream().map(BuildProjectTask::join).toList());
+        }
+    }
+
+    /**
+     * Finds POM files of all the modules in the reactor with the root POM.
+     */
+    static Reactor create(File rootPom, File localRepository) {
+        var gavToPom = new HashMap<String, File>();
+        collectReactorPoms(rootPom, gavToPom);
+        var systemProperties = new Properties();
+        systemProperties.putAll(System.getProperties());
+        System.getenv().forEach((name, value) -> systemProperties.put("env." + name, value));
+        return new Reactor(Map.copyOf(gavToPom), localRepository, systemProperties);
+    }
+
+    /**
+     * @return effective projects in the Maven reactor order, with the parent project set when it is in the reactor
+     */
+    List<MavenProject> buildProjects(File rootPom, ForkJoinPool pool) {
+        var projects = new ArrayList<MavenProject>();
+        pool.invoke(new BuildProjectTask(rootPom)).addTo(projects);
+        var gavToProject = new HashMap<String, MavenProject>();
+        projects.forEach(project -> gavToProject.put(toKey(project.getGroupId(), project.getArtifactId(),
+                project.getVersion()), project));
+        projects.forEach(project -> {
+            var parent = project.getModel().getParent();
+            if (parent != null) {
+                project.setParent(gavToProject.get(toKey(parent.getGroupId(), parent.getArtifactId(),
+                        parent.getVersion())));
+            }
+        });
+        try {
+            return new ProjectSorter(projects).getSortedProjects();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to sort projects of the reactor " + rootPom, e);
+        }
+    }
+
+    /**
+     * @return POM file of the reactor module or null
+     */
+    File findPom(String groupId, String artifactId, String version) {
+        return gavToPom.get(toKey(groupId, artifactId, version));
+    }
+
+    File getLocalRepository() {
+        return localRepository;
+    }
+
+    @Override
+    public WorkspaceRepository getRepository() {
+        return WORKSPACE_REPOSITORY;
+    }
+
+    @Override
+    public File findArtifact(Artifact artifact) {
+        // dependency collection only needs POM files, artifacts of the reactor are not built
+        if (POM.equals(artifact.getExtension())) {
+            return findPom(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> findVersions(Artifact artifact) {
+        if (findPom(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()) == null) {
+            return List.of();
+        }
+        return List.of(artifact.getVersion());
+    }
+
+    private MavenProject buildProject(File pomFile) {
+        ModelBuildingRequest request = new DefaultModelBuildingRequest()
+                .setPomFile(pomFile)
+                .setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL)
+                .setProcessPlugins(true)
+                .setSystemProperties(systemProperties)
+                .setBuildStartTime(buildStartTime)
+                .setModelResolver(new ReactorModelResolver(this))
+                .setModelCache(modelCache);
+        final ModelBuildingResult result;
+        try {
+            result = modelBuilder.build(request);
+        } catch (ModelBuildingException e) {
+            throw new RuntimeException("Failed to build effective model of " + pomFile, e);
+        }
+        Model model = result.getEffectiveModel();
+        var project = new MavenProject(model);
+        project.setOriginalModel(result.getRawModel());
+        project.setFile(pomFile);
+        project.setArtifact(new DefaultArtifact(model.getGroupId(), model.getArtifactId(), model.getVersion(), null,
+                model.getPackaging(), null, new DefaultArtifactHandler(model.getPackaging())));
+        project.setRemoteArtifactRepositories(List.of());
+        return project;
+    }
+
+    private static void collectReactorPoms(File pomFile, Map<String, File> gavToPom) {
+        final Model model;
+        try {
+            model = MODEL_READER.read(pomFile, Map.of(ModelReader.IS_STRICT, false));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + pomFile, e);
+        }
+        String groupId = model.getGroupId() == null && model.getParent() != null
+                ? model.getParent().getGroupId() : model.getGroupId();
+        String version = model.getVersion() == null && model.getParent() != null
+                ? model.getParent().getVersion() : model.getVersion();
+        gavToPom.put(toKey(groupId, model.getArtifactId(), version), pomFile);
+        // modules of all the profiles, so that POM files of modules in inactive profiles are found as well
+        var modules = new ArrayList<>(model.getModules());
+        model.getProfiles().forEach(profile -> modules.addAll(profile.getModules()));
+        modules.stream()
+                .map(module -> getModulePom(pomFile, module))
+                .filter(File::exists)
+                .distinct()
+                .forEach(modulePom -> collectReactorPoms(modulePom, gavToPom));
+    }
+
+    private static File getModulePom(File pomFile, String module) {
+        var moduleFile = pomFile.getParentFile().toPath().resolve(module).normalize().toFile();
+        return moduleFile.isDirectory() ? new File(moduleFile, POM_XML) : moduleFile;
+    }
+
+    private static String toKey(String groupId, String artifactId, String version) {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+}
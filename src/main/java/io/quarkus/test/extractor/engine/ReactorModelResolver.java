@@ -0,0 +1,69 @@
+package io.quarkus.test.extractor.engine;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource2;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+
+import java.io.File;
+
+/**
+ * Resolves parent and imported POM files from the reactor first and then from the local repository.
+ * Remote repositories are never contacted, POM files that are not in the reactor must have been downloaded before,
+ * e.g. by the Quarkus build.
+ */
+final class ReactorModelResolver implements ModelResolver {
+
+    private final Reactor reactor;
+
+    ReactorModelResolver(Reactor reactor) {
+        this.reactor = reactor;
+    }
+
+    @Override
+    public ModelSource2 resolveModel(String groupId, String artifactId, String version)
+            throws UnresolvableModelException {
+        File pomFile = reactor.findPom(groupId, artifactId, version);
+        if (pomFile == null) {
+            pomFile = reactor.getLocalRepository().toPath()
+                    .resolve(groupId.replace('.', File.separatorChar))
+                    .resolve(artifactId)
+                    .resolve(version)
+                    .resolve(artifactId + "-" + version + ".pom")
+                    .toFile();
+            if (!pomFile.exists()) {
+                throw new UnresolvableModelException("POM file not found in the reactor or in the local repository "
+                        + reactor.getLocalRepository(), groupId, artifactId, version);
+            }
+        }
+        return new FileModelSource(pomFile);
+    }
+
+    @Override
+    public ModelSource2 resolveModel(Parent parent) throws UnresolvableModelException {
+        return resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    }
+
+    @Override
+    public ModelSource2 resolveModel(Dependency dependency) throws UnresolvableModelException {
+        return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+    }
+
+    @Override
+    public void addRepository(Repository repository) {
+        // only the local repository is used
+    }
+
+    @Override
+    public void addRepository(Repository repository, boolean replace) {
+        // only the local repository is used
+    }
+
+    @Override
+    public ModelResolver newCopy() {
+        return this;
+    }
+}
@@ -0,0 +1,206 @@
+package io.quarkus.test.extractor.engine;
+
+import io.quarkus.test.extractor.project.helper.ExtractionShards;
+import io.quarkus.test.extractor.project.result.ParentProject;
+import io.quarkus.test.extractor.project.result.ParentProject.Change;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.PlexusContainerException;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.LocalRepository;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM_XML;
+
+/**
+ * Runs the 'collect-project-metadata', 'extract-tests' and 'merge-extraction-shards' goals without the Maven session, e.g.
+ * 'java -Dwrite-to=/tmp/extracted -cp quarkus-test-extractor.jar:$MAVEN_HOME/lib/*:$MAVEN_HOME/boot/* \
+ * io.quarkus.test.extractor.engine.StandaloneExtractor extract-tests' executed in the Quarkus project directory.
+ * Effective models are built with the Maven model builder and modules are extracted concurrently,
+ * changes of the parent project are applied in the Maven reactor order, so that the result is identical
+ * to the result of the Maven plugin. Dependencies are collected offline from POM files in the reactor
+ * and in the local repository. The repository system is looked up in the same dependency injection container
+ * the Maven uses, components are found in the Maven libraries on the class path. Close the extractor
+ * to dispose the container.
+ */
+public final class StandaloneExtractor implements AutoCloseable {
+
+    public static final String COLLECT_PROJECT_METADATA = "collect-project-metadata";
+    public static final String EXTRACT_TESTS = "extract-tests";
+    public static final String MERGE_EXTRACTION_SHARDS = "merge-extraction-shards";
+    private static final String SHARD_DIRS_PROPERTY = "shard-dirs";
+    private static final String THREADS_PROPERTY = "extraction-threads";
+    private static final String LOCAL_REPOSITORY_PROPERTY = "maven.repo.local";
+
+    private final File rootPom;
+    private final int threads;
+    private final Reactor reactor;
+    private final PlexusContainer container;
+    private final DefaultRepositorySystemSession repositorySession;
+    private final DependencyResolver dependencyResolver;
+
+    /**
+     * @param rootDir Quarkus project directory, must be the current working directory as paths of extracted
+     *                modules are relative to it
+     * @param localRepository local Maven repository with POM files of dependencies that are not in the reactor
+     * @param threads number of modules that are processed concurrently
+     */
+    public StandaloneExtractor(Path rootDir, File localRepository, int threads) {
+        this.rootPom = rootDir.resolve(POM_XML).toAbsolutePath().toFile();
+        this.threads = threads;
+        this.reactor = Reactor.create(rootPom, localRepository);
+        ContainerConfiguration configuration = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX)
+                .setAutoWiring(true)
+                .setName(StandaloneExtractor.class.getSimpleName());
+        final RepositorySystem repositorySystem;
+        try {
+            this.container = new DefaultPlexusContainer(configuration);
+            repositorySystem = container.lookup(RepositorySystem.class);
+        } catch (PlexusContainerException | ComponentLookupException e) {
+            throw new RuntimeException("Failed to create repository system", e);
+        }
+        this.repositorySession = MavenRepositorySystemUtils.newSession();
+        repositorySession.setOffline(true);
+        repositorySession.setWorkspaceReader(reactor);
+        repositorySession.setSystemProperties(System.getProperties());
+        // simple manager finds artifacts regardless of the repository they were downloaded from
+        repositorySession.setLocalRepositoryManager(repositorySystem.newLocalRepositoryManager(repositorySession,
+                new LocalRepository(localRepository, "simple")));
+        this.dependencyResolver = new DependencyResolver(repositorySystem, repositorySession);
+    }
+
+    public static void main(String[] args) {
+        String goal = args.length == 0 ? EXTRACT_TESTS : args[0];
+        var localRepository = new File(System.getProperty(LOCAL_REPOSITORY_PROPERTY,
+                Path.of(System.getProperty("user.home"), ".m2", "repository").toString()));
+        try (var extractor = new StandaloneExtractor(Path.of(""), localRepository,
+                Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()))) {
+            switch (goal) {
+                case COLLECT_PROJECT_METADATA -> System.out.printf("Found %d modules with artifacts missing in the"
+                        + " local repository, build them before extraction%n", extractor.collectProjectMetadata());
+                case EXTRACT_TESTS -> printRunReport(extractor.extractTests());
+                case MERGE_EXTRACTION_SHARDS -> printRunReport(extractor.mergeShards(getShardDirs()));
+                default -> throw new IllegalArgumentException("Unknown goal '%s', expected '%s', '%s' or '%s'"
+                        .formatted(goal, COLLECT_PROJECT_METADATA, EXTRACT_TESTS, MERGE_EXTRACTION_SHARDS));
+            }
+        }
+    }
+
+    private static List<Path> getShardDirs() {
+        String shardDirs = System.getProperty(SHARD_DIRS_PROPERTY);
+        if (shardDirs == null || shardDirs.isBlank()) {
+            throw new IllegalArgumentException("Please specify shard directories with '-D%s=<path>,<path>'"
+                    .formatted(SHARD_DIRS_PROPERTY));
+        }
+        return Arrays.stream(shardDirs.split(",")).map(String::trim).map(Path::of).toList();
+    }
+
+    private static void printRunReport(String runReport) {
+        if (runReport != null) {
+            System.out.println(runReport);
+        }
+    }
+
+    /**
+     * Collects metadata of modules one by one in the reactor order, as metadata of some modules are appended.
+     *
+     * @return number of modules that must be built before extraction
+     */
+    public int collectProjectMetadata() {
+        try (var pool = new ForkJoinPool(threads)) {
+            reactor.buildProjects(rootPom, pool).forEach(ExtractionEngine::collectProjectMetadata);
+        }
+        return ExtractionEngine.createAndStoreProjectMetadata(repositorySession);
+    }
+
+    /**
+     * Extracts parent projects first and one at a time, then all the other modules concurrently,
+     * then removes unsupported modules and finally extracts the last module that writes the parent project.
+     * When the extraction is sharded, only parent projects and modules of the current shard are extracted.
+     *
+     * @return run report when metrics are enabled, otherwise null
+     */
+    public String extractTests() {
+        boolean sharded = ExtractionShards.isSharded();
+        try (var pool = new ForkJoinPool(threads)) {
+            var parents = new ArrayList<MavenProject>();
+            var modules = new ArrayList<MavenProject>();
+            var unsupportedModules = new ArrayList<MavenProject>();
+            var lastModules = new ArrayList<MavenProject>();
+            for (MavenProject project : reactor.buildProjects(rootPom, pool)) {
+                switch (ExtractionEngine.getStage(project)) {
+                    case PARENT -> parents.add(project);
+                    case MODULE -> {
+                        if (ExtractionEngine.isInCurrentShard(project)) {
+                            modules.add(project);
+                        }
+                    }
+                    case UNSUPPORTED -> unsupportedModules.add(project);
+                    case FINALIZATION -> lastModules.add(project);
+                    case NONE -> {
+                        // nothing to extract
+                    }
+                }
+            }
+            parents.forEach(this::extractModule);
+            List<ForkJoinTask<List<Change>>> moduleTasks = modules.stream()
+                    .map(project -> pool.submit(() -> ParentProject.recordChanges(() -> extractModule(project))))
+                    .toList();
+            for (int i = 0; i < modules.size(); i++) {
+                var changes = moduleTasks.get(i).join();
+                if (sharded) {
+                    ExtractionShards.storeParentProjectChanges(modules.get(i).getArtifactId(), changes);
+                } else {
+                    // apply in the reactor order, the order of modules in the parent project is the same as with the Maven
+                    ParentProject.applyChanges(changes);
+                }
+            }
+            if (sharded) {
+                // unsupported modules and the last module are extracted when shards are merged
+                return null;
+            }
+            unsupportedModules.forEach(this::extractModule);
+            String runReport = null;
+            for (MavenProject project : lastModules) {
+                runReport = extractModule(project);
+            }
+            return runReport;
+        }
+    }
+
+    /**
+     * Merges directories of shards extracted with '-Dextraction-shard' into the target directory.
+     *
+     * @return run report when metrics are enabled, otherwise null
+     */
+    public String mergeShards(List<Path> shardDirs) {
+        try (var pool = new ForkJoinPool(threads)) {
+            return ExtractionEngine.mergeShards(reactor.buildProjects(rootPom, pool), shardDirs, dependencyResolver);
+        }
+    }
+
+    @Override
+    public void close() {
+        container.dispose();
+    }
+
+    private String extractModule(MavenProject project) {
+        return ExtractionEngine.extractModule(project, dependencyResolver);
+    }
+}
@@ -0,0 +1,46 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.TestReportAggregator;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Streams Surefire and Failsafe reports of all the shards into a compact test result store and summarizes them.
+ * Expects '-Dwrite-to' to point to the directory where the result should be written.
+ */
+@Mojo(name = "aggregate-test-reports", requiresProject = false, threadSafe = true)
+public class AggregateTestReportsMojo extends AbstractMojo {
+
+    /**
+     * Directories with extracted tests that contain Surefire and Failsafe reports, e.g. one per shard.
+     */
+    @Parameter(property = "report-dirs", required = true)
+    protected List<File> reportDirs;
+
+    /**
+     * How many slowest modules should be listed in the summary.
+     */
+    @Parameter(property = "slowest-modules", defaultValue = "20")
+    protected int slowestModules;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var summary = TestReportAggregator.aggregateAndStoreReports(
+                    reportDirs.stream().map(File::toPath).toList(), slowestModules);
+            getLog().info("Aggregated %d tests from %d report files, %s, %d seconds in total".formatted(summary.tests(),
+                    summary.reportFiles(), summary.statusCounts(), Math.round(summary.seconds())));
+            summary.slowestModules().forEach(e -> getLog().info("Slow module '%s' ran %d seconds"
+                    .formatted(e.getKey(), Math.round(e.getValue()))));
+            summary.failuresByExtension().forEach((extension, failures) -> getLog().warn("Extension '%s' has %d failed tests"
+                    .formatted(extension, failures.size())));
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'aggregate-test-reports' execution failed", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.TestTelemetry;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Combines test telemetry recorded with the 'test-telemetry' profile across shards.
+ * Expects '-Dwrite-to' to point to the directory where the result should be written.
+ */
+@Mojo(name = "aggregate-test-telemetry", requiresProject = false, threadSafe = true)
+public class AggregateTestTelemetryMojo extends AbstractMojo {
+
+    /**
+     * Directories with extracted tests that were run with the 'test-telemetry' profile, e.g. one per shard.
+     */
+    @Parameter(property = "report-dirs", required = true)
+    protected List<File> reportDirs;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var telemetry = TestTelemetry.aggregateAndStoreTelemetry(reportDirs.stream().map(File::toPath).toList());
+            long modules = telemetry.stream().map(TestTelemetry.ClassTelemetry::modulePath).distinct().count();
+            long bootMillis = telemetry.stream().mapToLong(TestTelemetry.ClassTelemetry::timeToFirstTestMillis).sum();
+            long testsMillis = telemetry.stream().mapToLong(TestTelemetry.ClassTelemetry::testsMillis).sum();
+            getLog().info("Aggregated telemetry of %d test classes in %d modules, %d seconds before first tests, %d seconds in tests"
+                    .formatted(telemetry.size(), modules, bootMillis / 1000, testsMillis / 1000));
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'aggregate-test-telemetry' execution failed", e);
+        }
+    }
+}
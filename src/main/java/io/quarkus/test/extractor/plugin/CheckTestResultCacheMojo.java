@@ -0,0 +1,93 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.TestResultCache;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Profile;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.apache.maven.plugins.annotations.LifecyclePhase.INITIALIZE;
+
+/**
+ * Skips tests of the extracted test module when they previously passed with same module inputs and the Quarkus platform.
+ * Executed in the project with extracted tests.
+ */
+@Mojo(name = "check-test-result-cache", defaultPhase = INITIALIZE, threadSafe = true)
+public class CheckTestResultCacheMojo extends AbstractMojo {
+
+    static final String CACHE_KEY_PROPERTY = "test-result-cache.key";
+    static final String CACHE_HIT_PROPERTY = "test-result-cache.hit";
+    private static final List<String> KEY_PROPERTIES = List.of("quarkus.platform.group-id", "quarkus.platform.version",
+            "core.quarkus.version", "quarkus.native.enabled", "java.version");
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject mavenProject;
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    protected MavenSession mavenSession;
+
+    /**
+     * Directory with cached test results, shared by all the modules.
+     */
+    @Parameter(property = "test-result-cache.dir", defaultValue = "${user.home}/.quarkus-test-result-cache")
+    protected File cacheDir;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            checkTestResultCache();
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'check-test-result-cache' execution failed", e);
+        }
+    }
+
+    private void checkTestResultCache() {
+        var key = TestResultCache.computeKey(mavenProject.getBasedir().toPath(), getKeyInputs());
+        if (key.isEmpty()) {
+            getLog().debug("Module '%s' has no test input fingerprint".formatted(mavenProject.getArtifactId()));
+            return;
+        }
+        var buildDir = new File(mavenProject.getBuild().getDirectory()).toPath();
+        if (TestResultCache.restore(cacheDir.toPath(), key.get(), buildDir)) {
+            getLog().info("Tests of module '%s' passed with same inputs before, skipping them"
+                    .formatted(mavenProject.getArtifactId()));
+            // plugins of later phases read these properties
+            mavenProject.getProperties().setProperty("skipTests", "true");
+            mavenProject.getProperties().setProperty("skipITs", "true");
+            mavenProject.getProperties().setProperty("quarkus.build.skip", "true");
+            mavenProject.getProperties().setProperty(CACHE_HIT_PROPERTY, "true");
+        } else {
+            mavenProject.getProperties().setProperty(CACHE_KEY_PROPERTY, key.get());
+        }
+    }
+
+    private SortedMap<String, String> getKeyInputs() {
+        SortedMap<String, String> inputs = new TreeMap<>();
+        for (String property : KEY_PROPERTIES) {
+            inputs.put(property, getProperty(property));
+        }
+        inputs.put("profiles", mavenProject.getActiveProfiles().stream().map(Profile::getId).sorted()
+                .collect(Collectors.joining(",")));
+        return inputs;
+    }
+
+    private String getProperty(String name) {
+        String value = mavenSession.getUserProperties().getProperty(name);
+        if (value == null) {
+            value = mavenProject.getProperties().getProperty(name);
+        }
+        if (value == null) {
+            value = mavenSession.getSystemProperties().getProperty(name);
+        }
+        return value == null ? "" : value;
+    }
+}
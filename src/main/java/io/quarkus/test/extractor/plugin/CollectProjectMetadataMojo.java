@@ -1,41 +1,40 @@
 package io.quarkus.test.extractor.plugin;
 
-import io.quarkus.test.extractor.project.helper.QuarkusBom;
+import io.quarkus.test.extractor.engine.ExtractionEngine;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
-import static io.quarkus.test.extractor.project.helper.CoreExtensions.addIfCoreExtension;
-import static io.quarkus.test.extractor.project.helper.IntegrationTestModules.addDirectItModules;
-import static io.quarkus.test.extractor.project.helper.IntegrationTestModules.isItModuleParent;
-import static io.quarkus.test.extractor.project.helper.QuarkusBom.isQuarkusBom;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.isLastModule;
 import static org.apache.maven.plugins.annotations.LifecyclePhase.PACKAGE;
-import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
 
-@Mojo(name = "collect-project-metadata", defaultPhase = PACKAGE, requiresDependencyCollection = COMPILE, requiresDependencyResolution = COMPILE, threadSafe = true)
+@Mojo(name = "collect-project-metadata", defaultPhase = PACKAGE, threadSafe = true)
 public class CollectProjectMetadataMojo extends AbstractMojo {
 
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     protected MavenProject mavenProject;
 
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    protected MavenSession mavenSession;
+
     @Override
     public void execute() throws MojoExecutionException {
         try {
-            collectProjectMetadata(mavenProject);
+            collectProjectMetadata();
         } catch (Exception e) {
             throw new MojoExecutionException("Mojo 'collect-project-metadata' execution failed", e);
         }
     }
 
-    private static void collectProjectMetadata(MavenProject mavenProject) throws MojoExecutionException {
-        if (isQuarkusBom(mavenProject.getArtifactId())) {
-            QuarkusBom.saveDependencyKeys(mavenProject);
-        } else if (isItModuleParent(mavenProject.getArtifactId())) {
-            addDirectItModules(mavenProject.getOriginalModel());
-        } else {
-            addIfCoreExtension(mavenProject.getArtifactId(), mavenProject.getBasedir().getAbsolutePath());
+    private void collectProjectMetadata() {
+        ExtractionEngine.collectProjectMetadata(mavenProject);
+        if (isLastModule(mavenProject.getArtifactId())) {
+            int preBuildModules = ExtractionEngine.createAndStoreProjectMetadata(mavenSession.getRepositorySession());
+            getLog().info("Found %d modules with artifacts missing in the local repository, build them before extraction"
+                    .formatted(preBuildModules));
         }
     }
 
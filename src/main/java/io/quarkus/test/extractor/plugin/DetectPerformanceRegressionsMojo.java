@@ -0,0 +1,74 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.PerformanceRegressions;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+
+/**
+ * Reports modules whose test execution or Quarkus boot time grew significantly between two runs in the test history.
+ * Expects '-Dwrite-to' to point to the directory where the report should be written.
+ */
+@Mojo(name = "detect-performance-regressions", requiresProject = false, threadSafe = true)
+public class DetectPerformanceRegressionsMojo extends AbstractMojo {
+
+    /**
+     * File with the test history created by the 'record-test-history' goal.
+     */
+    @Parameter(property = "history-file", defaultValue = "${user.home}/.quarkus-test-history/history")
+    protected File historyFile;
+
+    /**
+     * Baseline run like '3.15.1/3.15.1.redhat-00001' (Quarkus revision and platform version),
+     * the run recorded before the current run when not set.
+     */
+    @Parameter(property = "baseline-run")
+    protected String baselineRun;
+
+    /**
+     * Compared run, the last recorded run when not set.
+     */
+    @Parameter(property = "current-run")
+    protected String currentRun;
+
+    /**
+     * Minimal relative slowdown of a module.
+     */
+    @Parameter(property = "regression-threshold", defaultValue = "0.1")
+    protected double regressionThreshold;
+
+    /**
+     * Maximal p-value of the slowdown.
+     */
+    @Parameter(property = "significance", defaultValue = "0.05")
+    protected double significance;
+
+    /**
+     * Whether detected regressions should fail the build.
+     */
+    @Parameter(property = "fail-on-regression", defaultValue = "false")
+    protected boolean failOnRegression;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        final int regressions;
+        try {
+            var detected = PerformanceRegressions.detectAndStoreRegressions(historyFile.toPath(), baselineRun,
+                    currentRun, regressionThreshold, significance);
+            detected.forEach(r -> getLog().warn("%s of module '%s' grew from %d to %d seconds (%+.0f %%, p-value %.4f)"
+                    .formatted(r.metric(), r.modulePath(), Math.round(r.baselineSeconds()),
+                            Math.round(r.currentSeconds()), r.relativeChange() * 100, r.pValue())));
+            getLog().info("Found %d performance regressions".formatted(detected.size()));
+            regressions = detected.size();
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'detect-performance-regressions' execution failed", e);
+        }
+        if (failOnRegression && regressions > 0) {
+            throw new MojoFailureException("Found %d performance regressions".formatted(regressions));
+        }
+    }
+}
@@ -1,24 +1,38 @@
 package io.quarkus.test.extractor.plugin;
 
-import io.quarkus.test.extractor.project.builder.Project;
-import io.quarkus.test.extractor.project.helper.ExtractionSummary;
+import io.quarkus.test.extractor.engine.ExtractionEngine;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+
+import javax.inject.Inject;
 
-import static io.quarkus.test.extractor.project.builder.Project.extract;
-import static io.quarkus.test.extractor.project.writer.ProjectWriter.writeProject;
 import static org.apache.maven.plugins.annotations.LifecyclePhase.PACKAGE;
-import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
 
-@Mojo(name = "extract-tests", defaultPhase = PACKAGE, requiresDependencyCollection = COMPILE, requiresDependencyResolution = COMPILE, threadSafe = true)
+@Mojo(name = "extract-tests", defaultPhase = PACKAGE, threadSafe = true)
 public class ExtractTestsMojo extends AbstractMojo {
 
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     protected MavenProject mavenProject;
 
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    protected MavenSession mavenSession;
+
+    /**
+     * Dependencies are resolved only when extraction needs them, not for every module in the reactor.
+     */
+    private final RepositorySystem repositorySystem;
+
+    @Inject
+    public ExtractTestsMojo(RepositorySystem repositorySystem) {
+        this.repositorySystem = repositorySystem;
+    }
+
     @Override
     public void execute() throws MojoExecutionException {
         try {
@@ -29,9 +43,11 @@ public class ExtractTestsMojo extends AbstractMojo {
     }
 
     private void extractTestsAndCreateProject() {
-        ExtractionSummary summary = ExtractionSummary.of(mavenProject.getArtifactId());
-        Project project = extract(mavenProject, summary);
-        writeProject(project, summary);
+        var dependencyResolver = new DependencyResolver(repositorySystem, mavenSession.getRepositorySession());
+        String runReport = ExtractionEngine.extractTests(mavenProject, dependencyResolver);
+        if (runReport != null) {
+            getLog().info(runReport);
+        }
     }
 
 }
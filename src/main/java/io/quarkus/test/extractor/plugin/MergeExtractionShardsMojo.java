@@ -0,0 +1,53 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.engine.ExtractionEngine;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.eclipse.aether.RepositorySystem;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.util.List;
+
+/**
+ * Merges directories of shards extracted with '-Dextraction-shard' into the directory specified with '-Dwrite-to',
+ * which must contain collected project metadata. Runs once for the whole Quarkus reactor.
+ */
+@Mojo(name = "merge-extraction-shards", aggregator = true, threadSafe = true)
+public class MergeExtractionShardsMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    protected MavenSession mavenSession;
+
+    /**
+     * Directories where shards wrote extracted tests.
+     */
+    @Parameter(property = "shard-dirs", required = true)
+    protected List<File> shardDirs;
+
+    private final RepositorySystem repositorySystem;
+
+    @Inject
+    public MergeExtractionShardsMojo(RepositorySystem repositorySystem) {
+        this.repositorySystem = repositorySystem;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var dependencyResolver = new DependencyResolver(repositorySystem, mavenSession.getRepositorySession());
+            String runReport = ExtractionEngine.mergeShards(mavenSession.getProjects(),
+                    shardDirs.stream().map(File::toPath).toList(), dependencyResolver);
+            if (runReport != null) {
+                getLog().info(runReport);
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'merge-extraction-shards' execution failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.ShardPlanner;
+import io.quarkus.test.extractor.project.execution.ShardPlanner.Shard;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Distributes extracted test modules into shards based on their historical execution time,
+ * so that the 'run_tests.sh' script doesn't need to split modules by their count.
+ * Expects '-Dwrite-to' to point to the extracted tests.
+ */
+@Mojo(name = "plan-shards", requiresProject = false, threadSafe = true)
+public class PlanShardsMojo extends AbstractMojo {
+
+    /**
+     * Number of shards per category (extensions and integration tests).
+     */
+    @Parameter(property = "shards", required = true)
+    protected int shards;
+
+    /**
+     * Directories with extracted tests that contain Surefire and Failsafe reports of previous runs.
+     */
+    @Parameter(property = "report-dirs")
+    protected List<File> reportDirs;
+
+    /**
+     * File with lines like 'integration-tests/main;3600' that specify module duration in seconds.
+     * Durations found in the reports take precedence.
+     */
+    @Parameter(property = "durations-seed-file")
+    protected File durationsSeedFile;
+
+    /**
+     * How much (as a fraction of the average shard duration) can a shard be behind the shard that would finish first
+     * to still be preferred because it runs modules that need same services, like PostgreSQL or Kafka.
+     * Set '0' to only use service affinity for equally long shards.
+     */
+    @Parameter(property = "affinity-tolerance", defaultValue = "0.05")
+    protected double affinityTolerance;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var reportDirPaths = reportDirs == null ? List.<Path>of()
+                    : reportDirs.stream().map(File::toPath).toList();
+            var plannedShards = ShardPlanner.planAndStoreShards(shards, reportDirPaths,
+                    durationsSeedFile == null ? null : durationsSeedFile.toPath(), affinityTolerance);
+            for (Shard shard : plannedShards) {
+                getLog().info("Shard '%s' has %d modules and is estimated to run %d seconds".formatted(shard.id(),
+                        shard.modulePaths().size(), Math.round(shard.estimatedSeconds())));
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'plan-shards' execution failed", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.helper.TestInventory;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestClass;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestKind;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestTrait;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Answers questions like "which modules have native ITs" or "which tests need Docker" from the test inventory
+ * created during the test extraction. Expects '-Dwrite-to' to point to the extracted tests.
+ */
+@Mojo(name = "query-test-inventory", requiresProject = false, threadSafe = true)
+public class QueryTestInventoryMojo extends AbstractMojo {
+
+    /**
+     * Test kinds, like 'QUARKUS_UNIT_TEST' or 'QUARKUS_INTEGRATION_TEST'; any kind matches when not set.
+     */
+    @Parameter(property = "kinds")
+    protected List<String> kinds;
+
+    /**
+     * Traits that test class must have, like 'FAILSAFE' or 'CONTAINERS'.
+     */
+    @Parameter(property = "traits")
+    protected List<String> traits;
+
+    /**
+     * Profile of the generated project, like 'extensions' or 'integration-tests'.
+     */
+    @Parameter(property = "profile")
+    protected String profile;
+
+    /**
+     * When true, only tests that need Docker (containers or Dev Services) are matched.
+     */
+    @Parameter(property = "requires-docker", defaultValue = "false")
+    protected boolean requiresDocker;
+
+    /**
+     * List test classes instead of modules.
+     */
+    @Parameter(property = "list-classes", defaultValue = "false")
+    protected boolean listClasses;
+
+    /**
+     * Where to write the result, one entry per line; the result is logged when not set.
+     */
+    @Parameter(property = "output-file")
+    protected File outputFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            queryTestInventory();
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'query-test-inventory' execution failed", e);
+        }
+    }
+
+    private void queryTestInventory() throws Exception {
+        var inventory = TestInventory.load();
+        Predicate<TestClass> predicate = createPredicate();
+        List<String> result = listClasses
+                ? inventory.testClasses().filter(predicate).map(TestClass::className).sorted().toList()
+                : inventory.modulePaths(predicate);
+        if (outputFile != null) {
+            Files.write(outputFile.toPath(), result);
+        } else {
+            result.forEach(getLog()::info);
+        }
+        getLog().info("Found %d matching %s among %d test classes".formatted(result.size(),
+                listClasses ? "test classes" : "modules", inventory.size()));
+    }
+
+    private Predicate<TestClass> createPredicate() {
+        Predicate<TestClass> predicate = testClass -> true;
+        if (kinds != null && !kinds.isEmpty()) {
+            var testKinds = kinds.stream().map(k -> TestKind.valueOf(k.trim().toUpperCase(Locale.ROOT))).toList();
+            predicate = predicate.and(testClass -> testKinds.contains(testClass.kind()));
+        }
+        if (traits != null) {
+            for (String trait : traits) {
+                var testTrait = TestTrait.valueOf(trait.trim().toUpperCase(Locale.ROOT));
+                predicate = predicate.and(testClass -> testClass.has(testTrait));
+            }
+        }
+        if (profile != null && !profile.isBlank()) {
+            predicate = predicate.and(testClass -> profile.equalsIgnoreCase(testClass.profile()));
+        }
+        if (requiresDocker) {
+            predicate = predicate.and(TestClass::requiresDocker);
+        }
+        return predicate;
+    }
+}
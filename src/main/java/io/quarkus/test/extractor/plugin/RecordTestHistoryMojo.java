@@ -0,0 +1,49 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.TestHistory;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Appends test class durations and Quarkus boot times aggregated by the 'aggregate-test-reports'
+ * and 'aggregate-test-telemetry' goals into the local test history.
+ * Expects '-Dwrite-to' to point to the directory with aggregated results.
+ */
+@Mojo(name = "record-test-history", requiresProject = false, threadSafe = true)
+public class RecordTestHistoryMojo extends AbstractMojo {
+
+    /**
+     * Append-only file with the test history.
+     */
+    @Parameter(property = "history-file", defaultValue = "${user.home}/.quarkus-test-history/history")
+    protected File historyFile;
+
+    /**
+     * Quarkus project revision (commit, tag or branch) the tests were extracted from.
+     */
+    @Parameter(property = "quarkus-revision", required = true)
+    protected String quarkusRevision;
+
+    /**
+     * Version of the Quarkus platform the tests were run with.
+     */
+    @Parameter(property = "platform-version", required = true)
+    protected String platformVersion;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            int entries = TestHistory.appendRun(historyFile.toPath(), TARGET_DIR, quarkusRevision, platformVersion);
+            getLog().info("Recorded %d test classes of run '%s' into the test history '%s'".formatted(entries,
+                    TestHistory.toRunKey(quarkusRevision, platformVersion), historyFile));
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'record-test-history' execution failed", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.AffectedModules;
+import io.quarkus.test.extractor.project.helper.QuarkusBom;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Compares Quarkus BOM snapshots of two platform builds and selects extracted test modules whose dependencies changed.
+ * Expects '-Dwrite-to' to point to the extracted tests.
+ */
+@Mojo(name = "select-affected-modules", requiresProject = false, threadSafe = true)
+public class SelectAffectedModulesMojo extends AbstractMojo {
+
+    /**
+     * The 'quarkus-bom-managed-versions' file of the previous platform build.
+     */
+    @Parameter(property = "previous-bom-snapshot", required = true)
+    protected File previousBomSnapshot;
+
+    /**
+     * The 'quarkus-bom-managed-versions' file of the current platform build; the snapshot created
+     * during the test extraction is used when not set.
+     */
+    @Parameter(property = "current-bom-snapshot")
+    protected File currentBomSnapshot;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var currentSnapshot = currentBomSnapshot != null ? currentBomSnapshot.toPath()
+                    : TARGET_DIR.resolve(QuarkusBom.MANAGED_VERSIONS_FILE_NAME);
+            var selection = AffectedModules.selectAndStoreAffectedModules(previousBomSnapshot.toPath(), currentSnapshot);
+            selection.changedArtifacts().forEach(artifact -> getLog().debug("Changed managed artifact: " + artifact));
+            selection.modulePaths().forEach(getLog()::info);
+            getLog().info("%d changed managed artifacts affect %d modules, the list was written into the '%s' file"
+                    .formatted(selection.changedArtifacts().size(), selection.modulePaths().size(),
+                            AffectedModules.AFFECTED_MODULES_FILE_NAME));
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'select-affected-modules' execution failed", e);
+        }
+    }
+}
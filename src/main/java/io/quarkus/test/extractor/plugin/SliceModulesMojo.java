@@ -0,0 +1,78 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.ModuleDurations;
+import io.quarkus.test.extractor.project.execution.TestSlicer;
+import io.quarkus.test.extractor.project.execution.TestSlicer.Slice;
+import io.quarkus.test.extractor.project.helper.TestInventory;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Splits test classes of the largest extracted modules into slices, so that the 'plan-shards' goal
+ * can place them into different shards. Expects '-Dwrite-to' to point to the extracted tests.
+ */
+@Mojo(name = "slice-modules", requiresProject = false, threadSafe = true)
+public class SliceModulesMojo extends AbstractMojo {
+
+    /**
+     * Number of slices per module.
+     */
+    @Parameter(property = "slices", required = true)
+    protected int slices;
+
+    /**
+     * Target relative paths of modules to slice, like 'extensions/vertx-http-deployment'.
+     * When not set, modules that ran longer than 'min-module-seconds' are sliced.
+     */
+    @Parameter(property = "modules")
+    protected List<String> modules;
+
+    /**
+     * Modules with a shorter duration are not sliced unless they are explicitly listed in 'modules'.
+     */
+    @Parameter(property = "min-module-seconds", defaultValue = "1800")
+    protected double minModuleSeconds;
+
+    /**
+     * Directories with extracted tests that contain Surefire and Failsafe reports of previous runs.
+     */
+    @Parameter(property = "report-dirs")
+    protected List<File> reportDirs;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            List<Path> reportDirPaths = reportDirs == null ? List.of()
+                    : reportDirs.stream().map(File::toPath).toList();
+            List<String> modulePaths = modules != null && !modules.isEmpty() ? modules
+                    : findLongRunningModules(reportDirPaths);
+            if (modulePaths.isEmpty()) {
+                getLog().info("No module ran longer than %s seconds, nothing to slice".formatted(minModuleSeconds));
+                return;
+            }
+            for (Slice slice : TestSlicer.sliceAndStoreModules(modulePaths, slices, reportDirPaths)) {
+                getLog().info("Slice %d of module '%s' is estimated to run %d seconds".formatted(slice.number(),
+                        slice.modulePath(), Math.round(slice.estimatedSeconds())));
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'slice-modules' execution failed", e);
+        }
+    }
+
+    private List<String> findLongRunningModules(List<Path> reportDirPaths) {
+        if (reportDirPaths.isEmpty()) {
+            throw new IllegalArgumentException("Either 'modules' or 'report-dirs' must be specified");
+        }
+        var modulePaths = TestInventory.load().modulePaths(testClass -> true);
+        var durations = ModuleDurations.load(modulePaths, reportDirPaths, null);
+        return modulePaths.stream()
+                .filter(m -> durations.isKnown(m) && durations.estimateSeconds(m) >= minModuleSeconds)
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.TestResultCache;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+
+import static io.quarkus.test.extractor.plugin.CheckTestResultCacheMojo.CACHE_HIT_PROPERTY;
+import static io.quarkus.test.extractor.plugin.CheckTestResultCacheMojo.CACHE_KEY_PROPERTY;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.VERIFY;
+
+/**
+ * Stores test reports of the extracted test module when all the tests passed, so that the 'check-test-result-cache'
+ * goal can skip them next time. Executed in the project with extracted tests.
+ */
+@Mojo(name = "store-test-result-cache", defaultPhase = VERIFY, threadSafe = true)
+public class StoreTestResultCacheMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject mavenProject;
+
+    /**
+     * Directory with cached test results, shared by all the modules.
+     */
+    @Parameter(property = "test-result-cache.dir", defaultValue = "${user.home}/.quarkus-test-result-cache")
+    protected File cacheDir;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            storeTestResultCache();
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'store-test-result-cache' execution failed", e);
+        }
+    }
+
+    private void storeTestResultCache() {
+        String key = mavenProject.getProperties().getProperty(CACHE_KEY_PROPERTY);
+        if (key == null || Boolean.parseBoolean(mavenProject.getProperties().getProperty(CACHE_HIT_PROPERTY))) {
+            return;
+        }
+        var buildDir = new File(mavenProject.getBuild().getDirectory()).toPath();
+        if (TestResultCache.store(cacheDir.toPath(), key, buildDir)) {
+            getLog().info("Stored test results of module '%s'".formatted(mavenProject.getArtifactId()));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkus.test.extractor.plugin;
+
+import io.quarkus.test.extractor.project.execution.JfrSummary;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Summarizes CPU and allocation hot spots of Java Flight Recordings created with the 'jfr' profile across modules.
+ * Expects '-Dwrite-to' to point to the directory where the summary should be written.
+ */
+@Mojo(name = "summarize-jfr", requiresProject = false, threadSafe = true)
+public class SummarizeJfrMojo extends AbstractMojo {
+
+    /**
+     * Directories with extracted tests that were run with the 'jfr' profile, e.g. one per shard.
+     */
+    @Parameter(property = "report-dirs", required = true)
+    protected List<File> reportDirs;
+
+    /**
+     * How many CPU and allocation hot spots should be listed.
+     */
+    @Parameter(property = "hot-spots", defaultValue = "30")
+    protected int hotSpots;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            var summary = JfrSummary.summarizeAndStore(reportDirs.stream().map(File::toPath).toList(), hotSpots);
+            summary.skippedRecordings().forEach((recording, reason) -> getLog().warn(
+                    "Skipped unreadable recording '%s': %s".formatted(recording, reason)));
+            summary.cpuSamples().entrySet().stream().limit(10).forEach(e -> getLog().info("CPU hot spot '%s' with %d samples"
+                    .formatted(e.getKey(), e.getValue())));
+            summary.allocatedBytes().entrySet().stream().limit(10).forEach(e -> getLog().info(
+                    "Allocation hot spot '%s' with %d MB".formatted(e.getKey(), e.getValue() / (1024 * 1024))));
+            getLog().info("Summarized %d recordings of %d modules into the '%s' file".formatted(summary.recordings(),
+                    summary.modules().size(), JfrSummary.JFR_SUMMARY_FILE_NAME));
+        } catch (Exception e) {
+            throw new MojoExecutionException("Mojo 'summarize-jfr' execution failed", e);
+        }
+    }
+}
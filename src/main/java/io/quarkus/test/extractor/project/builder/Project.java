@@ -1,10 +1,12 @@
 package io.quarkus.test.extractor.project.builder;
 
 import io.quarkus.test.extractor.project.helper.ExtractionSummary;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
 import org.apache.maven.model.Profile;
 import org.apache.maven.model.Repository;
 import org.apache.maven.project.MavenProject;
@@ -12,11 +14,20 @@ import org.apache.maven.project.MavenProject;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 public sealed interface Project permits ProjectImpl {
 
     static Project extract(MavenProject project, ExtractionSummary extractionSummary) {
-        return new ProjectImpl(project, extractionSummary);
+        return extract(project, extractionSummary, null);
+    }
+
+    /**
+     * @param dependencyResolver resolves dependency closure; when null, only declared dependencies are considered
+     */
+    static Project extract(MavenProject project, ExtractionSummary extractionSummary,
+                           DependencyResolver dependencyResolver) {
+        return new ProjectImpl(project, extractionSummary, dependencyResolver);
     }
 
     Project parentProject();
@@ -66,9 +77,19 @@ public sealed interface Project permits ProjectImpl {
      */
     Model originalModel();
 
+    /**
+     * @return Copy of the parent from the original model, or null when the project has no parent.
+     */
+    Parent parent();
+
     String packagingType();
 
     boolean isIntegrationTestModule();
 
     Path projectPath();
+
+    /**
+     * @return 'groupId:artifactId' of declared dependencies of any scope and of their compile classpath
+     */
+    Set<String> dependencyClosure();
 }
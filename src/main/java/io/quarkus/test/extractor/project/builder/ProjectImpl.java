@@ -2,13 +2,16 @@ package io.quarkus.test.extractor.project.builder;
 
 import io.quarkus.test.extractor.project.helper.*;
 import io.quarkus.test.extractor.project.result.ParentProject;
+import io.quarkus.test.extractor.project.utils.DependencyResolver;
 import io.quarkus.test.extractor.project.utils.MavenUtils;
+import io.quarkus.test.extractor.project.utils.ModelCopies;
 import io.quarkus.test.extractor.project.utils.PluginUtils;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.BuildBase;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginManagement;
 import org.apache.maven.model.Profile;
@@ -24,6 +27,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static io.quarkus.test.extractor.project.helper.KnownTestJars.setTestJarVersionIfNecessary;
@@ -35,32 +39,36 @@ import static io.quarkus.test.extractor.project.utils.MavenUtils.*;
 import static io.quarkus.test.extractor.project.utils.PluginUtils.*;
 
 record ProjectImpl(MavenProject mavenProject, String relativePath, boolean extensionTestModule,
-                   ExtractionSummary extractionSummary, String originalProjectName) implements Project {
+                   ExtractionSummary extractionSummary, String originalProjectName,
+                   DependencyResolver dependencyResolver) implements Project {
 
     private static final String JAVA_FILE_EXTENSION = ".java";
     private static final Path CURRENT_DIR = Path.of(".").toAbsolutePath();
     private static final Set<String> IGNORED_PLUGINS = Set.of("forbiddenapis",
             "templating-maven-plugin", "maven-enforcer-plugin", "impsort-maven-plugin");
 
-    private ProjectImpl(MavenProject mavenProject, String relativePath, ExtractionSummary summary) {
-        this(mavenProject, relativePath, isExtensionTestModule(relativePath), summary, mavenProject.getName());
+    private ProjectImpl(MavenProject mavenProject, String relativePath, ExtractionSummary summary,
+                        DependencyResolver dependencyResolver) {
+        this(mavenProject, relativePath, isExtensionTestModule(relativePath), summary, mavenProject.getName(),
+                dependencyResolver);
     }
 
-    ProjectImpl(MavenProject mavenProject, ExtractionSummary extractionSummary) {
-        this(mavenProject, extractRelativePath(mavenProject), extractionSummary);
+    ProjectImpl(MavenProject mavenProject, ExtractionSummary extractionSummary, DependencyResolver dependencyResolver) {
+        this(mavenProject, extractRelativePath(mavenProject), extractionSummary, dependencyResolver);
     }
 
     @Override
     public Project parentProject() {
         var parent = mavenProject.getParent();
-        return Project.extract(parent, ExtractionSummary.of(parent.getArtifactId()));
+        return Project.extract(parent, ExtractionSummary.of(parent.getArtifactId()), dependencyResolver);
     }
 
     @Override
     public List<Profile> profiles() {
         List<Profile> profiles = new ArrayList<>();
         mavenProject.getOriginalModel().getProfiles().forEach(p -> {
-            var profile = p.clone();
+            // original profile is shared with the Maven project, only changed nodes are copied
+            var profile = ModelCopies.copyOf(p);
             if (profile.getBuild() != null) {
                 // TODO: this can be an issue because active profiles in 'mavenProject'
                 //   differs from profiles active during a test execution, so basically,
@@ -70,14 +78,15 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                 // my point is that if profiles are not active, they can't have resolved plugin versions, it's not best
                 List<Plugin> buildPlugins = mavenProject.getBuildPlugins();
                 PluginManagement pluginManagement = mavenProject.getPluginManagement();
-                prepareBuild(profile.getBuild(), buildPlugins, pluginManagement, this);
+                profile.setBuild(prepareBuild(ModelCopies.copyOf(profile.getBuild()), buildPlugins, pluginManagement,
+                        this));
             }
             profile.setDependencyManagement(prepareDependencyManagement(profile.getDependencyManagement(), this));
             var dependencies = profile.getDependencies();
             if (dependencies != null && !dependencies.isEmpty()) {
                 var preparedDependencies = new ArrayList<Dependency>();
                 dependencies.forEach(d -> {
-                    var dependency = d.clone();
+                    var dependency = ModelCopies.copyOf(d);
                     if (hasThisProjectVersion(dependency)) {
                         dependency.setVersion(null);
                     }
@@ -88,6 +97,8 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                             resolveAndSetDependencyVersion(dependency);
                         } else if (isManagedByQuarkusBomButNotProductPlatformBom(dependency)) {
                             setResolvedDependencyVersion(dependency);
+                        } else {
+                            recordManagedDependency(dependency);
                         }
                     }
 
@@ -107,6 +118,20 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         return List.copyOf(profiles);
     }
 
+    private void recordManagedDependency(Dependency dependency) {
+        if (ExtractionEvents.isClassificationRecorded()) {
+            final ExtractionEvents.Classification classification;
+            if (isManagedByQuarkusBom(dependency)) {
+                classification = ExtractionEvents.Classification.MANAGED_BY_QUARKUS_BOM;
+            } else if (isManagedByTestParent(dependency)) {
+                classification = ExtractionEvents.Classification.MANAGED_BY_TEST_PARENT;
+            } else {
+                classification = ExtractionEvents.Classification.MANAGED_WITH_DEPLOYMENT_DEPENDENCY;
+            }
+            ExtractionEvents.dependencyClassified(dependency, classification, dependency.getVersion());
+        }
+    }
+
     private void setResolvedDependencyVersion(Dependency dependency) {
         String actualDependencyVersion = findDependencyVersion(dependency);
         dependency.setVersion(actualDependencyVersion);
@@ -120,9 +145,8 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         }
         List<Plugin> buildPlugins = mavenProject.getBuildPlugins();
         PluginManagement pluginManagement = mavenProject.getPluginManagement();
-        Build build = mavenProject.getOriginalModel().getBuild().clone();
-        prepareBuild(build, buildPlugins, pluginManagement, this);
-        return build;
+        return prepareBuild(ModelCopies.copyOf(mavenProject.getOriginalModel().getBuild()), buildPlugins,
+                pluginManagement, this);
     }
 
     @Override
@@ -141,22 +165,39 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                 || dependencyManagement.getDependencies().isEmpty()) {
             return null;
         }
-        List<Dependency> managedDependencies = dependencyManagement.getDependencies().stream()
-                .filter(QuarkusBuildParent::isNotManagedByBuildParent)
-                // we don't need Quarkus BOM test parent, and it doesn't exist as we don't build it or keep it
-                .filter(d -> !d.getArtifactId().equalsIgnoreCase("quarkus-bom-test"))
-                .toList();
+        List<Dependency> dependencies = new ArrayList<>();
+        List<Dependency> managedDependencies = new ArrayList<>();
+        for (Dependency dependency : dependencyManagement.getDependencies()) {
+            if (QuarkusBuildParent.isNotManagedByBuildParent(dependency)
+                    // we don't need Quarkus BOM test parent, and it doesn't exist as we don't build it or keep it
+                    && !dependency.getArtifactId().equalsIgnoreCase("quarkus-bom-test")) {
+                dependency = prepareManagedDependency(dependency);
+                managedDependencies.add(dependency);
+            }
+            dependencies.add(dependency);
+        }
         if (!managedDependencies.isEmpty()) {
-            managedDependencies.forEach(ParentProject::correctGroupIdIfNecessary);
-            managedDependencies.stream().filter(ParentProject::copyAsIsContainsArtifactId).forEach(d -> d.setVersion(version()));
-            extractionSummary.addProjectWithDependencyManagement(dependencyManagement, project);
-            var clone = dependencyManagement.clone();
-            clone.setDependencies(managedDependencies);
-            return clone;
+            extractionSummary.addProjectWithDependencyManagement(dependencies, project);
+            var preparedDependencyManagement = new DependencyManagement();
+            preparedDependencyManagement.setDependencies(List.copyOf(managedDependencies));
+            return preparedDependencyManagement;
         }
         return null;
     }
 
+    private Dependency prepareManagedDependency(Dependency dependency) {
+        boolean copyAsIs = copyAsIsContainsArtifactId(dependency);
+        if (!copyAsIs && !isManagedByTestParent(dependency)) {
+            return dependency;
+        }
+        var preparedDependency = ModelCopies.copyOf(dependency);
+        correctGroupIdIfNecessary(preparedDependency);
+        if (copyAsIs) {
+            preparedDependency.setVersion(version());
+        }
+        return preparedDependency;
+    }
+
     @Override
     public List<Dependency> dependencies() {
         var originalDependencies = mavenProject.getOriginalModel().getDependencies();
@@ -201,7 +242,7 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
             }
             result.add(self);
             originalDependencies.forEach(dep -> {
-                var dependency = dep.clone();
+                var dependency = ModelCopies.copyOf(dep);
                 // some test scope dependencies probably are not managed by Quarkus BOM
                 // but are managed due to Quarkus Build Parent dependency management
                 // however we only use delivered artifacts and use Quarkus platform BOM
@@ -218,6 +259,8 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                         resolveAndSetDependencyVersion(dependency);
                     } else if (isManagedByQuarkusBomButNotProductPlatformBom(dependency)) {
                         setResolvedDependencyVersion(dependency);
+                    } else {
+                        recordManagedDependency(dependency);
                     }
                 }
                 if (hasThisProjectVersion(dependency)) {
@@ -248,7 +291,7 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                     // exception, this doesn't have nor need runtime counterpart
                     .filter(d -> !d.getArtifactId().equals("quarkus-devservices-deployment"))
                     .map(d -> {
-                        Dependency runtimeDependency = d.clone();
+                        Dependency runtimeDependency = ModelCopies.copyOf(d);
                         runtimeDependency.setArtifactId(dropDeploymentPostfix(runtimeDependency.getArtifactId()));
                         return runtimeDependency;
                     })
@@ -269,7 +312,7 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
             originalDependencies.removeIf(dep -> isQuarkusOwnDependency(dep, version()) && isPomPackageType(dep));
 
             originalDependencies.forEach(dep -> {
-                var dependency = dep.clone();
+                var dependency = ModelCopies.copyOf(dep);
                 if (COMPILE_SCOPE.equalsIgnoreCase(dependency.getScope())) {
                     // use default scope, usually developers doesn't type it either
                     dependency.setScope(null);
@@ -287,6 +330,8 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                         resolveAndSetDependencyVersion(dependency);
                     } else if (isManagedByQuarkusBomButNotProductPlatformBom(dependency)) {
                         setResolvedDependencyVersion(dependency);
+                    } else {
+                        recordManagedDependency(dependency);
                     }
                 }
                 if (hasThisProjectVersion(dependency)) {
@@ -323,9 +368,9 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         List<Repository> result = new ArrayList<>();
         mavenProject.getRepositories().forEach(repo -> {
             if (isNotCentralRepository(repo)) {
-                var repository = repo.clone();
-                extractionSummary.addRepository(repository, this);
-                result.add(repository);
+                // repositories are not modified, therefore they are shared with the Maven project
+                extractionSummary.addRepository(repo, this);
+                result.add(repo);
             }
         });
         return List.copyOf(result);
@@ -339,9 +384,9 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         List<Repository> result = new ArrayList<>();
         mavenProject.getPluginRepositories().forEach(repo -> {
             if (isNotCentralRepository(repo)) {
-                var repository = repo.clone();
-                extractionSummary.addPluginRepository(repository, this);
-                result.add(repository);
+                // repositories are not modified, therefore they are shared with the Maven project
+                extractionSummary.addPluginRepository(repo, this);
+                result.add(repo);
             }
         });
         return List.copyOf(result);
@@ -474,7 +519,12 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
 
     @Override
     public Model originalModel() {
-        var model = mavenProject.getOriginalModel().clone();
+        // shallow copy, nodes that are modified by the extraction or by writers are replaced
+        var model = ModelCopies.copyOf(mavenProject.getOriginalModel());
+        model.setParent(parent());
+        var properties = new Properties();
+        properties.putAll(model.getProperties());
+        model.setProperties(properties);
         model.setBuild(build());
         model.setDependencies(dependencies());
         model.setDependencyManagement(prepareDependencyManagement(model.getDependencyManagement(), this));
@@ -482,6 +532,17 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         return model;
     }
 
+    @Override
+    public Parent parent() {
+        var parent = mavenProject.getOriginalModel().getParent();
+        if (parent == null) {
+            return null;
+        }
+        var copy = parent.clone();
+        ExtractionMetrics.modelCloned();
+        return copy;
+    }
+
     @Override
     public String packagingType() {
         return mavenProject.getPackaging();
@@ -497,6 +558,16 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         return CURRENT_DIR.resolve(relativePath);
     }
 
+    @Override
+    public Set<String> dependencyClosure() {
+        if (dependencyResolver != null) {
+            return dependencyResolver.collectDependencyClosure(mavenProject);
+        }
+        var closure = new TreeSet<String>();
+        mavenProject.getDependencies().forEach(d -> closure.add(d.getGroupId() + ":" + d.getArtifactId()));
+        return closure;
+    }
+
     private void resolveAndSetDependencyVersion(Dependency dependency) {
         String actualDependencyVersion = findDependencyVersion(dependency);
         if (isTestFrameworkDependency(dependency)) {
@@ -537,15 +608,18 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
         return CURRENT_DIR.relativize(mavenProjectPath).toString();
     }
 
-    private void prepareBuild(BuildBase build, List<Plugin> buildPlugins, PluginManagement pluginManagement,
-                                     Project project) {
+    /**
+     * @param build shallow copy of the original build, plugins that are modified are replaced with their copies
+     */
+    private <T extends BuildBase> T prepareBuild(T build, List<Plugin> buildPlugins, PluginManagement pluginManagement,
+                                                 Project project) {
         if (build.getPlugins() != null) {
+            build.setPlugins(new ArrayList<>(build.getPlugins()));
             build.getPlugins().removeIf(plugin -> {
                 if (IGNORED_PLUGINS.contains(plugin.getArtifactId())) {
                     return true;
                 }
                 if ("maven-compiler-plugin".equalsIgnoreCase(plugin.getArtifactId())) {
-                    plugin.setVersion("$USE-EXTRACTED-PROPERTIES{version.compiler.plugin}");
                     // if it is only plugin with no configuration, we don't need it
                     // if only 'quarkus-extension-processor' annotation processor is present
                     // we don't want it, otherwise, we need to copy modified plugin
@@ -577,13 +651,17 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                 return false;
             });
             if (!build.getPlugins().isEmpty()) {
-                build.getPlugins().forEach(plugin -> {
+                build.getPlugins().replaceAll(plugin -> {
+                    String pluginGroupId = plugin.getGroupId();
+                    String pluginVersion = plugin.getVersion();
+                    if ("maven-compiler-plugin".equalsIgnoreCase(plugin.getArtifactId())) {
+                        pluginVersion = "$USE-EXTRACTED-PROPERTIES{version.compiler.plugin}";
+                    }
                     // we manage failsafe and surefire plugins because it's given we need them
                     // as for others, they are not managed so that we still know they are needed,
                     // and we record that need in the extraction summary; we need to understand
                     // what plugins are used as inspecting a thousand of modules is impossible
-                    if ((plugin.getVersion() == null) && isNotSurefireOrFailsafePlugin(plugin.getArtifactId())) {
-                        String pluginVersion = null;
+                    if ((pluginVersion == null) && isNotSurefireOrFailsafePlugin(plugin.getArtifactId())) {
                         if (!isQuarkusParentPomProject(project)) {
                             pluginVersion = QuarkusParentPom.getPluginVersion(plugin);
                         }
@@ -595,28 +673,52 @@ record ProjectImpl(MavenProject mavenProject, String relativePath, boolean exten
                             // let's just use resolved version
                             pluginVersion = findResolvedPluginVersion(plugin, buildPlugins, pluginManagement);
                         }
-                        plugin.setVersion(pluginVersion);
                     }
                     if (PluginUtils.isQuarkusMavenPlugin(plugin.getArtifactId(), plugin.getGroupId())) {
                         // RHBQ uses productized plugin and the group id is 'com.redhat.quarkus.platform'
                         // so make the group id configurable
-                        plugin.setGroupId("$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_GROUP_ID + "}");
-                        plugin.setVersion("$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_VERSION + "}");
+                        pluginGroupId = "$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_GROUP_ID + "}";
+                        pluginVersion = "$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_VERSION + "}";
                     }
-                    extractionSummary.addBuildPlugin(plugin, project);
+                    var preparedPlugin = copyIfChanged(plugin, pluginGroupId, pluginVersion);
+                    extractionSummary.addBuildPlugin(preparedPlugin, project);
+                    return preparedPlugin;
                 });
             }
-            if (build.getPluginManagement() != null && build.getPluginManagement().getPlugins() != null) {
-                build.getPluginManagement().getPlugins().forEach(plugin -> {
+            var buildPluginManagement = build.getPluginManagement();
+            if (buildPluginManagement != null && buildPluginManagement.getPlugins() != null
+                    && buildPluginManagement.getPlugins().stream()
+                    .anyMatch(p -> PluginUtils.isQuarkusMavenPlugin(p.getArtifactId(), p.getGroupId()))) {
+                var preparedPlugins = buildPluginManagement.getPlugins().stream().map(plugin -> {
                     if (PluginUtils.isQuarkusMavenPlugin(plugin.getArtifactId(), plugin.getGroupId())) {
                         // RHBQ uses productized plugin and the group id is 'com.redhat.quarkus.platform'
                         // so make the group id configurable
-                        plugin.setGroupId("$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_GROUP_ID + "}");
-                        plugin.setVersion("$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_VERSION + "}");
+                        return copyIfChanged(plugin,
+                                "$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_GROUP_ID + "}",
+                                "$" + USE_EXTRACTED_PROPERTIES + "{" + QUARKUS_PLATFORM_VERSION + "}");
                     }
-                });
+                    return plugin;
+                }).collect(Collectors.toCollection(ArrayList::new));
+                var preparedPluginManagement = new PluginManagement();
+                preparedPluginManagement.setPlugins(preparedPlugins);
+                build.setPluginManagement(preparedPluginManagement);
             }
         }
+        return build;
+    }
+
+    /**
+     * Plugins are shared with the Maven project, so they are copied before they are modified.
+     */
+    private static Plugin copyIfChanged(Plugin plugin, String groupId, String version) {
+        if (Objects.equals(groupId, plugin.getGroupId()) && Objects.equals(version, plugin.getVersion())) {
+            return plugin;
+        }
+        var copy = plugin.clone();
+        ExtractionMetrics.modelCloned();
+        copy.setGroupId(groupId);
+        copy.setVersion(version);
+        return copy;
     }
 
     private static String findResolvedPluginVersion(Plugin plugin, List<Plugin> buildPlugins,
@@ -0,0 +1,89 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+import io.quarkus.test.extractor.project.helper.ModuleDependencyClosures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static io.quarkus.test.extractor.project.helper.QuarkusBom.MANAGED_VERSION_SEPARATOR;
+
+/**
+ * Selects extracted test modules whose classpath changed between two Quarkus platform builds, so that a respin
+ * is only validated by tests that could be affected. The 'affected-modules' file contains module paths separated
+ * with a comma, which is the format accepted by the Maven '-pl' option.
+ */
+public final class AffectedModules {
+
+    public static final String AFFECTED_MODULES_FILE_NAME = "affected-modules";
+    private static final String MODULE_SEPARATOR = ",";
+
+    /**
+     * @param changedArtifacts 'groupId:artifactId' of managed artifacts that were added, removed or changed version
+     * @param modulePaths target relative paths of affected modules
+     */
+    public record Selection(Set<String> changedArtifacts, List<String> modulePaths) {
+    }
+
+    private AffectedModules() {
+        // utils
+    }
+
+    /**
+     * @param previousSnapshot 'quarkus-bom-managed-versions' file of the previous platform build
+     * @param currentSnapshot 'quarkus-bom-managed-versions' file of the current platform build
+     */
+    public static Selection selectAndStoreAffectedModules(Path previousSnapshot, Path currentSnapshot) {
+        var changedArtifacts = findChangedArtifacts(loadManagedVersions(previousSnapshot),
+                loadManagedVersions(currentSnapshot));
+        var modulePaths = ModuleDependencyClosures.loadModuleDependencyClosures().entrySet().stream()
+                .filter(e -> e.getValue().stream().anyMatch(changedArtifacts::contains))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        FileSystemStorage.writeFileContent(AFFECTED_MODULES_FILE_NAME, String.join(MODULE_SEPARATOR, modulePaths));
+        return new Selection(changedArtifacts, modulePaths);
+    }
+
+    static Set<String> findChangedArtifacts(Map<String, Set<String>> previous, Map<String, Set<String>> current) {
+        var changedArtifacts = new TreeSet<String>();
+        var artifacts = new HashSet<>(previous.keySet());
+        artifacts.addAll(current.keySet());
+        for (String artifact : artifacts) {
+            if (!Objects.equals(previous.get(artifact), current.get(artifact))) {
+                changedArtifacts.add(artifact);
+            }
+        }
+        return changedArtifacts;
+    }
+
+    /**
+     * @return 'groupId:artifactId' to versions, one artifact can be managed several times with different type
+     *         or classifier
+     */
+    private static Map<String, Set<String>> loadManagedVersions(Path snapshot) {
+        if (!Files.isRegularFile(snapshot)) {
+            throw new IllegalArgumentException("Quarkus BOM snapshot '%s' does not exist".formatted(snapshot));
+        }
+        Map<String, Set<String>> managedVersions = new HashMap<>();
+        try (var lines = Files.lines(snapshot)) {
+            lines.map(String::trim).filter(line -> !line.isEmpty()).forEach(line -> {
+                String[] entry = line.split(MANAGED_VERSION_SEPARATOR, 2);
+                String[] key = entry[0].split(":");
+                String version = entry.length > 1 ? entry[1] : "";
+                managedVersions.computeIfAbsent(key[0] + ":" + key[1], k -> new TreeSet<>()).add(version);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load Quarkus BOM snapshot " + snapshot, e);
+        }
+        return managedVersions;
+    }
+}
@@ -0,0 +1,138 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes Java Flight Recordings written by test JVMs with the 'jfr' profile of the generated project.
+ * Recordings are streamed event by event, hot spots are top frames of CPU execution samples and allocation samples.
+ */
+public final class JfrSummary {
+
+    public static final String JFR_SUMMARY_FILE_NAME = "jfr-summary";
+    private static final String JFR_FILE_EXTENSION = ".jfr";
+    private static final String BUILD_DIR_NAME = "target";
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String UNKNOWN_FRAME = "<unknown>";
+
+    /**
+     * @param cpuSamples method to number of execution samples where the method was on the top of the stack
+     * @param allocatedBytes method to sampled allocation weight in bytes
+     * @param modules module to total execution samples and allocated bytes
+     * @param skippedRecordings unreadable recording to the reason, e.g. incomplete recordings of killed JVMs
+     */
+    public record Summary(int recordings, Map<String, Long> cpuSamples, Map<String, Long> allocatedBytes,
+                          Map<String, long[]> modules, Map<Path, String> skippedRecordings) {
+    }
+
+    private JfrSummary() {
+        // utils
+    }
+
+    public static Summary summarizeAndStore(List<Path> extractedTestsDirs, int numberOfHotSpots) {
+        Map<String, Long> cpuSamples = new HashMap<>();
+        Map<String, Long> allocatedBytes = new HashMap<>();
+        Map<String, long[]> modules = new TreeMap<>();
+        Map<Path, String> skippedRecordings = new LinkedHashMap<>();
+        int recordings = 0;
+        for (Path extractedTestsDir : extractedTestsDirs) {
+            for (Path recording : findRecordings(extractedTestsDir)) {
+                recordings++;
+                long[] moduleTotals = modules.computeIfAbsent(toModulePath(extractedTestsDir, recording),
+                        k -> new long[2]);
+                try (var recordingFile = new RecordingFile(recording)) {
+                    while (recordingFile.hasMoreEvents()) {
+                        RecordedEvent event = recordingFile.readEvent();
+                        String eventName = event.getEventType().getName();
+                        if (EXECUTION_SAMPLE.equals(eventName)) {
+                            cpuSamples.merge(toTopFrame(event), 1L, Long::sum);
+                            moduleTotals[0]++;
+                        } else if (ALLOCATION_SAMPLE.equals(eventName)) {
+                            long weight = event.getLong("weight");
+                            allocatedBytes.merge(toTopFrame(event), weight, Long::sum);
+                            moduleTotals[1] += weight;
+                        }
+                    }
+                } catch (IOException e) {
+                    // JVMs killed by a timeout leave incomplete recordings, which shouldn't prevent the summary
+                    skippedRecordings.put(recording, String.valueOf(e.getMessage()));
+                }
+            }
+        }
+        var summary = new Summary(recordings, top(cpuSamples, numberOfHotSpots), top(allocatedBytes, numberOfHotSpots),
+                modules, skippedRecordings);
+        FileSystemStorage.writeFileContent(JFR_SUMMARY_FILE_NAME, toSummaryContent(summary));
+        return summary;
+    }
+
+    private static String toTopFrame(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN_FRAME;
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        RecordedMethod method = frame.getMethod();
+        if (method == null) {
+            return UNKNOWN_FRAME;
+        }
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static Map<String, Long> top(Map<String, Long> values, int limit) {
+        var result = new LinkedHashMap<String, Long>();
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    private static String toSummaryContent(Summary summary) {
+        var content = new StringBuilder();
+        content.append("# cpu hot spots;execution samples").append(System.lineSeparator());
+        summary.cpuSamples().forEach((method, samples) -> content.append(method).append(ENTRY_SEPARATOR)
+                .append(samples).append(System.lineSeparator()));
+        content.append("# allocation hot spots;sampled bytes").append(System.lineSeparator());
+        summary.allocatedBytes().forEach((method, bytes) -> content.append(method).append(ENTRY_SEPARATOR)
+                .append(bytes).append(System.lineSeparator()));
+        content.append("# modules;execution samples;sampled bytes").append(System.lineSeparator());
+        summary.modules().forEach((module, totals) -> content.append(module).append(ENTRY_SEPARATOR)
+                .append(totals[0]).append(ENTRY_SEPARATOR).append(totals[1]).append(System.lineSeparator()));
+        return content.toString();
+    }
+
+    private static List<Path> findRecordings(Path extractedTestsDir) {
+        if (!Files.isDirectory(extractedTestsDir)) {
+            throw new IllegalArgumentException("Directory with extracted tests '%s' does not exist"
+                    .formatted(extractedTestsDir));
+        }
+        try (var files = Files.walk(extractedTestsDir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().endsWith(JFR_FILE_EXTENSION))
+                    .filter(p -> p.getParent() != null && BUILD_DIR_NAME.equals(p.getParent().getFileName().toString()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to find Java Flight Recordings in " + extractedTestsDir, e);
+        }
+    }
+
+    private static String toModulePath(Path extractedTestsDir, Path recording) {
+        // module/target/artifact-id-pid.jfr
+        return TestReports.toUnixPath(extractedTestsDir.relativize(recording.getParent().getParent()));
+    }
+}
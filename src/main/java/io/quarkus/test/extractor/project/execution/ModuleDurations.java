@@ -0,0 +1,100 @@
+package io.quarkus.test.extractor.project.execution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Historical test execution durations of modules of the generated project.
+ */
+public final class ModuleDurations {
+
+    /**
+     * Used when we know nothing about any module.
+     */
+    private static final double DEFAULT_MODULE_DURATION_IN_SECONDS = 300;
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String COMMENT = "#";
+
+    private final Map<String, Double> moduleToSeconds;
+    private final double unknownModuleSeconds;
+
+    private ModuleDurations(Map<String, Double> moduleToSeconds) {
+        this.moduleToSeconds = Map.copyOf(moduleToSeconds);
+        this.unknownModuleSeconds = median(moduleToSeconds.values());
+    }
+
+    /**
+     * @param modulePaths modules we want durations for, reported submodules are accounted to these modules
+     * @param reportDirs directories with extracted tests and Surefire / Failsafe reports of previous runs
+     *                   or with test results aggregated by the 'aggregate-test-reports' goal
+     * @param seedFile file with lines like 'integration-tests/main;3600' (seconds), used unless reports are found
+     */
+    public static ModuleDurations load(Collection<String> modulePaths, List<Path> reportDirs, Path seedFile) {
+        Map<String, Double> moduleToSeconds = new HashMap<>();
+        if (seedFile != null) {
+            moduleToSeconds.putAll(loadSeedFile(seedFile, modulePaths));
+        }
+        if (reportDirs != null && !reportDirs.isEmpty()) {
+            // average module duration over all the runs we know about
+            Map<String, Double> totalSeconds = new HashMap<>();
+            Map<String, Integer> numberOfRuns = new HashMap<>();
+            for (Path reportDir : reportDirs) {
+                Map<String, Double> runSeconds = new HashMap<>();
+                TestReports.forEachTestSuite(reportDir, testSuite -> findModule(testSuite.modulePath(), modulePaths)
+                        .ifPresent(m -> runSeconds.merge(m, testSuite.timeInSeconds(), Double::sum)));
+                runSeconds.forEach((module, seconds) -> {
+                    totalSeconds.merge(module, seconds, Double::sum);
+                    numberOfRuns.merge(module, 1, Integer::sum);
+                });
+            }
+            totalSeconds.forEach((module, seconds) -> moduleToSeconds.put(module, seconds / numberOfRuns.get(module)));
+        }
+        return new ModuleDurations(moduleToSeconds);
+    }
+
+    public double estimateSeconds(String modulePath) {
+        return moduleToSeconds.getOrDefault(modulePath, unknownModuleSeconds);
+    }
+
+    public boolean isKnown(String modulePath) {
+        return moduleToSeconds.containsKey(modulePath);
+    }
+
+    /**
+     * @return the longest module path that is same as the reported path or contains it as a submodule
+     */
+    public static Optional<String> findModule(String reportedModulePath, Collection<String> modulePaths) {
+        return modulePaths.stream()
+                .filter(m -> reportedModulePath.equals(m) || reportedModulePath.startsWith(m + "/"))
+                .max((m1, m2) -> Integer.compare(m1.length(), m2.length()));
+    }
+
+    private static Map<String, Double> loadSeedFile(Path seedFile, Collection<String> modulePaths) {
+        Map<String, Double> moduleToSeconds = new HashMap<>();
+        try (var lines = Files.lines(seedFile)) {
+            lines.map(String::trim)
+                    .filter(l -> !l.isEmpty() && !l.startsWith(COMMENT))
+                    .map(l -> l.split(ENTRY_SEPARATOR))
+                    .forEach(entry -> findModule(entry[0].trim(), modulePaths).ifPresent(m -> moduleToSeconds
+                            .merge(m, TestReports.parseTime(entry[1].trim()), Double::sum)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load module durations from " + seedFile, e);
+        }
+        return moduleToSeconds;
+    }
+
+    private static double median(Collection<Double> durations) {
+        if (durations.isEmpty()) {
+            return DEFAULT_MODULE_DURATION_IN_SECONDS;
+        }
+        var sorted = durations.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+}
@@ -0,0 +1,200 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestHistory.Run;
+import io.quarkus.test.extractor.project.execution.TestHistory.Sample;
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compares module durations of two runs recorded in the test history. A module is slower when its paired test classes
+ * ran longer by at least the threshold and a one-sided paired t-test over class durations rejects that the slowdown
+ * is a noise. Test execution and Quarkus boot time (time before the first test) are compared separately.
+ */
+public final class PerformanceRegressions {
+
+    public static final String PERFORMANCE_REGRESSIONS_FILE_NAME = "performance-regressions";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String HEADER = "# metric;module;baseline seconds;current seconds;relative change;p-value;classes";
+
+    public enum Metric {
+        TEST_EXECUTION,
+        QUARKUS_BOOT
+    }
+
+    public record Regression(Metric metric, String modulePath, double baselineSeconds, double currentSeconds,
+                             double pValue, int classes) {
+
+        public double relativeChange() {
+            return baselineSeconds == 0 ? Double.POSITIVE_INFINITY : currentSeconds / baselineSeconds - 1;
+        }
+
+        private String toEntry() {
+            return String.join(ENTRY_SEPARATOR, metric.name(), modulePath, format(baselineSeconds),
+                    format(currentSeconds), format(relativeChange()), Double.toString(pValue), Integer.toString(classes));
+        }
+
+        private static String format(double value) {
+            return "%.3f".formatted(value);
+        }
+    }
+
+    private PerformanceRegressions() {
+        // utils
+    }
+
+    /**
+     * @param baselineKey run key like 'revision/platform version', the run before the current run when null
+     * @param currentKey run key, the last recorded run when null
+     * @param threshold minimal relative slowdown, like 0.1 for 10 %
+     * @param significance maximal p-value of the slowdown, like 0.05
+     */
+    public static List<Regression> detectAndStoreRegressions(Path historyFile, String baselineKey, String currentKey,
+                                                             double threshold, double significance) {
+        List<Run> runs = TestHistory.loadRuns(historyFile);
+        Run current = currentKey == null ? runs.isEmpty() ? null : runs.get(runs.size() - 1) : findRun(runs, currentKey);
+        if (current == null) {
+            throw new IllegalArgumentException("Test history '%s' is empty".formatted(historyFile));
+        }
+        Run baseline = baselineKey == null ? findPreviousRun(runs, current) : findRun(runs, baselineKey);
+        List<Regression> regressions = new ArrayList<>();
+        current.moduleToClassSamples().forEach((modulePath, currentClasses) -> {
+            var baselineClasses = baseline.moduleToClassSamples().get(modulePath);
+            if (baselineClasses != null) {
+                compare(Metric.TEST_EXECUTION, modulePath, baselineClasses, currentClasses, Sample::seconds,
+                        threshold, significance, regressions);
+                compare(Metric.QUARKUS_BOOT, modulePath, baselineClasses, currentClasses, Sample::bootSeconds,
+                        threshold, significance, regressions);
+            }
+        });
+        var content = new StringBuilder(HEADER).append(System.lineSeparator());
+        content.append("# baseline ").append(baseline.key()).append(", current ").append(current.key())
+                .append(System.lineSeparator());
+        regressions.forEach(r -> content.append(r.toEntry()).append(System.lineSeparator()));
+        FileSystemStorage.writeFileContent(PERFORMANCE_REGRESSIONS_FILE_NAME, content.toString());
+        return regressions;
+    }
+
+    private static void compare(Metric metric, String modulePath, Map<String, Sample> baselineClasses,
+                                Map<String, Sample> currentClasses, Function<Sample, Double> value, double threshold,
+                                double significance, List<Regression> regressions) {
+        List<double[]> pairs = new ArrayList<>();
+        currentClasses.forEach((className, currentSample) -> {
+            var baselineSample = baselineClasses.get(className);
+            if (baselineSample != null && value.apply(baselineSample) != null && value.apply(currentSample) != null) {
+                pairs.add(new double[] { value.apply(baselineSample), value.apply(currentSample) });
+            }
+        });
+        // t-test needs at least two pairs, modules with one class can't be told from noise
+        if (pairs.size() < 2) {
+            return;
+        }
+        double baselineSeconds = pairs.stream().mapToDouble(p -> p[0]).sum();
+        double currentSeconds = pairs.stream().mapToDouble(p -> p[1]).sum();
+        if (currentSeconds < baselineSeconds * (1 + threshold)) {
+            return;
+        }
+        double pValue = pairedTTestPValue(pairs);
+        if (pValue <= significance) {
+            regressions.add(new Regression(metric, modulePath, baselineSeconds, currentSeconds, pValue, pairs.size()));
+        }
+    }
+
+    /**
+     * @return p-value of the one-sided paired t-test with the alternative hypothesis 'current is slower'
+     */
+    static double pairedTTestPValue(List<double[]> pairs) {
+        int n = pairs.size();
+        double meanDifference = pairs.stream().mapToDouble(p -> p[1] - p[0]).average().orElse(0);
+        double variance = pairs.stream().mapToDouble(p -> Math.pow(p[1] - p[0] - meanDifference, 2)).sum() / (n - 1);
+        if (variance == 0) {
+            return meanDifference > 0 ? 0 : 1;
+        }
+        double t = meanDifference / Math.sqrt(variance / n);
+        return studentTUpperTail(t, n - 1);
+    }
+
+    /**
+     * @return P(T > t) for the Student's t-distribution with given degrees of freedom
+     */
+    static double studentTUpperTail(double t, double degreesOfFreedom) {
+        double tail = 0.5 * regularizedIncompleteBeta(degreesOfFreedom / (degreesOfFreedom + t * t),
+                degreesOfFreedom / 2, 0.5);
+        return t > 0 ? tail : 1 - tail;
+    }
+
+    private static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        // the continued fraction converges quickly only on one side of the mean
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * incompleteBetaContinuedFraction(x, a, b) / a;
+        }
+        return 1 - front * incompleteBetaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    private static double incompleteBetaContinuedFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double result = d;
+        for (int m = 1; m <= 300; m++) {
+            double numerator = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+            d = 1 / nonZero(1 + numerator * d, tiny);
+            c = nonZero(1 + numerator / c, tiny);
+            result *= d * c;
+            numerator = -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+            d = 1 / nonZero(1 + numerator * d, tiny);
+            c = nonZero(1 + numerator / c, tiny);
+            double delta = d * c;
+            result *= delta;
+            if (Math.abs(delta - 1) < 1e-12) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static double nonZero(double value, double tiny) {
+        return Math.abs(value) < tiny ? tiny : value;
+    }
+
+    /**
+     * Lanczos approximation.
+     */
+    private static double logGamma(double x) {
+        double[] coefficients = { 76.18009172947146, -86.50532032941677, 24.01409824083091, -1.231739572450155,
+                0.1208650973866179e-2, -0.5395239384953e-5 };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    private static Run findRun(List<Run> runs, String key) {
+        return runs.stream().filter(r -> r.key().equals(key)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Run '%s' not found in the test history".formatted(key)));
+    }
+
+    private static Run findPreviousRun(List<Run> runs, Run current) {
+        int index = runs.indexOf(current);
+        if (index < 1) {
+            throw new IllegalArgumentException("Run '%s' has no previous run in the test history".formatted(current.key()));
+        }
+        return runs.get(index - 1);
+    }
+}
@@ -0,0 +1,249 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestSlicer.Slice;
+import io.quarkus.test.extractor.project.helper.ContainerImages;
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+import io.quarkus.test.extractor.project.helper.ModuleInfrastructure;
+import io.quarkus.test.extractor.project.helper.ModuleInfrastructure.Service;
+import io.quarkus.test.extractor.project.utils.MavenUtils;
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM_XML;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Distributes test modules of the generated project into shards with similar expected execution time.
+ * Every shard is written to the generated parent POM as a profile activated with '-Dshard=extensions-1',
+ * '-Dshard=integration-tests-2' etc. Images that tests of every shard may need are listed in the
+ * 'container-image-manifests' directory. Modules sliced by the {@link TestSlicer} are planned slice by slice.
+ */
+public final class ShardPlanner {
+
+    /**
+     * @param arguments Maven arguments that activate test slices of sliced modules placed in this shard
+     */
+    public record Shard(String id, List<String> modulePaths, double estimatedSeconds, List<String> arguments) {
+    }
+
+    /**
+     * Category of the generated project, like 'extensions', and profiles that contain its modules.
+     */
+    private record Category(String name, List<String> profiles) {
+    }
+
+    private static final List<Category> CATEGORIES = List.of(
+            new Category("extensions", List.of("extensions")),
+            new Category("integration-tests", List.of("integration-tests", "integration-tests-21")));
+    private static final String SHARD_PROPERTY = "shard";
+    private static final String SHARD_PROFILE_INFIX = "-shard-";
+    private static final Pattern SHARD_PROFILE_ID = Pattern.compile(".+" + SHARD_PROFILE_INFIX + "\\d+");
+    private static final String TEST_SHARDS_FILE = "test-shards";
+    private static final String CONTAINER_IMAGE_MANIFESTS_DIR = "container-image-manifests";
+
+    private ShardPlanner() {
+        // utils
+    }
+
+    /**
+     * Plans shards for all categories, adds them as profiles to the generated parent POM
+     * and stores them in the 'test-shards' file, which is used by the 'run_tests.sh' script.
+     */
+    public static List<Shard> planAndStoreShards(int numberOfShards, List<Path> reportDirs, Path durationsSeedFile,
+                                                 double affinityTolerance) {
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException("Number of shards must be positive, got " + numberOfShards);
+        }
+        Path parentPom = TARGET_DIR.resolve(POM_XML);
+        Model parentModel = MavenUtils.getMavenModel(parentPom);
+        // drop shards from the previous planning
+        parentModel.getProfiles().removeIf(p -> SHARD_PROFILE_ID.matcher(p.getId()).matches());
+
+        var allModulePaths = CATEGORIES.stream().flatMap(c -> c.profiles().stream())
+                .flatMap(p -> MavenUtils.getProfile(parentModel, p).stream())
+                .flatMap(p -> p.getModules().stream())
+                .toList();
+        var durations = ModuleDurations.load(allModulePaths, reportDirs, durationsSeedFile);
+        var slices = TestSlicer.loadSlices();
+        var moduleToServices = ModuleInfrastructure.loadModuleServices();
+
+        var shards = new ArrayList<Shard>();
+        for (Category category : CATEGORIES) {
+            var moduleToProfile = new LinkedHashMap<String, Profile>();
+            category.profiles().forEach(profileId -> MavenUtils.getProfile(parentModel, profileId)
+                    .ifPresent(p -> p.getModules().forEach(m -> moduleToProfile.put(m, p))));
+            var categoryShards = planShards(category.name(), numberOfShards, moduleToProfile.keySet(), durations,
+                    slices, moduleToServices, affinityTolerance);
+            for (Shard shard : categoryShards) {
+                for (String profileId : category.profiles()) {
+                    var sourceProfile = MavenUtils.getProfile(parentModel, profileId);
+                    if (sourceProfile.isEmpty()) {
+                        continue;
+                    }
+                    var modules = shard.modulePaths().stream()
+                            .filter(m -> moduleToProfile.get(m) == sourceProfile.get()).toList();
+                    // the base profile is always created so that activation of an empty shard is harmless
+                    if (!modules.isEmpty() || profileId.equals(category.name())) {
+                        parentModel.addProfile(createShardProfile(sourceProfile.get(), shard.id(), modules));
+                    }
+                }
+            }
+            shards.addAll(categoryShards);
+        }
+
+        MavenUtils.writeParentMavenModel(parentModel, TARGET_DIR);
+        FileSystemStorage.writeFileContent(TEST_SHARDS_FILE, toTestShardsFileContent(shards));
+        storeContainerImageManifests(shards);
+        return shards;
+    }
+
+    /**
+     * Greedy longest-processing-time first: the longest module always goes to the shard that finishes first.
+     * Among shards that are no more than the affinity tolerance behind the first one, we prefer the shard that already
+     * contains modules needing same services (databases, brokers, ...), so that containers are reused.
+     * Slices of one module are never placed into the same shard, because then the shard would run whole module.
+     * Ties are broken by module path and shard number, therefore same input always produces same shards.
+     *
+     * @param affinityTolerance fraction of the average shard duration
+     */
+    static List<Shard> planShards(String category, int numberOfShards, Collection<String> modulePaths,
+                                  ModuleDurations durations, List<Slice> slices,
+                                  Map<String, Set<Service>> moduleToServices, double affinityTolerance) {
+        record Item(String modulePath, double seconds, Slice slice, Set<Service> services) {
+        }
+        record Bin(int number, List<String> modulePaths, List<String> arguments, Map<Service, Integer> services,
+                   double[] seconds) {
+
+            long sharedServices(Item item) {
+                return item.services().stream().filter(services::containsKey).count();
+            }
+        }
+        var items = new ArrayList<Item>();
+        var slicedModules = new HashSet<String>();
+        for (Slice slice : slices) {
+            if (modulePaths.contains(slice.modulePath())) {
+                if (slice.number() > numberOfShards) {
+                    throw new IllegalArgumentException(("Module '%s' is split into more slices than there is %d shards, "
+                            + "please slice it again").formatted(slice.modulePath(), numberOfShards));
+                }
+                items.add(new Item(slice.modulePath(), slice.estimatedSeconds(), slice,
+                        findServices(slice.modulePath(), moduleToServices)));
+                slicedModules.add(slice.modulePath());
+            }
+        }
+        modulePaths.stream().filter(m -> !slicedModules.contains(m)).forEach(m -> items
+                .add(new Item(m, durations.estimateSeconds(m), null, findServices(m, moduleToServices))));
+        items.sort(Comparator.comparingDouble(Item::seconds).reversed().thenComparing(Item::modulePath)
+                .thenComparingInt(i -> i.slice() == null ? 0 : i.slice().number()));
+        double toleranceSeconds = affinityTolerance * items.stream().mapToDouble(Item::seconds).sum() / numberOfShards;
+
+        var bins = new ArrayList<Bin>();
+        for (int i = 1; i <= numberOfShards; i++) {
+            bins.add(new Bin(i, new ArrayList<>(), new ArrayList<>(), new EnumMap<>(Service.class), new double[1]));
+        }
+        for (Item item : items) {
+            // there is always a free bin as we have at least as many shards as slices
+            var freeBins = bins.stream().filter(b -> !b.modulePaths().contains(item.modulePath())).toList();
+            double minSeconds = freeBins.stream().mapToDouble(b -> b.seconds()[0]).min().orElseThrow();
+            var bin = freeBins.stream()
+                    .filter(b -> b.seconds()[0] <= minSeconds + toleranceSeconds)
+                    .min(Comparator.<Bin>comparingLong(b -> -b.sharedServices(item))
+                            .thenComparingDouble(b -> b.seconds()[0])
+                            .thenComparingInt(Bin::number))
+                    .orElseThrow();
+            bin.modulePaths().add(item.modulePath());
+            if (item.slice() != null) {
+                bin.arguments().add(item.slice().activationArgument());
+            }
+            item.services().forEach(service -> bin.services().merge(service, 1, Integer::sum));
+            bin.seconds()[0] += item.seconds();
+        }
+        // modules that need same services run back to back, Maven keeps order of independent modules
+        Comparator<String> byServices = Comparator.comparing(m -> ModuleInfrastructure.toString(
+                findServices(m, moduleToServices)));
+        return bins.stream()
+                .map(b -> new Shard(category + "-" + b.number(),
+                        b.modulePaths().stream().sorted(byServices.thenComparing(Comparator.naturalOrder())).toList(),
+                        b.seconds()[0], List.copyOf(b.arguments())))
+                .toList();
+    }
+
+    /**
+     * @return services needed by the module or its submodules
+     */
+    private static Set<Service> findServices(String modulePath, Map<String, Set<Service>> moduleToServices) {
+        var services = EnumSet.noneOf(Service.class);
+        moduleToServices.forEach((testModulePath, testModuleServices) -> {
+            if (testModulePath.equals(modulePath) || testModulePath.startsWith(modulePath + "/")) {
+                services.addAll(testModuleServices);
+            }
+        });
+        return services;
+    }
+
+    private static Profile createShardProfile(Profile sourceProfile, String shardId, List<String> modules) {
+        String shardNumber = shardId.substring(shardId.lastIndexOf('-') + 1);
+        var profile = new Profile();
+        profile.setId(sourceProfile.getId() + SHARD_PROFILE_INFIX + shardNumber);
+        var activation = new Activation();
+        var activationProperty = new ActivationProperty();
+        activationProperty.setName(SHARD_PROPERTY);
+        activationProperty.setValue(shardId);
+        activation.setProperty(activationProperty);
+        if (sourceProfile.getActivation() != null) {
+            activation.setJdk(sourceProfile.getActivation().getJdk());
+        }
+        profile.setActivation(activation);
+        profile.getProperties().putAll(sourceProfile.getProperties());
+        modules.forEach(profile::addModule);
+        return profile;
+    }
+
+    /**
+     * Writes images that tests in the shard may need, one per line, so that they can be pulled before tests run.
+     */
+    private static void storeContainerImageManifests(List<Shard> shards) {
+        var moduleToImages = ContainerImages.loadModuleImages();
+        try {
+            Files.createDirectories(TARGET_DIR.resolve(CONTAINER_IMAGE_MANIFESTS_DIR));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create directory for container image manifests", e);
+        }
+        for (Shard shard : shards) {
+            var images = new TreeSet<String>();
+            shard.modulePaths().forEach(modulePath -> moduleToImages.forEach((testModulePath, testModuleImages) -> {
+                if (testModulePath.equals(modulePath) || testModulePath.startsWith(modulePath + "/")) {
+                    images.addAll(testModuleImages);
+                }
+            }));
+            FileSystemStorage.writeFileContent(CONTAINER_IMAGE_MANIFESTS_DIR + "/" + shard.id(),
+                    images.stream().map(i -> i + System.lineSeparator()).collect(joining()));
+        }
+    }
+
+    private static String toTestShardsFileContent(List<Shard> shards) {
+        return "# shard;estimated seconds;modules;arguments" + System.lineSeparator() + shards.stream()
+                .map(s -> "%s;%d;%s;%s".formatted(s.id(), Math.round(s.estimatedSeconds()),
+                        String.join(",", s.modulePaths()), String.join(" ", s.arguments())))
+                .collect(joining(System.lineSeparator())) + System.lineSeparator();
+    }
+}
@@ -0,0 +1,142 @@
+package io.quarkus.test.extractor.project.execution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Local append-only history of test class durations and Quarkus boot times (time before the first test) keyed by
+ * the Quarkus revision and the platform version. Lines look like
+ * 'revision;platform version;recorded at;module;class;seconds;boot seconds', boot seconds are empty when
+ * test telemetry was not recorded.
+ */
+public final class TestHistory {
+
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String COMMENT = "#";
+    private static final String HEADER = "# revision;platform version;recorded at;module;class;seconds;boot seconds";
+
+    /**
+     * Durations of one run identified by the Quarkus revision and platform version.
+     */
+    public record Run(String key, Map<String, Map<String, Sample>> moduleToClassSamples) {
+    }
+
+    /**
+     * @param bootSeconds null when unknown
+     */
+    public record Sample(double seconds, Double bootSeconds) {
+    }
+
+    private TestHistory() {
+        // utils
+    }
+
+    public static String toRunKey(String quarkusRevision, String platformVersion) {
+        return quarkusRevision + "/" + platformVersion;
+    }
+
+    /**
+     * Appends durations of test classes found in the test result store and the aggregated test telemetry,
+     * both created in the directory with aggregated results.
+     *
+     * @return number of appended entries
+     */
+    public static int appendRun(Path historyFile, Path aggregatedResultsDir, String quarkusRevision,
+                                String platformVersion) {
+        if (!TestResultStore.exists(aggregatedResultsDir)) {
+            throw new IllegalArgumentException(("Directory '%s' contains no aggregated test results, "
+                    + "please run the 'aggregate-test-reports' goal first").formatted(aggregatedResultsDir));
+        }
+        Map<String, Double> classToBootSeconds = loadBootSeconds(aggregatedResultsDir);
+        String recordedAt = Instant.now().toString();
+        List<String> entries = new ArrayList<>();
+        TestResultStore.forEachSuite(aggregatedResultsDir, suite -> {
+            Double bootSeconds = classToBootSeconds.get(suite.modulePath() + ENTRY_SEPARATOR + suite.className());
+            entries.add(String.join(ENTRY_SEPARATOR, quarkusRevision, platformVersion, recordedAt, suite.modulePath(),
+                    suite.className(), Double.toString(suite.timeInSeconds()),
+                    bootSeconds == null ? "" : bootSeconds.toString()));
+        });
+        try {
+            if (historyFile.getParent() != null) {
+                Files.createDirectories(historyFile.getParent());
+            }
+            if (!Files.exists(historyFile)) {
+                Files.writeString(historyFile, HEADER + System.lineSeparator(), StandardOpenOption.CREATE_NEW);
+            }
+            Files.write(historyFile, entries, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append test history to " + historyFile, e);
+        }
+        return entries.size();
+    }
+
+    /**
+     * @return runs in the order they were first recorded, durations of a class recorded several times for the same
+     *         run are averaged
+     */
+    public static List<Run> loadRuns(Path historyFile) {
+        if (!Files.isRegularFile(historyFile)) {
+            throw new IllegalArgumentException("Test history '%s' does not exist".formatted(historyFile));
+        }
+        Map<String, Map<String, Map<String, List<Sample>>>> runs = new LinkedHashMap<>();
+        try (var lines = Files.lines(historyFile)) {
+            lines.map(String::trim).filter(l -> !l.isEmpty() && !l.startsWith(COMMENT)).forEach(line -> {
+                String[] entry = line.split(ENTRY_SEPARATOR, -1);
+                if (entry.length < 7) {
+                    throw new IllegalArgumentException("Invalid test history entry: " + line);
+                }
+                runs.computeIfAbsent(toRunKey(entry[0], entry[1]), k -> new TreeMap<>())
+                        .computeIfAbsent(entry[3], k -> new TreeMap<>())
+                        .computeIfAbsent(entry[4], k -> new ArrayList<>())
+                        .add(new Sample(Double.parseDouble(entry[5]),
+                                entry[6].isEmpty() ? null : Double.parseDouble(entry[6])));
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load test history " + historyFile, e);
+        }
+        List<Run> result = new ArrayList<>();
+        runs.forEach((key, modules) -> {
+            Map<String, Map<String, Sample>> moduleToClassSamples = new TreeMap<>();
+            modules.forEach((module, classes) -> classes.forEach((className, samples) -> moduleToClassSamples
+                    .computeIfAbsent(module, k -> new TreeMap<>()).put(className, average(samples))));
+            result.add(new Run(key, moduleToClassSamples));
+        });
+        return result;
+    }
+
+    private static Sample average(List<Sample> samples) {
+        double seconds = samples.stream().mapToDouble(Sample::seconds).average().orElse(0);
+        var bootSeconds = samples.stream().filter(s -> s.bootSeconds() != null).mapToDouble(Sample::bootSeconds)
+                .average();
+        return new Sample(seconds, bootSeconds.isPresent() ? bootSeconds.getAsDouble() : null);
+    }
+
+    /**
+     * @return 'module;class' to the time before the first test in seconds
+     */
+    private static Map<String, Double> loadBootSeconds(Path aggregatedResultsDir) {
+        Path telemetryFile = aggregatedResultsDir.resolve(TestTelemetry.TEST_TELEMETRY_FILE_NAME);
+        Map<String, Double> classToBootSeconds = new HashMap<>();
+        if (!Files.isRegularFile(telemetryFile)) {
+            return classToBootSeconds;
+        }
+        try (var lines = Files.lines(telemetryFile)) {
+            lines.filter(l -> !l.isBlank() && !l.startsWith(COMMENT)).forEach(line -> {
+                String[] entry = line.split(ENTRY_SEPARATOR);
+                classToBootSeconds.put(entry[0] + ENTRY_SEPARATOR + entry[1], Long.parseLong(entry[2]) / 1000.0);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load test telemetry " + telemetryFile, e);
+        }
+        return classToBootSeconds;
+    }
+}
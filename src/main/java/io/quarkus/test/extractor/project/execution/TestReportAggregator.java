@@ -0,0 +1,128 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestReports.TestCaseReport;
+import io.quarkus.test.extractor.project.execution.TestReports.TestStatus;
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.EXTENSIONS;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Streams Surefire and Failsafe reports of one or more directories with extracted tests (e.g. one directory per shard)
+ * into the test result store and summarizes them. The 'test-results-module-durations' file has the format expected
+ * by the 'plan-shards' goal durations seed file, the store itself can be used as the 'plan-shards' report directory.
+ */
+public final class TestReportAggregator {
+
+    public static final String SUMMARY_FILE_NAME = "test-results-summary";
+    public static final String MODULE_DURATIONS_FILE_NAME = "test-results-module-durations";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String TEST_SEPARATOR = ",";
+    private static final String DEPLOYMENT_POSTFIX = "-deployment";
+
+    /**
+     * @param failuresByExtension extension (or integration test module) to failed tests, like 'org.acme.FooTest#bar'
+     */
+    public record Summary(int reportFiles, Map<TestStatus, Integer> statusCounts, double seconds,
+                          List<Map.Entry<String, Double>> slowestModules, Map<String, List<String>> failuresByExtension) {
+
+        public int tests() {
+            return statusCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    private TestReportAggregator() {
+        // utils
+    }
+
+    public static Summary aggregateAndStoreReports(List<Path> extractedTestsDirs, int numberOfSlowestModules) {
+        Map<TestStatus, Integer> statusCounts = new EnumMap<>(TestStatus.class);
+        for (TestStatus status : TestStatus.values()) {
+            statusCounts.put(status, 0);
+        }
+        Map<String, Double> moduleSeconds = new TreeMap<>();
+        Map<String, List<String>> failuresByExtension = new TreeMap<>();
+        double[] seconds = { 0 };
+        int reportFiles = 0;
+        try (var writer = TestResultStore.create(TARGET_DIR)) {
+            for (Path extractedTestsDir : extractedTestsDirs) {
+                for (Path reportFile : TestReports.findReportFiles(extractedTestsDir)) {
+                    reportFiles++;
+                    TestReports.readTestCases(extractedTestsDir, reportFile, suite -> {
+                        writer.addSuite(suite);
+                        moduleSeconds.merge(suite.modulePath(), suite.timeInSeconds(), Double::sum);
+                        seconds[0] += suite.timeInSeconds();
+                    }, testCase -> {
+                        writer.addTestCase(testCase);
+                        statusCounts.merge(testCase.status(), 1, Integer::sum);
+                        if (testCase.status() == TestStatus.FAILED || testCase.status() == TestStatus.ERROR) {
+                            failuresByExtension.computeIfAbsent(toExtension(testCase.modulePath()),
+                                    k -> new ArrayList<>()).add(toTestId(testCase));
+                        }
+                    });
+                }
+            }
+        }
+        var slowestModules = moduleSeconds.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(numberOfSlowestModules)
+                .toList();
+        var summary = new Summary(reportFiles, statusCounts, seconds[0], slowestModules, failuresByExtension);
+        FileSystemStorage.writeFileContent(SUMMARY_FILE_NAME, toSummaryContent(summary));
+        var moduleDurations = new StringBuilder();
+        moduleSeconds.forEach((modulePath, moduleTime) -> moduleDurations.append(modulePath).append(ENTRY_SEPARATOR)
+                .append(moduleTime).append(System.lineSeparator()));
+        FileSystemStorage.writeFileContent(MODULE_DURATIONS_FILE_NAME, moduleDurations.toString());
+        return summary;
+    }
+
+    /**
+     * @return 'vertx-http' for 'extensions/vertx-http-deployment' and 'integration-tests/main' for
+     *         'integration-tests/main' or its submodules
+     */
+    static String toExtension(String modulePath) {
+        String[] segments = modulePath.split("/");
+        if (segments.length < 2) {
+            return modulePath;
+        }
+        if (EXTENSIONS.equals(segments[0])) {
+            String moduleName = segments[1];
+            return moduleName.endsWith(DEPLOYMENT_POSTFIX)
+                    ? moduleName.substring(0, moduleName.length() - DEPLOYMENT_POSTFIX.length()) : moduleName;
+        }
+        return segments[0] + "/" + segments[1];
+    }
+
+    private static String toTestId(TestCaseReport testCase) {
+        return testCase.className() + "#" + testCase.testName();
+    }
+
+    private static String toSummaryContent(Summary summary) {
+        var content = new StringBuilder();
+        content.append("# totals").append(System.lineSeparator());
+        content.append("report files").append(ENTRY_SEPARATOR).append(summary.reportFiles()).append(System.lineSeparator());
+        content.append("tests").append(ENTRY_SEPARATOR).append(summary.tests()).append(System.lineSeparator());
+        summary.statusCounts().forEach((status, count) -> content.append(status.name().toLowerCase())
+                .append(ENTRY_SEPARATOR).append(count).append(System.lineSeparator()));
+        content.append("seconds").append(ENTRY_SEPARATOR).append(Math.round(summary.seconds()))
+                .append(System.lineSeparator());
+        content.append("# slowest modules;seconds").append(System.lineSeparator());
+        summary.slowestModules().forEach(e -> content.append(e.getKey()).append(ENTRY_SEPARATOR)
+                .append(Math.round(e.getValue())).append(System.lineSeparator()));
+        content.append("# failures by extension;count;tests").append(System.lineSeparator());
+        summary.failuresByExtension().entrySet().stream()
+                .sorted(Map.Entry.<String, List<String>>comparingByValue((l1, l2) -> Integer.compare(l2.size(), l1.size()))
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> content.append(e.getKey()).append(ENTRY_SEPARATOR).append(e.getValue().size())
+                        .append(ENTRY_SEPARATOR).append(String.join(TEST_SEPARATOR, e.getValue()))
+                        .append(System.lineSeparator()));
+        return content.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package io.quarkus.test.extractor.project.execution;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Finds and reads Surefire and Failsafe XML reports in a directory with extracted tests.
+ */
+public final class TestReports {
+
+    public record TestSuiteReport(String modulePath, String className, double timeInSeconds, int tests,
+                                  int failures, int errors, int skipped) {
+    }
+
+    public record TestCaseReport(String modulePath, String className, String testName, TestStatus status,
+                                 double timeInSeconds) {
+    }
+
+    public enum TestStatus {
+        PASSED,
+        /**
+         * Passed after a rerun.
+         */
+        FLAKY,
+        FAILED,
+        ERROR,
+        SKIPPED
+    }
+
+    private static final Set<String> REPORT_DIR_NAMES = Set.of("surefire-reports", "failsafe-reports");
+    private static final String REPORT_FILE_PREFIX = "TEST-";
+    private static final String REPORT_FILE_SUFFIX = ".xml";
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    private TestReports() {
+        // utils
+    }
+
+    /**
+     * @return report files ordered by their path, so that results are reproducible
+     */
+    public static List<Path> findReportFiles(Path reportsRootDir) {
+        if (!Files.isDirectory(reportsRootDir)) {
+            throw new IllegalArgumentException("Directory with test reports '%s' does not exist"
+                    .formatted(reportsRootDir));
+        }
+        try (var files = Files.walk(reportsRootDir)) {
+            return files.filter(TestReports::isReportFile).sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to find test reports in " + reportsRootDir, e);
+        }
+    }
+
+    public static Stream<TestSuiteReport> readTestSuites(Path reportsRootDir) {
+        return findReportFiles(reportsRootDir).stream().map(p -> readTestSuite(reportsRootDir, p));
+    }
+
+    /**
+     * Reads test suites of the test result store created by the 'aggregate-test-reports' goal when the directory
+     * contains it, because it is much faster than reading thousands of XML reports.
+     */
+    public static void forEachTestSuite(Path reportsRootDir, Consumer<TestSuiteReport> consumer) {
+        if (TestResultStore.exists(reportsRootDir)) {
+            TestResultStore.forEachSuite(reportsRootDir, consumer);
+        } else {
+            readTestSuites(reportsRootDir).forEach(consumer);
+        }
+    }
+
+    /**
+     * Reads only attributes of the root 'testsuite' element, the rest of the report is not parsed at all.
+     */
+    public static TestSuiteReport readTestSuite(Path reportsRootDir, Path reportFile) {
+        try (InputStream is = Files.newInputStream(reportFile)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamReader.START_ELEMENT && "testsuite".equals(reader.getLocalName())) {
+                        String className = reader.getAttributeValue(null, "name");
+                        if (className == null) {
+                            className = toClassName(reportFile);
+                        }
+                        return new TestSuiteReport(toModulePath(reportsRootDir, reportFile), className,
+                                parseTime(reader.getAttributeValue(null, "time")),
+                                parseCount(reader.getAttributeValue(null, "tests")),
+                                parseCount(reader.getAttributeValue(null, "failures")),
+                                parseCount(reader.getAttributeValue(null, "errors")),
+                                parseCount(reader.getAttributeValue(null, "skipped")));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException("Failed to read test report " + reportFile, e);
+        }
+        throw new IllegalStateException("Test report '%s' has no 'testsuite' element".formatted(reportFile));
+    }
+
+    /**
+     * Streams 'testcase' elements of the report, so that memory does not depend on the report size.
+     *
+     * @param suiteConsumer accepts the root 'testsuite' element before test cases
+     */
+    public static void readTestCases(Path reportsRootDir, Path reportFile, Consumer<TestSuiteReport> suiteConsumer,
+                                     Consumer<TestCaseReport> testCaseConsumer) {
+        String modulePath = toModulePath(reportsRootDir, reportFile);
+        try (InputStream is = Files.newInputStream(reportFile)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                String suiteName = null;
+                String className = null;
+                String testName = null;
+                double time = 0;
+                TestStatus status = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamReader.START_ELEMENT) {
+                        switch (reader.getLocalName()) {
+                            case "testsuite" -> {
+                                if (suiteName == null) {
+                                    suiteName = reader.getAttributeValue(null, "name");
+                                    if (suiteName == null) {
+                                        suiteName = toClassName(reportFile);
+                                    }
+                                    suiteConsumer.accept(new TestSuiteReport(modulePath, suiteName,
+                                            parseTime(reader.getAttributeValue(null, "time")),
+                                            parseCount(reader.getAttributeValue(null, "tests")),
+                                            parseCount(reader.getAttributeValue(null, "failures")),
+                                            parseCount(reader.getAttributeValue(null, "errors")),
+                                            parseCount(reader.getAttributeValue(null, "skipped"))));
+                                }
+                            }
+                            case "testcase" -> {
+                                className = reader.getAttributeValue(null, "classname");
+                                if (className == null) {
+                                    className = suiteName;
+                                }
+                                testName = reader.getAttributeValue(null, "name");
+                                time = parseTime(reader.getAttributeValue(null, "time"));
+                                status = TestStatus.PASSED;
+                            }
+                            case "failure" -> status = TestStatus.FAILED;
+                            case "error" -> status = TestStatus.ERROR;
+                            case "skipped" -> status = TestStatus.SKIPPED;
+                            case "flakyFailure", "flakyError" -> {
+                                if (status == TestStatus.PASSED) {
+                                    status = TestStatus.FLAKY;
+                                }
+                            }
+                            default -> {
+                                // stack traces, outputs and properties are not interesting
+                            }
+                        }
+                    } else if (event == XMLStreamReader.END_ELEMENT && "testcase".equals(reader.getLocalName())) {
+                        testCaseConsumer.accept(new TestCaseReport(modulePath, className, testName, status, time));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException("Failed to read test report " + reportFile, e);
+        }
+    }
+
+    public static boolean isReportFile(Path path) {
+        String fileName = path.getFileName().toString();
+        Path parent = path.getParent();
+        return fileName.startsWith(REPORT_FILE_PREFIX) && fileName.endsWith(REPORT_FILE_SUFFIX)
+                && parent != null && REPORT_DIR_NAMES.contains(parent.getFileName().toString())
+                && Files.isRegularFile(path);
+    }
+
+    /**
+     * @return path of the module that produced the report, e.g. 'extensions/vertx-http-deployment'
+     *         for 'extensions/vertx-http-deployment/target/surefire-reports/TEST-x.xml'
+     */
+    public static String toModulePath(Path reportsRootDir, Path reportFile) {
+        Path moduleDir = reportFile.getParent().getParent().getParent();
+        return toUnixPath(reportsRootDir.relativize(moduleDir));
+    }
+
+    public static String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    static double parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return 0;
+        }
+        // older Surefire versions used grouping separator for long-running tests, like '1,234.5'
+        return Double.parseDouble(time.replace(",", ""));
+    }
+
+    private static int parseCount(String count) {
+        return count == null || count.isBlank() ? 0 : Integer.parseInt(count);
+    }
+
+    private static String toClassName(Path reportFile) {
+        String fileName = reportFile.getFileName().toString();
+        return fileName.substring(REPORT_FILE_PREFIX.length(), fileName.length() - REPORT_FILE_SUFFIX.length());
+    }
+}
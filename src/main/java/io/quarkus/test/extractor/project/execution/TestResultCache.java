@@ -0,0 +1,160 @@
+package io.quarkus.test.extractor.project.execution;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Local content-addressed cache of passed test runs. The key is made of the extracted module inputs fingerprint
+ * and whatever else changes test results, like the Quarkus platform version. Cache entry contains test reports.
+ * Must not depend on the extraction as it is used when the extracted tests are run.
+ */
+public final class TestResultCache {
+
+    private static final String TEST_INPUT_FINGERPRINTS_FILE_NAME = "test-input-fingerprints";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final List<String> REPORT_DIR_NAMES = List.of("surefire-reports", "failsafe-reports");
+
+    private TestResultCache() {
+        // utils
+    }
+
+    /**
+     * @param moduleDir directory of the extracted test module
+     * @param inputs Maven properties and other inputs that change test results, must be ordered
+     * @return empty when the module was not extracted or its fingerprint is not known
+     */
+    public static Optional<String> computeKey(Path moduleDir, SortedMap<String, String> inputs) {
+        Path rootDir = moduleDir.toAbsolutePath().normalize();
+        while (rootDir != null && !Files.exists(rootDir.resolve(TEST_INPUT_FINGERPRINTS_FILE_NAME))) {
+            rootDir = rootDir.getParent();
+        }
+        if (rootDir == null) {
+            return Optional.empty();
+        }
+        String modulePath = TestReports.toUnixPath(rootDir.relativize(moduleDir.toAbsolutePath().normalize()));
+        return findFingerprint(rootDir.resolve(TEST_INPUT_FINGERPRINTS_FILE_NAME), modulePath).map(fingerprint -> {
+            MessageDigest digest = createDigest();
+            digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, String> input : inputs.entrySet()) {
+                digest.update((input.getKey() + "=" + input.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        });
+    }
+
+    /**
+     * Copies cached reports into the build directory, so that they look like tests were run.
+     *
+     * @return true if tests passed previously with the same key
+     */
+    public static boolean restore(Path cacheDir, String key, Path buildDir) {
+        Path entryDir = cacheDir.resolve(key);
+        if (!Files.isDirectory(entryDir)) {
+            return false;
+        }
+        for (String reportDirName : REPORT_DIR_NAMES) {
+            copyDirectory(entryDir.resolve(reportDirName), buildDir.resolve(reportDirName));
+        }
+        return true;
+    }
+
+    /**
+     * Stores test reports when there are some and all the tests passed.
+     *
+     * @return true if the reports were stored
+     */
+    public static boolean store(Path cacheDir, String key, Path buildDir) {
+        Path entryDir = cacheDir.resolve(key);
+        if (Files.exists(entryDir)) {
+            return false;
+        }
+        var reports = Files.isDirectory(buildDir) ? TestReports.readTestSuites(buildDir).toList()
+                : List.<TestReports.TestSuiteReport>of();
+        if (reports.isEmpty() || reports.stream().anyMatch(r -> r.failures() > 0 || r.errors() > 0)) {
+            return false;
+        }
+        // other modules or builds can use same cache, therefore entry is created by an atomic move
+        Path tempDir = cacheDir.resolve(key + "-" + UUID.randomUUID() + ".tmp");
+        for (String reportDirName : REPORT_DIR_NAMES) {
+            copyDirectory(buildDir.resolve(reportDirName), tempDir.resolve(reportDirName));
+        }
+        try {
+            Files.createDirectories(tempDir);
+            Files.move(tempDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException | AtomicMoveNotSupportedException e) {
+            deleteDirectory(tempDir);
+            return false;
+        } catch (IOException e) {
+            deleteDirectory(tempDir);
+            if (Files.exists(entryDir)) {
+                // someone else was faster
+                return false;
+            }
+            throw new RuntimeException("Failed to store test results in " + entryDir, e);
+        }
+    }
+
+    private static Optional<String> findFingerprint(Path fingerprintsFile, String modulePath) {
+        try (var lines = Files.lines(fingerprintsFile)) {
+            return lines.filter(l -> l.startsWith(modulePath + ENTRY_SEPARATOR))
+                    .map(l -> l.substring(modulePath.length() + ENTRY_SEPARATOR.length()))
+                    .findFirst();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test input fingerprints " + fingerprintsFile, e);
+        }
+    }
+
+    private static void copyDirectory(Path sourceDir, Path targetDir) {
+        if (!Files.isDirectory(sourceDir)) {
+            return;
+        }
+        try (var files = Files.walk(sourceDir)) {
+            for (Path source : files.toList()) {
+                Path target = targetDir.resolve(sourceDir.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to copy %s to %s".formatted(sourceDir, targetDir), e);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete " + dir, e);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to create SHA-256 digest", e);
+        }
+    }
+}
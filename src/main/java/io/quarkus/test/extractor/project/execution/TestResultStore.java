@@ -0,0 +1,189 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestReports.TestCaseReport;
+import io.quarkus.test.extractor.project.execution.TestReports.TestSuiteReport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact columnar store of test results. Module and class names are kept in a dictionary and every column is
+ * a separate file, so that results are written and read as a stream and memory only depends on the number
+ * of distinct modules and classes.
+ * File layout: 'dictionary' (one string per line), 'metadata' (format and row counts) and one file per column.
+ * Test suites are read back by the goals that accept aggregated reports, test case columns are only kept
+ * as a compact record of individual test results.
+ */
+public final class TestResultStore {
+
+    public static final String TEST_RESULT_STORE_DIR_NAME = "test-results";
+    private static final String DICTIONARY = "dictionary";
+    private static final String METADATA = "metadata";
+    private static final String FORMAT = "format=1";
+    private static final String SUITE_COLUMNS = "suite-columns";
+    private static final String TEST_CASE_MODULES = "test-case-modules";
+    private static final String TEST_CASE_CLASSES = "test-case-classes";
+    private static final String TEST_CASE_NAMES = "test-case-names";
+    private static final String TEST_CASE_STATUSES = "test-case-statuses";
+    private static final String TEST_CASE_DURATIONS = "test-case-durations";
+
+    private TestResultStore() {
+        // utils
+    }
+
+    public static boolean exists(Path dir) {
+        return Files.exists(dir.resolve(TEST_RESULT_STORE_DIR_NAME).resolve(METADATA));
+    }
+
+    public static Writer create(Path dir) {
+        return new Writer(dir.resolve(TEST_RESULT_STORE_DIR_NAME));
+    }
+
+    public static void forEachSuite(Path dir, Consumer<TestSuiteReport> consumer) {
+        Path storeDir = dir.resolve(TEST_RESULT_STORE_DIR_NAME);
+        List<String> dictionary = loadDictionary(storeDir);
+        try (var suites = openColumn(storeDir, SUITE_COLUMNS)) {
+            while (true) {
+                int module;
+                try {
+                    module = suites.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                consumer.accept(new TestSuiteReport(dictionary.get(module), dictionary.get(suites.readInt()),
+                        suites.readInt() / 1000.0, suites.readInt(), suites.readInt(), suites.readInt(),
+                        suites.readInt()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test suites from " + storeDir, e);
+        }
+    }
+
+    public static final class Writer implements AutoCloseable {
+
+        private final Path storeDir;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final DataOutputStream suites;
+        private final DataOutputStream modules;
+        private final DataOutputStream classes;
+        private final DataOutputStream names;
+        private final DataOutputStream statuses;
+        private final DataOutputStream durations;
+        private long suiteCount = 0;
+        private long testCaseCount = 0;
+
+        private Writer(Path storeDir) {
+            this.storeDir = storeDir;
+            try {
+                Files.createDirectories(storeDir);
+                // metadata is written last, so that incomplete store is not used
+                Files.deleteIfExists(storeDir.resolve(METADATA));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create test result store " + storeDir, e);
+            }
+            this.suites = createColumn(SUITE_COLUMNS);
+            this.modules = createColumn(TEST_CASE_MODULES);
+            this.classes = createColumn(TEST_CASE_CLASSES);
+            this.names = createColumn(TEST_CASE_NAMES);
+            this.statuses = createColumn(TEST_CASE_STATUSES);
+            this.durations = createColumn(TEST_CASE_DURATIONS);
+        }
+
+        public void addSuite(TestSuiteReport suite) {
+            try {
+                suites.writeInt(indexOf(suite.modulePath()));
+                suites.writeInt(indexOf(suite.className()));
+                suites.writeInt(toMillis(suite.timeInSeconds()));
+                suites.writeInt(suite.tests());
+                suites.writeInt(suite.failures());
+                suites.writeInt(suite.errors());
+                suites.writeInt(suite.skipped());
+                suiteCount++;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to store test suite " + suite.className(), e);
+            }
+        }
+
+        public void addTestCase(TestCaseReport testCase) {
+            try {
+                modules.writeInt(indexOf(testCase.modulePath()));
+                classes.writeInt(indexOf(testCase.className()));
+                writeString(names, testCase.testName());
+                statuses.writeByte(testCase.status().ordinal());
+                durations.writeInt(toMillis(testCase.timeInSeconds()));
+                testCaseCount++;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to store test case " + testCase.testName(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                for (var column : List.of(suites, modules, classes, names, statuses, durations)) {
+                    column.close();
+                }
+                Files.write(storeDir.resolve(DICTIONARY), strings, StandardCharsets.UTF_8);
+                Files.writeString(storeDir.resolve(METADATA), String.join(System.lineSeparator(), FORMAT,
+                        "suites=" + suiteCount, "test-cases=" + testCaseCount));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close test result store " + storeDir, e);
+            }
+        }
+
+        private int indexOf(String string) {
+            String value = string == null ? "" : string;
+            return dictionary.computeIfAbsent(value, k -> {
+                strings.add(k);
+                return strings.size() - 1;
+            });
+        }
+
+        private DataOutputStream createColumn(String columnName) {
+            try {
+                return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storeDir.resolve(columnName))));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create column " + columnName, e);
+            }
+        }
+
+        private static int toMillis(double seconds) {
+            return (int) Math.min(Integer.MAX_VALUE, Math.round(seconds * 1000));
+        }
+    }
+
+    private static List<String> loadDictionary(Path storeDir) {
+        try {
+            List<String> metadata = Files.readAllLines(storeDir.resolve(METADATA));
+            if (metadata.isEmpty() || !FORMAT.equals(metadata.get(0))) {
+                throw new IllegalStateException("Unsupported test result store format in " + storeDir);
+            }
+            return Files.readAllLines(storeDir.resolve(DICTIONARY), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load test result store " + storeDir, e);
+        }
+    }
+
+    private static DataInputStream openColumn(Path storeDir, String columnName) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(storeDir.resolve(columnName))));
+    }
+
+    private static void writeString(DataOutputStream column, String string) throws IOException {
+        byte[] bytes = (string == null ? "" : string).getBytes(StandardCharsets.UTF_8);
+        column.writeInt(bytes.length);
+        column.write(bytes);
+    }
+}
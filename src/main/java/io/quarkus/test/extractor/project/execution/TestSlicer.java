@@ -0,0 +1,266 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+import io.quarkus.test.extractor.project.helper.TestInventory;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestClass;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestTrait;
+import io.quarkus.test.extractor.project.utils.MavenUtils;
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM_XML;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Splits test execution of a single extracted module into class-level slices with similar expected execution time.
+ * Every slice is written to the module POM as a profile with Surefire and Failsafe includes,
+ * the last slice excludes classes of all the other slices, so that test classes we don't know about are still run.
+ * Slice is activated with '-Dtest-slice.[module artifact id]=[slice number]', modules run whole without it.
+ */
+public final class TestSlicer {
+
+    /**
+     * @param modulePath target relative path of the sliced module
+     * @param number slice number starting with 1
+     */
+    public record Slice(String modulePath, String artifactId, int number, double estimatedSeconds) {
+
+        public String activationArgument() {
+            return "-D" + SLICE_PROPERTY_PREFIX + artifactId + "=" + number;
+        }
+    }
+
+    /**
+     * Test classes planned into one slice.
+     */
+    record SliceClasses(int number, List<TestClass> testClasses, double[] seconds) {
+
+        double estimatedSeconds() {
+            return seconds[0];
+        }
+    }
+
+    private static final String SLICE_PROPERTY_PREFIX = "test-slice.";
+    private static final String SLICE_PROFILE_PREFIX = "test-slice-";
+    private static final Pattern SLICE_PROFILE_ID = Pattern.compile(SLICE_PROFILE_PREFIX + "\\d+");
+    private static final String TEST_SLICES_FILE = "test-slices";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String COMMENT = "#";
+    private static final String SUREFIRE_PLUGIN = "maven-surefire-plugin";
+    private static final String FAILSAFE_PLUGIN = "maven-failsafe-plugin";
+    private static final String MAVEN_PLUGINS_GROUP_ID = "org.apache.maven.plugins";
+    /**
+     * Surefire default excludes, we need to keep them when we specify our own.
+     */
+    private static final String INNER_CLASSES = "**/*$*";
+    /**
+     * Used for test classes without reported duration when we know nothing about the module.
+     */
+    private static final double DEFAULT_CLASS_DURATION_IN_SECONDS = 10;
+
+    private TestSlicer() {
+        // utils
+    }
+
+    /**
+     * Slices modules, adds slice profiles to their POM files and stores all slices in the 'test-slices' file,
+     * so that the {@link ShardPlanner} can place them into different shards.
+     */
+    public static List<Slice> sliceAndStoreModules(Collection<String> modulePaths, int numberOfSlices,
+                                                   List<Path> reportDirs) {
+        if (numberOfSlices < 2) {
+            throw new IllegalArgumentException("Number of slices must be at least 2, got " + numberOfSlices);
+        }
+        var inventory = TestInventory.load();
+        var classDurations = loadClassDurations(modulePaths, reportDirs);
+        var slices = new ArrayList<Slice>();
+        for (String modulePath : modulePaths) {
+            var testClasses = inventory.testClasses()
+                    .filter(c -> modulePath.equals(c.modulePath()) && !c.has(TestTrait.DISABLED))
+                    .toList();
+            if (testClasses.size() < numberOfSlices) {
+                throw new IllegalArgumentException("Module '%s' has %d test classes, cannot split them into %d slices"
+                        .formatted(modulePath, testClasses.size(), numberOfSlices));
+            }
+            slices.addAll(sliceModule(modulePath, testClasses, numberOfSlices,
+                    classDurations.getOrDefault(modulePath, Map.of())));
+        }
+        var previousSlices = loadSlices().stream().filter(s -> !modulePaths.contains(s.modulePath())).toList();
+        var allSlices = new ArrayList<>(previousSlices);
+        allSlices.addAll(slices);
+        FileSystemStorage.writeFileContent(TEST_SLICES_FILE, toTestSlicesFileContent(allSlices));
+        return slices;
+    }
+
+    /**
+     * @return slices created by previous 'slice-modules' goal executions
+     */
+    public static List<Slice> loadSlices() {
+        Path testSlicesPath = TARGET_DIR.resolve(TEST_SLICES_FILE);
+        if (!Files.exists(testSlicesPath)) {
+            return List.of();
+        }
+        try (var lines = Files.lines(testSlicesPath)) {
+            return lines
+                    .filter(l -> !l.isBlank() && !l.startsWith(COMMENT))
+                    .map(l -> l.split(ENTRY_SEPARATOR))
+                    .map(e -> new Slice(e[0], e[1], Integer.parseInt(e[2]), Double.parseDouble(e[3])))
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load test slices from " + testSlicesPath, e);
+        }
+    }
+
+    private static List<Slice> sliceModule(String modulePath, List<TestClass> testClasses, int numberOfSlices,
+                                           Map<String, Double> classToSeconds) {
+        var sortedBins = planSlices(testClasses, numberOfSlices, classToSeconds);
+
+        Path moduleDir = TARGET_DIR.resolve(modulePath);
+        Model model = MavenUtils.getMavenModel(moduleDir.resolve(POM_XML));
+        model.getProfiles().removeIf(p -> SLICE_PROFILE_ID.matcher(p.getId()).matches());
+        var slices = new ArrayList<Slice>();
+        for (SliceClasses bin : sortedBins) {
+            boolean lastSlice = bin.number() == numberOfSlices;
+            // last slice runs everything except for other slices, that way new tests are not forgotten
+            var sliceClasses = lastSlice
+                    ? sortedBins.stream().filter(b -> b != bin).flatMap(b -> b.testClasses().stream()).toList()
+                    : bin.testClasses();
+            model.addProfile(createSliceProfile(model.getArtifactId(), bin.number(), sliceClasses, lastSlice));
+            slices.add(new Slice(modulePath, model.getArtifactId(), bin.number(), bin.estimatedSeconds()));
+        }
+        MavenUtils.writeMavenModel(model, moduleDir);
+        return slices;
+    }
+
+    /**
+     * Greedy longest-processing-time first, the longest class always goes to the slice that finishes first.
+     *
+     * @return slices ordered by their number
+     */
+    static List<SliceClasses> planSlices(List<TestClass> testClasses, int numberOfSlices,
+                                         Map<String, Double> classToSeconds) {
+        double unknownClassSeconds = classToSeconds.values().stream().mapToDouble(Double::doubleValue).average()
+                .orElse(DEFAULT_CLASS_DURATION_IN_SECONDS);
+        var sortedClasses = new ArrayList<>(testClasses);
+        sortedClasses.sort(Comparator.<TestClass>comparingDouble(c -> classToSeconds
+                .getOrDefault(c.className(), unknownClassSeconds)).reversed().thenComparing(TestClass::className));
+        var bins = new PriorityQueue<SliceClasses>(Comparator.comparingDouble(SliceClasses::estimatedSeconds)
+                .thenComparingInt(SliceClasses::number));
+        for (int i = 1; i <= numberOfSlices; i++) {
+            bins.add(new SliceClasses(i, new ArrayList<>(), new double[1]));
+        }
+        for (TestClass testClass : sortedClasses) {
+            var bin = bins.poll();
+            bin.testClasses().add(testClass);
+            bin.seconds()[0] += classToSeconds.getOrDefault(testClass.className(), unknownClassSeconds);
+            bins.add(bin);
+        }
+        return bins.stream().sorted(Comparator.comparingInt(SliceClasses::number)).toList();
+    }
+
+    static Profile createSliceProfile(String artifactId, int sliceNumber, List<TestClass> testClasses,
+                                              boolean exclude) {
+        var profile = new Profile();
+        profile.setId(SLICE_PROFILE_PREFIX + sliceNumber);
+        var activation = new Activation();
+        var activationProperty = new ActivationProperty();
+        activationProperty.setName(SLICE_PROPERTY_PREFIX + artifactId);
+        activationProperty.setValue(Integer.toString(sliceNumber));
+        activation.setProperty(activationProperty);
+        profile.setActivation(activation);
+        profile.setBuild(new BuildBase());
+        var surefireClasses = testClasses.stream().filter(c -> !c.has(TestTrait.FAILSAFE)).toList();
+        var failsafeClasses = testClasses.stream().filter(c -> c.has(TestTrait.FAILSAFE)).toList();
+        profile.getBuild().addPlugin(createTestPlugin(SUREFIRE_PLUGIN, "skipTests", surefireClasses, exclude));
+        profile.getBuild().addPlugin(createTestPlugin(FAILSAFE_PLUGIN, "skipITs", failsafeClasses, exclude));
+        return profile;
+    }
+
+    private static Plugin createTestPlugin(String artifactId, String skipParameter, List<TestClass> testClasses,
+                                           boolean exclude) {
+        var plugin = new Plugin();
+        plugin.setGroupId(MAVEN_PLUGINS_GROUP_ID);
+        plugin.setArtifactId(artifactId);
+        var configuration = new Xpp3Dom("configuration");
+        if (exclude) {
+            var excludes = new Xpp3Dom("excludes");
+            // keep excludes that the module already has
+            excludes.setAttribute("combine.children", "append");
+            addPatterns(excludes, "exclude", testClasses);
+            addPattern(excludes, "exclude", INNER_CLASSES);
+            configuration.addChild(excludes);
+        } else if (testClasses.isEmpty()) {
+            // no includes would mean default includes
+            var skip = new Xpp3Dom(skipParameter);
+            skip.setValue(Boolean.TRUE.toString());
+            configuration.addChild(skip);
+        } else {
+            var includes = new Xpp3Dom("includes");
+            addPatterns(includes, "include", testClasses);
+            configuration.addChild(includes);
+        }
+        plugin.setConfiguration(configuration);
+        return plugin;
+    }
+
+    private static void addPatterns(Xpp3Dom parent, String elementName, List<TestClass> testClasses) {
+        testClasses.stream().map(TestClass::className).sorted()
+                .forEach(className -> addPattern(parent, elementName, className.replace('.', '/') + ".java"));
+    }
+
+    private static void addPattern(Xpp3Dom parent, String elementName, String pattern) {
+        var element = new Xpp3Dom(elementName);
+        element.setValue(pattern);
+        parent.addChild(element);
+    }
+
+    /**
+     * @return module path -> test class name -> average duration in seconds over all the runs
+     */
+    private static Map<String, Map<String, Double>> loadClassDurations(Collection<String> modulePaths,
+                                                                       List<Path> reportDirs) {
+        Map<String, Map<String, Double>> totalSeconds = new HashMap<>();
+        Map<String, Map<String, Integer>> numberOfRuns = new HashMap<>();
+        if (reportDirs != null) {
+            for (Path reportDir : reportDirs) {
+                TestReports.forEachTestSuite(reportDir, testSuite -> ModuleDurations
+                        .findModule(testSuite.modulePath(), modulePaths).ifPresent(m -> {
+                            totalSeconds.computeIfAbsent(m, k -> new HashMap<>())
+                                    .merge(testSuite.className(), testSuite.timeInSeconds(), Double::sum);
+                            numberOfRuns.computeIfAbsent(m, k -> new HashMap<>())
+                                    .merge(testSuite.className(), 1, Integer::sum);
+                        }));
+            }
+        }
+        Map<String, Map<String, Double>> result = new HashMap<>();
+        totalSeconds.forEach((module, classToSeconds) -> classToSeconds.forEach((className, seconds) -> result
+                .computeIfAbsent(module, k -> new HashMap<>())
+                .put(className, seconds / numberOfRuns.get(module).get(className))));
+        return result;
+    }
+
+    private static String toTestSlicesFileContent(List<Slice> slices) {
+        return "# module;artifact id;slice;estimated seconds" + System.lineSeparator() + slices.stream()
+                .map(s -> String.join(ENTRY_SEPARATOR, s.modulePath(), s.artifactId(), Integer.toString(s.number()),
+                        Long.toString(Math.round(s.estimatedSeconds()))))
+                .collect(joining(System.lineSeparator())) + System.lineSeparator();
+    }
+}
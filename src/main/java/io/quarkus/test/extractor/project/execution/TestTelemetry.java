@@ -0,0 +1,129 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.helper.FileSystemStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Combines test telemetry recorded by the test telemetry listener in modules of one or more directories with extracted
+ * tests (e.g. one directory per shard). The 'test-telemetry' file contains one line per test class, the
+ * 'test-telemetry-module-durations' file has the format expected by the 'plan-shards' goal durations seed file.
+ */
+public final class TestTelemetry {
+
+    public static final String TEST_TELEMETRY_FILE_NAME = "test-telemetry";
+    public static final String MODULE_DURATIONS_FILE_NAME = "test-telemetry-module-durations";
+    private static final String TELEMETRY_DIR_NAME = "test-telemetry";
+    // format of files written by the listener from the 'test-telemetry-listener' module
+    private static final String TELEMETRY_FILE_EXTENSION = ".tsv";
+    private static final String CLASS_RECORD = "C";
+    private static final String TEST_RECORD = "T";
+    private static final String BUILD_DIR_NAME = "target";
+    private static final String RECORD_SEPARATOR = "\t";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String HEADER = "# module;class;time to first test ms;time after last test ms;class ms;tests;"
+            + "tests ms;failed tests";
+
+    /**
+     * @param timeToFirstTestMillis time between the class start and the first test start, e.g. the Quarkus app start
+     * @param timeAfterLastTestMillis time between the last test end and the class end, e.g. the Quarkus app stop
+     */
+    public record ClassTelemetry(String modulePath, String className, long timeToFirstTestMillis,
+                                 long timeAfterLastTestMillis, long classMillis, int tests, long testsMillis,
+                                 int failedTests) {
+
+        private ClassTelemetry merge(ClassTelemetry other) {
+            return new ClassTelemetry(modulePath, className, timeToFirstTestMillis + other.timeToFirstTestMillis,
+                    timeAfterLastTestMillis + other.timeAfterLastTestMillis, classMillis + other.classMillis,
+                    tests + other.tests, testsMillis + other.testsMillis, failedTests + other.failedTests);
+        }
+
+        private String toEntry() {
+            return String.join(ENTRY_SEPARATOR, modulePath, className, Long.toString(timeToFirstTestMillis),
+                    Long.toString(timeAfterLastTestMillis), Long.toString(classMillis), Integer.toString(tests),
+                    Long.toString(testsMillis), Integer.toString(failedTests));
+        }
+    }
+
+    private TestTelemetry() {
+        // utils
+    }
+
+    public static List<ClassTelemetry> aggregateAndStoreTelemetry(List<Path> extractedTestsDirs) {
+        Map<String, ClassTelemetry> classes = new TreeMap<>();
+        for (Path extractedTestsDir : extractedTestsDirs) {
+            for (Path telemetryFile : findTelemetryFiles(extractedTestsDir)) {
+                String modulePath = toModulePath(extractedTestsDir, telemetryFile);
+                readTelemetryFile(modulePath, telemetryFile).forEach(classTelemetry -> classes.merge(
+                        modulePath + ENTRY_SEPARATOR + classTelemetry.className(), classTelemetry,
+                        ClassTelemetry::merge));
+            }
+        }
+        var result = List.copyOf(classes.values());
+        var telemetry = new StringBuilder(HEADER).append(System.lineSeparator());
+        Map<String, Long> moduleMillis = new TreeMap<>();
+        result.forEach(classTelemetry -> {
+            telemetry.append(classTelemetry.toEntry()).append(System.lineSeparator());
+            moduleMillis.merge(classTelemetry.modulePath(), classTelemetry.classMillis(), Long::sum);
+        });
+        var moduleDurations = new StringBuilder();
+        moduleMillis.forEach((modulePath, millis) -> moduleDurations.append(modulePath).append(ENTRY_SEPARATOR)
+                .append(millis / 1000.0).append(System.lineSeparator()));
+        FileSystemStorage.writeFileContent(TEST_TELEMETRY_FILE_NAME, telemetry.toString());
+        FileSystemStorage.writeFileContent(MODULE_DURATIONS_FILE_NAME, moduleDurations.toString());
+        return result;
+    }
+
+    /**
+     * One file has test classes executed in one JVM, test records precede the class record.
+     */
+    private static List<ClassTelemetry> readTelemetryFile(String modulePath, Path telemetryFile) {
+        Map<String, ClassTelemetry> classes = new TreeMap<>();
+        try (var lines = Files.lines(telemetryFile)) {
+            lines.filter(line -> !line.isBlank()).map(line -> line.split(RECORD_SEPARATOR)).forEach(record -> {
+                String className = record[1];
+                var classTelemetry = classes.computeIfAbsent(className,
+                        k -> new ClassTelemetry(modulePath, className, 0, 0, 0, 0, 0, 0));
+                if (CLASS_RECORD.equals(record[0])) {
+                    classes.put(className, classTelemetry.merge(new ClassTelemetry(modulePath, className,
+                            Long.parseLong(record[2]), Long.parseLong(record[3]), Long.parseLong(record[4]), 0, 0, 0)));
+                } else if (TEST_RECORD.equals(record[0])) {
+                    boolean failed = !"SUCCESSFUL".equals(record[4]);
+                    classes.put(className, classTelemetry.merge(new ClassTelemetry(modulePath, className, 0, 0, 0, 1,
+                            Long.parseLong(record[3]), failed ? 1 : 0)));
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to read test telemetry " + telemetryFile, e);
+        }
+        return List.copyOf(classes.values());
+    }
+
+    private static List<Path> findTelemetryFiles(Path extractedTestsDir) {
+        if (!Files.isDirectory(extractedTestsDir)) {
+            throw new IllegalArgumentException("Directory with extracted tests '%s' does not exist"
+                    .formatted(extractedTestsDir));
+        }
+        try (var files = Files.walk(extractedTestsDir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().endsWith(TELEMETRY_FILE_EXTENSION))
+                    .filter(p -> p.getParent() != null && TELEMETRY_DIR_NAME.equals(p.getParent().getFileName().toString()))
+                    .filter(p -> p.getParent().getParent() != null
+                            && BUILD_DIR_NAME.equals(p.getParent().getParent().getFileName().toString()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to find test telemetry in " + extractedTestsDir, e);
+        }
+    }
+
+    private static String toModulePath(Path extractedTestsDir, Path telemetryFile) {
+        // module/target/test-telemetry/file.tsv
+        return TestReports.toUnixPath(extractedTestsDir.relativize(telemetryFile.getParent().getParent().getParent()));
+    }
+}
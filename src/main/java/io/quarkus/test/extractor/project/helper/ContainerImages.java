@@ -0,0 +1,140 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.result.ParentProject;
+import org.apache.maven.model.Model;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Finds container images referenced by test modules: images started by the Docker Maven plugin,
+ * Dev Services images configured in 'application.properties' and image names in test sources.
+ * Images are written into the 'container-images' file with lines like
+ * 'integration-tests/jpa-postgresql;docker.io/postgres:17', so that runners can pull them before tests are run.
+ * Default Dev Services images are not known during the extraction.
+ */
+public final class ContainerImages {
+
+    private static final String CONTAINER_IMAGES_FILE_NAME = "container-images";
+    private static final String PARTIAL_CONTAINER_IMAGES_DIR_NAME = "partial-container-images";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String IMAGE_SEPARATOR = ",";
+    private static final Pattern DEV_SERVICES_IMAGE = Pattern.compile(
+            "^\\s*(?:%[\\w-]+\\.)?[\\w.\"-]*devservices[\\w.\"-]*\\.image-name\\s*=\\s*(\\S+)\\s*$", Pattern.MULTILINE);
+    private static final Pattern IMAGE_IN_SOURCE = Pattern.compile("(?:DockerImageName\\.parse|Container(?:<[^>]*>)?)"
+            + "\\(\\s*\"((?:[\\w.-]+(?::\\d+)?/)?[\\w.-]+(?:/[\\w.-]+)*:[\\w.-]+)\"");
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?}");
+
+    private ContainerImages() {
+        // utils
+    }
+
+    public static void recordTestModule(Project project, Model model, ModuleSources sources) {
+        var images = findImages(model, sources);
+        if (!images.isEmpty()) {
+            FileSystemStorage.savePartialFileContent(PARTIAL_CONTAINER_IMAGES_DIR_NAME, project.artifactId(),
+                    project.targetRelativePath() + ENTRY_SEPARATOR + String.join(IMAGE_SEPARATOR, images)
+                            + System.lineSeparator());
+        }
+    }
+
+    public static void createAndStoreContainerImages() {
+        String containerImages = FileSystemStorage.loadPartialFileContents(PARTIAL_CONTAINER_IMAGES_DIR_NAME).stream()
+                .flatMap(String::lines)
+                .filter(l -> !l.isBlank())
+                .sorted()
+                .map(l -> l + System.lineSeparator())
+                .collect(Collectors.joining());
+        FileSystemStorage.saveFileContent(CONTAINER_IMAGES_FILE_NAME, containerImages);
+    }
+
+    /**
+     * @return test module path -> referenced images; empty if the extracted tests don't contain the images file
+     */
+    public static Map<String, Set<String>> loadModuleImages() {
+        Path containerImagesPath = TARGET_DIR.resolve(CONTAINER_IMAGES_FILE_NAME);
+        if (!Files.exists(containerImagesPath)) {
+            return Map.of();
+        }
+        Map<String, Set<String>> moduleToImages = new HashMap<>();
+        try (var lines = Files.lines(containerImagesPath)) {
+            lines.filter(l -> !l.isBlank()).map(l -> l.split(ENTRY_SEPARATOR)).forEach(entry -> moduleToImages
+                    .put(entry[0], Set.of(entry[1].split(IMAGE_SEPARATOR))));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load container images from " + containerImagesPath, e);
+        }
+        return moduleToImages;
+    }
+
+    /**
+     * @return sorted images referenced by the module, with properties resolved
+     */
+    static Set<String> findImages(Model model, ModuleSources sources) {
+        var images = new TreeSet<String>();
+        findDockerMavenPluginImages(sources).map(i -> resolveProperties(i, model)).forEach(images::add);
+        findDevServicesImages(sources).map(i -> resolveProperties(i, model)).forEach(images::add);
+        findImagesInTestSources(sources).forEach(images::add);
+        images.removeIf(image -> image.contains("${") || image.isBlank());
+        return images;
+    }
+
+    private static Stream<String> findDockerMavenPluginImages(ModuleSources sources) {
+        return sources.dockerMavenPlugins().stream()
+                .flatMap(p -> Stream.concat(Stream.of(p.getConfiguration()),
+                        p.getExecutions().stream().map(e -> e.getConfiguration())))
+                .filter(c -> c instanceof Xpp3Dom)
+                .flatMap(c -> findImageNames((Xpp3Dom) c));
+    }
+
+    private static Stream<String> findImageNames(Xpp3Dom element) {
+        Stream<String> imageName = Stream.empty();
+        if ("image".equals(element.getName()) && element.getChild("name") != null) {
+            imageName = Stream.ofNullable(element.getChild("name").getValue()).map(String::trim);
+        }
+        return Stream.concat(imageName, Stream.of(element.getChildren()).flatMap(ContainerImages::findImageNames));
+    }
+
+    private static Stream<String> findDevServicesImages(ModuleSources sources) {
+        return sources.applicationProperties().stream()
+                .flatMap(properties -> DEV_SERVICES_IMAGE.matcher(properties).results())
+                .map(r -> r.group(1));
+    }
+
+    private static Stream<String> findImagesInTestSources(ModuleSources sources) {
+        return sources.testSources().values().stream()
+                .filter(content -> content.contains("Container") || content.contains("DockerImageName"))
+                .flatMap(content -> IMAGE_IN_SOURCE.matcher(content).results())
+                .map(r -> r.group(1));
+    }
+
+    private static String resolveProperties(String value, Model model) {
+        String resolved = value;
+        // properties can reference other properties
+        for (int i = 0; i < 5 && resolved.contains("${"); i++) {
+            resolved = PROPERTY_REFERENCE.matcher(resolved).replaceAll(r -> {
+                String propertyValue = model.getProperties().getProperty(r.group(1));
+                if (propertyValue == null) {
+                    propertyValue = ParentProject.getProperty(r.group(1));
+                }
+                if (propertyValue == null) {
+                    // default value in Quarkus config expressions like '${postgres.image:postgres:17}'
+                    propertyValue = r.group(2) == null ? r.group() : r.group(2);
+                }
+                return propertyValue.replace("$", "\\$");
+            });
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,219 @@
+package io.quarkus.test.extractor.project.helper;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apache.maven.model.Dependency;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.getManagementKey;
+
+/**
+ * Java Flight Recorder events emitted during extraction, so that a single extraction run can be inspected
+ * in the JDK Mission Control when Maven runs with '-XX:StartFlightRecording'. Events are only created
+ * when they are enabled in the recording, every event carries artifact ID and relative path of extracted module.
+ */
+public final class ExtractionEvents {
+
+    private static final String CATEGORY = "Quarkus Test Extractor";
+    private static final Path CURRENT_DIR = Path.of("").toAbsolutePath();
+    private static final EventType CLASSIFICATION_EVENT_TYPE = EventType.getEventType(DependencyClassificationEvent.class);
+    private static final ThreadLocal<ModuleExtractionEvent> CURRENT_MODULE = new ThreadLocal<>();
+
+    public enum Classification {
+        MANAGED_BY_QUARKUS_BOM,
+        MANAGED_BY_TEST_PARENT,
+        /**
+         * Not managed, but accompanied by the deployment dependency, which signals it is managed.
+         */
+        MANAGED_WITH_DEPLOYMENT_DEPENDENCY,
+        RESOLVED_VERSION
+    }
+
+    private ExtractionEvents() {
+    }
+
+    @Category(CATEGORY)
+    @StackTrace(false)
+    abstract static class ModuleEvent extends Event implements AutoCloseable {
+
+        @Label("Artifact ID")
+        String artifactId;
+
+        @Label("Relative Path")
+        String relativePath;
+
+        ModuleEvent beginForCurrentModule() {
+            if (isEnabled()) {
+                var module = CURRENT_MODULE.get();
+                if (module != null) {
+                    artifactId = module.artifactId;
+                    relativePath = module.relativePath;
+                }
+                begin();
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            commit();
+        }
+    }
+
+    @Name("io.quarkus.test.extractor.ModuleExtraction")
+    @Label("Module Extraction")
+    @Description("Extraction of tests from one module, from the start of the goal execution to its end")
+    static final class ModuleExtractionEvent extends ModuleEvent {
+    }
+
+    @Name("io.quarkus.test.extractor.CopyBatch")
+    @Label("Copy Batch")
+    @Description("Copying of one directory tree into the extracted module")
+    public static final class CopyBatchEvent extends ModuleEvent {
+
+        @Label("Source Directory")
+        String sourceDirectory;
+
+        @Label("Target Directory")
+        String targetDirectory;
+
+        @Label("Copied Files")
+        int copiedFiles;
+
+        @Label("Copied Bytes")
+        @DataAmount
+        long copiedBytes;
+
+        public void fileCopied(File source) {
+            if (isEnabled()) {
+                copiedFiles++;
+                copiedBytes += source.length();
+            }
+        }
+    }
+
+    @Name("io.quarkus.test.extractor.PomWrite")
+    @Label("POM Write")
+    @Description("Serialization of the generated Maven model into the POM file")
+    static final class PomWriteEvent extends ModuleEvent {
+
+        @Label("POM File")
+        String pomFile;
+    }
+
+    @Name("io.quarkus.test.extractor.PomFinalize")
+    @Label("POM Finalize")
+    @Description("Replacement of Maven property placeholders and version references in the written POM file")
+    static final class PomFinalizeEvent extends ModuleEvent {
+
+        @Label("POM File")
+        String pomFile;
+    }
+
+    @Name("io.quarkus.test.extractor.SummaryStore")
+    @Label("Summary Store")
+    @Description("Storing of the partial or the final extraction summary")
+    static final class SummaryStoreEvent extends ModuleEvent {
+
+        @Label("Final Summary")
+        boolean finalSummary;
+    }
+
+    @Name("io.quarkus.test.extractor.DependencyClassification")
+    @Label("Dependency Classification")
+    @Description("Decision how the version of a dependency without explicit version is determined")
+    static final class DependencyClassificationEvent extends ModuleEvent {
+
+        @Label("Dependency")
+        String dependency;
+
+        @Label("Classification")
+        String classification;
+
+        @Label("Version")
+        String version;
+    }
+
+    public static void startModule(String artifactId, File basedir) {
+        var event = new ModuleExtractionEvent();
+        event.artifactId = artifactId;
+        event.relativePath = CURRENT_DIR.relativize(basedir.toPath().toAbsolutePath()).toString();
+        CURRENT_MODULE.set(event);
+        event.begin();
+    }
+
+    public static void endModule() {
+        var event = CURRENT_MODULE.get();
+        if (event != null) {
+            CURRENT_MODULE.remove();
+            event.commit();
+        }
+    }
+
+    public static CopyBatchEvent copyBatch(File sourceDirectory, File targetDirectory) {
+        var event = new CopyBatchEvent();
+        if (event.isEnabled()) {
+            event.sourceDirectory = sourceDirectory.getPath();
+            event.targetDirectory = targetDirectory.getPath();
+        }
+        return (CopyBatchEvent) event.beginForCurrentModule();
+    }
+
+    public static void pomWrite(File pomFile, Runnable action) {
+        var event = new PomWriteEvent();
+        if (event.isEnabled()) {
+            event.pomFile = pomFile.getPath();
+        }
+        record(event, action);
+    }
+
+    public static void pomFinalize(File pomFile, Runnable action) {
+        var event = new PomFinalizeEvent();
+        if (event.isEnabled()) {
+            event.pomFile = pomFile.getPath();
+        }
+        record(event, action);
+    }
+
+    public static void summaryStore(boolean finalSummary, Runnable action) {
+        var event = new SummaryStoreEvent();
+        event.finalSummary = finalSummary;
+        record(event, action);
+    }
+
+    /**
+     * Classification is decided for every dependency without version, callers should only determine
+     * the classification when it is going to be recorded.
+     */
+    public static boolean isClassificationRecorded() {
+        return CLASSIFICATION_EVENT_TYPE.isEnabled();
+    }
+
+    public static void dependencyClassified(Dependency dependency, Classification classification, String version) {
+        var event = new DependencyClassificationEvent();
+        if (event.isEnabled()) {
+            event.beginForCurrentModule();
+            event.dependency = getManagementKey(dependency);
+            event.classification = classification.name();
+            event.version = version;
+            event.commit();
+        }
+    }
+
+    private static void record(ModuleEvent event, Runnable action) {
+        event.beginForCurrentModule();
+        try {
+            action.run();
+        } finally {
+            event.commit();
+        }
+    }
+}
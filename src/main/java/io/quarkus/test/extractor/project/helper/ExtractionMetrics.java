@@ -0,0 +1,306 @@
+package io.quarkus.test.extractor.project.helper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Measures extraction phases of every module when enabled with '-Dextraction-metrics'.
+ * Phases may be nested, time and I/O are always attributed to the innermost phase, so that the phases of a module
+ * add up to the time spent with the module. When disabled, every call returns immediately.
+ * Module metrics are stored as partial files and the last module creates the run report, which consists of
+ * ';'-separated text files with a '#' header line, like other files written by the extractor.
+ */
+public final class ExtractionMetrics {
+
+    public enum Phase {
+        /**
+         * Time Maven spent between extraction of two modules on the same thread, mostly dependency resolution.
+         */
+        MAVEN,
+        MODEL_PREPARATION,
+        COPY,
+        POM_WRITE,
+        POM_FINALIZE,
+        SUMMARY_STORE,
+        FORCED_DEPENDENCY_SCAN,
+        FINALIZATION,
+        /**
+         * Time spent by the extractor outside the other phases.
+         */
+        OTHER
+    }
+
+    private static final String METRICS_PROPERTY = "extraction-metrics";
+    private static final String SLOWEST_MODULES_PROPERTY = "extraction-metrics.slowest-modules";
+    private static final boolean ENABLED = Boolean.getBoolean(METRICS_PROPERTY);
+    private static final String PARTIAL_EXTRACTION_METRICS_DIR_NAME = "partial-extraction-metrics";
+    private static final String PHASE_METRICS_FILE_NAME = "extraction-phase-metrics";
+    private static final String SLOWEST_MODULES_FILE_NAME = "extraction-slowest-modules";
+    private static final String SEPARATOR = ";";
+    private static final String TOTAL = "TOTAL";
+    private static final Phase[] PHASES = Phase.values();
+    private static final int NANOS = 0;
+    private static final int FILES_READ = 1;
+    private static final int BYTES_READ = 2;
+    private static final int FILES_WRITTEN = 3;
+    private static final int BYTES_WRITTEN = 4;
+    private static final int MODELS_CLONED = 5;
+    private static final int COUNTERS = 6;
+    private static final ThreadLocal<ModuleMetrics> CURRENT_MODULE = new ThreadLocal<>();
+    private static final ThreadLocal<Long> LAST_MODULE_END = new ThreadLocal<>();
+
+    private ExtractionMetrics() {
+    }
+
+    private static final class ModuleMetrics {
+
+        private final String artifactId;
+        private final long[][] counters = new long[PHASES.length][COUNTERS];
+        private final Deque<Phase> phases = new ArrayDeque<>();
+        private long phaseStart = System.nanoTime();
+
+        private ModuleMetrics(String artifactId) {
+            this.artifactId = artifactId;
+            phases.push(Phase.OTHER);
+        }
+
+        private void enter(Phase phase) {
+            long now = System.nanoTime();
+            counters[phases.peek().ordinal()][NANOS] += now - phaseStart;
+            phases.push(phase);
+            phaseStart = now;
+        }
+
+        private void exit() {
+            long now = System.nanoTime();
+            counters[phases.pop().ordinal()][NANOS] += now - phaseStart;
+            phaseStart = now;
+        }
+
+        private void add(int counter, long value) {
+            counters[phases.peek().ordinal()][counter] += value;
+        }
+
+        private String serialize() {
+            return Arrays.stream(PHASES)
+                    .map(phase -> artifactId + SEPARATOR + phase + SEPARATOR + Arrays.stream(counters[phase.ordinal()])
+                            .mapToObj(Long::toString).collect(Collectors.joining(SEPARATOR)))
+                    .collect(Collectors.joining(System.lineSeparator()));
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void startModule(String artifactId) {
+        if (!ENABLED) {
+            return;
+        }
+        var moduleMetrics = new ModuleMetrics(artifactId);
+        Long lastModuleEnd = LAST_MODULE_END.get();
+        if (lastModuleEnd != null) {
+            moduleMetrics.counters[Phase.MAVEN.ordinal()][NANOS] = moduleMetrics.phaseStart - lastModuleEnd;
+        }
+        CURRENT_MODULE.set(moduleMetrics);
+    }
+
+    public static void endModule() {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics != null) {
+            CURRENT_MODULE.remove();
+            moduleMetrics.exit();
+            FileSystemStorage.savePartialFileContent(PARTIAL_EXTRACTION_METRICS_DIR_NAME, moduleMetrics.artifactId,
+                    moduleMetrics.serialize());
+            LAST_MODULE_END.set(System.nanoTime());
+        }
+    }
+
+    public static void measure(Phase phase, Runnable action) {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics == null) {
+            action.run();
+            return;
+        }
+        moduleMetrics.enter(phase);
+        try {
+            action.run();
+        } finally {
+            moduleMetrics.exit();
+        }
+    }
+
+    public static <T> T measure(Phase phase, Supplier<T> action) {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics == null) {
+            return action.get();
+        }
+        moduleMetrics.enter(phase);
+        try {
+            return action.get();
+        } finally {
+            moduleMetrics.exit();
+        }
+    }
+
+    public static void fileRead(long bytes) {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics != null) {
+            moduleMetrics.add(FILES_READ, 1);
+            moduleMetrics.add(BYTES_READ, bytes);
+        }
+    }
+
+    public static void fileRead(Path path) {
+        if (currentModule() != null) {
+            fileRead(size(path));
+        }
+    }
+
+    public static void fileWritten(long bytes) {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics != null) {
+            moduleMetrics.add(FILES_WRITTEN, 1);
+            moduleMetrics.add(BYTES_WRITTEN, bytes);
+        }
+    }
+
+    public static void fileWritten(Path path) {
+        if (currentModule() != null) {
+            fileWritten(size(path));
+        }
+    }
+
+    public static void modelCloned() {
+        var moduleMetrics = currentModule();
+        if (moduleMetrics != null) {
+            moduleMetrics.add(MODELS_CLONED, 1);
+        }
+    }
+
+    private static ModuleMetrics currentModule() {
+        return ENABLED ? CURRENT_MODULE.get() : null;
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to determine size of " + path, e);
+        }
+    }
+
+    /**
+     * Merges metrics of all the modules and stores totals per phase and the slowest modules.
+     *
+     * @return one-line summary of the extraction run or null when metrics are disabled
+     */
+    public static String createAndStoreRunReport() {
+        if (!ENABLED) {
+            return null;
+        }
+        Map<String, long[][]> moduleToCounters = new LinkedHashMap<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_EXTRACTION_METRICS_DIR_NAME).stream()
+                .flatMap(String::lines)
+                .filter(line -> !line.isBlank())
+                .forEach(line -> {
+                    String[] columns = line.split(SEPARATOR);
+                    long[] phaseCounters = moduleToCounters.computeIfAbsent(columns[0],
+                            k -> new long[PHASES.length][COUNTERS])[Phase.valueOf(columns[1]).ordinal()];
+                    for (int i = 0; i < COUNTERS; i++) {
+                        phaseCounters[i] += Long.parseLong(columns[i + 2]);
+                    }
+                });
+        long[][] phaseTotals = new long[PHASES.length][COUNTERS];
+        moduleToCounters.values().forEach(counters -> {
+            for (Phase phase : PHASES) {
+                for (int i = 0; i < COUNTERS; i++) {
+                    phaseTotals[phase.ordinal()][i] += counters[phase.ordinal()][i];
+                }
+            }
+        });
+        long[] runTotal = sum(phaseTotals);
+
+        var phaseMetrics = new ArrayList<String>();
+        phaseMetrics.add("# phase;wall time ms;share %;files read;bytes read;files written;bytes written;models cloned");
+        for (Phase phase : PHASES) {
+            phaseMetrics.add(toPhaseLine(phase.name(), phaseTotals[phase.ordinal()], runTotal[NANOS]));
+        }
+        phaseMetrics.add(toPhaseLine(TOTAL, runTotal, runTotal[NANOS]));
+        FileSystemStorage.writeFileContent(PHASE_METRICS_FILE_NAME, String.join(System.lineSeparator(), phaseMetrics));
+
+        var slowestModules = new ArrayList<String>();
+        slowestModules.add("# module;wall time ms;" + Arrays.stream(PHASES)
+                .map(phase -> phase.name().toLowerCase(Locale.ROOT).replace('_', ' ') + " ms")
+                .collect(Collectors.joining(SEPARATOR)) + ";files read;bytes read;files written;bytes written;models cloned");
+        moduleToCounters.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[][]> e) -> sum(e.getValue())[NANOS])
+                        .reversed().thenComparing(Map.Entry::getKey))
+                .limit(Integer.getInteger(SLOWEST_MODULES_PROPERTY, 20))
+                .map(e -> toModuleLine(e.getKey(), e.getValue()))
+                .forEach(slowestModules::add);
+        FileSystemStorage.writeFileContent(SLOWEST_MODULES_FILE_NAME, String.join(System.lineSeparator(), slowestModules));
+
+        List<String> phaseTimes = Arrays.stream(PHASES)
+                .filter(phase -> phaseTotals[phase.ordinal()][NANOS] > 0)
+                .map(phase -> "%s %.1f s".formatted(phase.name().toLowerCase(Locale.ROOT).replace('_', ' '),
+                        toSeconds(phaseTotals[phase.ordinal()][NANOS])))
+                .toList();
+        return "Extraction of %d modules took %.1f s (%s), read %d files (%.1f MB), wrote %d files (%.1f MB), cloned %d models"
+                .formatted(moduleToCounters.size(), toSeconds(runTotal[NANOS]), String.join(", ", phaseTimes),
+                        runTotal[FILES_READ], toMegabytes(runTotal[BYTES_READ]), runTotal[FILES_WRITTEN],
+                        toMegabytes(runTotal[BYTES_WRITTEN]), runTotal[MODELS_CLONED]);
+    }
+
+    private static long[] sum(long[][] phaseCounters) {
+        long[] total = new long[COUNTERS];
+        for (long[] counters : phaseCounters) {
+            for (int i = 0; i < COUNTERS; i++) {
+                total[i] += counters[i];
+            }
+        }
+        return total;
+    }
+
+    private static String toPhaseLine(String phase, long[] counters, long totalNanos) {
+        double share = totalNanos == 0 ? 0 : 100.0 * counters[NANOS] / totalNanos;
+        return String.join(SEPARATOR, phase, Long.toString(toMillis(counters[NANOS])), "%.1f".formatted(share),
+                Long.toString(counters[FILES_READ]), Long.toString(counters[BYTES_READ]),
+                Long.toString(counters[FILES_WRITTEN]), Long.toString(counters[BYTES_WRITTEN]),
+                Long.toString(counters[MODELS_CLONED]));
+    }
+
+    private static String toModuleLine(String artifactId, long[][] phaseCounters) {
+        long[] total = sum(phaseCounters);
+        return artifactId + SEPARATOR + toMillis(total[NANOS]) + SEPARATOR
+                + Arrays.stream(phaseCounters).map(c -> Long.toString(toMillis(c[NANOS])))
+                        .collect(Collectors.joining(SEPARATOR))
+                + SEPARATOR + String.join(SEPARATOR, Long.toString(total[FILES_READ]), Long.toString(total[BYTES_READ]),
+                Long.toString(total[FILES_WRITTEN]), Long.toString(total[BYTES_WRITTEN]),
+                Long.toString(total[MODELS_CLONED]));
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static double toMegabytes(long bytes) {
+        return bytes / 1024.0 / 1024.0;
+    }
+}
@@ -0,0 +1,36 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+
+import java.util.TreeSet;
+
+/**
+ * Records modules that the 'extract-tests' goal needs to process, so that the extraction doesn't run on runtime,
+ * SPI and BOM modules where it does nothing. The final 'extraction-modules' file contains relative paths
+ * of these modules in the format accepted by the '-pl' Maven option.
+ */
+public final class ExtractionModules {
+
+    public static final String EXTRACTION_MODULES_FILE_NAME = "extraction-modules";
+    private static final String PARTIAL_EXTRACTION_MODULES_DIR_NAME = "partial-extraction-modules";
+    private static final String MODULE_SEPARATOR = ",";
+    private static final String ROOT_MODULE = ".";
+
+    private ExtractionModules() {
+        // utils
+    }
+
+    public static void recordExtractionModule(Project project) {
+        String relativePath = project.relativePath().isEmpty() ? ROOT_MODULE : project.relativePath();
+        FileSystemStorage.savePartialFileContent(PARTIAL_EXTRACTION_MODULES_DIR_NAME, project.artifactId(), relativePath);
+    }
+
+    public static void createAndStoreExtractionModules() {
+        var modules = new TreeSet<String>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_EXTRACTION_MODULES_DIR_NAME).stream()
+                .map(String::trim)
+                .filter(module -> !module.isEmpty())
+                .forEach(modules::add);
+        FileSystemStorage.writeFileContent(EXTRACTION_MODULES_FILE_NAME, String.join(MODULE_SEPARATOR, modules));
+    }
+}
@@ -0,0 +1,149 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.result.ParentProject.Change;
+import io.quarkus.test.extractor.project.result.ParentProject.ChangeType;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Splits extraction of modules into independent shards that can run in separate JVMs, selected with
+ * '-Dextraction-shard' either as '<index>/<count>' hash bucket of the module relative path, e.g. '2/4',
+ * or as comma-separated globs of module relative paths, e.g. 'extensions/**'. Every shard extracts parent projects
+ * and its modules, changes of the parent project are stored as partial files instead of being applied.
+ * Merge of shards copies their directories to the target directory and applies stored changes in the reactor order.
+ */
+public final class ExtractionShards {
+
+    private static final String SHARD_PROPERTY = "extraction-shard";
+    private static final String SHARD = System.getProperty(SHARD_PROPERTY);
+    private static final String PARTIAL_PARENT_PROJECT_CHANGES_DIR_NAME = "partial-parent-project-changes";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String PATTERN_SEPARATOR = ",";
+    private static final String BUCKET_SEPARATOR = "/";
+    private static final ShardSelector SELECTOR = SHARD == null || SHARD.isBlank() ? null : createSelector(SHARD);
+
+    private ExtractionShards() {
+        // utils
+    }
+
+    private interface ShardSelector {
+        boolean contains(String relativePath);
+    }
+
+    public static boolean isSharded() {
+        return SELECTOR != null;
+    }
+
+    /**
+     * @param relativePath module path relative to the Quarkus project directory
+     */
+    public static boolean isInCurrentShard(String relativePath) {
+        return SELECTOR == null || SELECTOR.contains(relativePath);
+    }
+
+    public static void storeParentProjectChanges(String artifactId, List<Change> changes) {
+        if (!changes.isEmpty()) {
+            String content = changes.stream()
+                    .map(change -> String.join(ENTRY_SEPARATOR, artifactId, change.type().name(),
+                            nullToEmpty(change.artifactId()), nullToEmpty(change.profile()), change.module()))
+                    .collect(Collectors.joining(System.lineSeparator()));
+            FileSystemStorage.savePartialFileContent(PARTIAL_PARENT_PROJECT_CHANGES_DIR_NAME, artifactId, content);
+        }
+    }
+
+    /**
+     * Copies content of shard directories to the target directory, files that already exist in the target directory,
+     * like collected project metadata or files written by parent projects, are kept.
+     */
+    public static void copyShards(List<Path> shardDirs) {
+        shardDirs.forEach(ExtractionShards::copyShard);
+    }
+
+    /**
+     * Loads changes stored by shards and deletes them, so that the merged result is identical to a single run.
+     *
+     * @return artifact id of extracted module to parent project changes it made
+     */
+    public static Map<String, List<Change>> loadAndDeleteParentProjectChanges() {
+        Map<String, List<Change>> artifactIdToChanges = new HashMap<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_PARENT_PROJECT_CHANGES_DIR_NAME).stream()
+                .flatMap(String::lines)
+                .filter(line -> !line.isBlank())
+                .map(line -> line.split(ENTRY_SEPARATOR, -1))
+                .forEach(entry -> artifactIdToChanges.computeIfAbsent(entry[0], k -> new ArrayList<>())
+                        .add(new Change(ChangeType.valueOf(entry[1]), emptyToNull(entry[2]), emptyToNull(entry[3]),
+                                entry[4])));
+        deleteDirectory(TARGET_DIR.resolve(PARTIAL_PARENT_PROJECT_CHANGES_DIR_NAME));
+        return artifactIdToChanges;
+    }
+
+    private static void copyShard(Path shardDir) {
+        try (var paths = Files.walk(shardDir)) {
+            for (Path source : (Iterable<Path>) paths::iterator) {
+                Path target = TARGET_DIR.resolve(shardDir.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else if (!Files.exists(target)) {
+                    Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to copy shard " + shardDir + " to " + TARGET_DIR, e);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete " + dir, e);
+        }
+    }
+
+    private static ShardSelector createSelector(String shard) {
+        String[] bucket = shard.split(BUCKET_SEPARATOR);
+        if (bucket.length == 2 && bucket[0].chars().allMatch(Character::isDigit)
+                && bucket[1].chars().allMatch(Character::isDigit)) {
+            int index = Integer.parseInt(bucket[0]);
+            int count = Integer.parseInt(bucket[1]);
+            if (index < 1 || index > count) {
+                throw new IllegalArgumentException("Shard '%s' must be between 1 and %d".formatted(shard, count));
+            }
+            // String hash code is the same in every JVM, so all the shards agree on the bucket
+            return relativePath -> Math.floorMod(relativePath.hashCode(), count) == index - 1;
+        }
+        List<PathMatcher> matchers = Arrays.stream(shard.split(PATTERN_SEPARATOR))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .toList();
+        return relativePath -> matchers.stream().anyMatch(matcher -> matcher.matches(Path.of(relativePath)));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -3,7 +3,6 @@ package io.quarkus.test.extractor.project.helper;
 import io.quarkus.test.extractor.project.builder.Project;
 import io.quarkus.test.extractor.project.utils.MavenUtils;
 import org.apache.maven.model.Dependency;
-import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.Repository;
 
@@ -20,6 +19,7 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -68,6 +68,13 @@ public record ExtractionSummary(String projectArtifactId,
         }
     }
 
+    /**
+     * @return summary that is not merged with partial summaries, for projects that are only classified
+     */
+    public static ExtractionSummary empty(String projectArtifactId) {
+        return new ExtractionSummary(projectArtifactId);
+    }
+
     public void addBuildPlugin(Plugin plugin, Project project) {
         String artifactId = plugin.getArtifactId();
         if (isNotSurefireOrFailsafePlugin(artifactId)) {
@@ -83,6 +90,7 @@ public record ExtractionSummary(String projectArtifactId,
     public void addNotManagedDependency(Dependency dependency, Project project, String version) {
         var usage = new Usage(project.artifactId(), project.targetRelativePath());
         var key = new UnmanagedDependencyKey(getManagementKey(dependency), version, isTestJar(dependency));
+        ExtractionEvents.dependencyClassified(dependency, ExtractionEvents.Classification.RESOLVED_VERSION, version);
         unmanagedDependencies.computeIfAbsent(key, k -> new HashSet<>()).add(usage);
     }
 
@@ -92,16 +100,24 @@ public record ExtractionSummary(String projectArtifactId,
 
     public void createAndStoreFinalSummary() {
         // create final extraction summary for all the projects
+        ExtractionMetrics.measure(ExtractionMetrics.Phase.SUMMARY_STORE,
+                () -> ExtractionEvents.summaryStore(true, this::storeFinalSummary));
+    }
+
+    private void storeFinalSummary() {
+        String summary = createSummary();
         try {
-            Files.writeString(getSummaryPath(), createSummary(), StandardOpenOption.CREATE_NEW);
+            Files.writeString(getSummaryPath(), summary, StandardOpenOption.CREATE_NEW);
         } catch (IOException e) {
             throw new RuntimeException("Failed to create test extraction summary", e);
         }
+        ExtractionMetrics.fileWritten(summary.length());
     }
 
     public void createAndStorePartialSummary() {
         if (summaryHasContent()) {
-            storePartialSummaryToFileSystem(projectArtifactId, this);
+            ExtractionMetrics.measure(ExtractionMetrics.Phase.SUMMARY_STORE, () -> ExtractionEvents.summaryStore(false,
+                    () -> storePartialSummaryToFileSystem(projectArtifactId, this)));
         }
     }
 
@@ -123,8 +139,8 @@ public record ExtractionSummary(String projectArtifactId,
         projectSpecificPluginRepositories.computeIfAbsent(key, k -> new HashSet<>()).add(usage);
     }
 
-    public void addProjectWithDependencyManagement(DependencyManagement dependencyManagement, Project project) {
-        var managementKeys = dependencyManagement.getDependencies().stream().map(MavenUtils::getManagementKey)
+    public void addProjectWithDependencyManagement(List<Dependency> managedDependencies, Project project) {
+        var managementKeys = managedDependencies.stream().map(MavenUtils::getManagementKey)
                 .collect(Collectors.toUnmodifiableSet());
         var usage = new Usage(project.artifactId(), project.targetRelativePath());
         DependencyManagementKey key = new DependencyManagementKey(managementKeys, usage);
@@ -212,6 +228,9 @@ public record ExtractionSummary(String projectArtifactId,
         try(var objectOutputStream = new ObjectOutputStream(fileOutputStream)) {
             objectOutputStream.writeObject(summary);
             objectOutputStream.flush();
+            if (ExtractionMetrics.isEnabled()) {
+                ExtractionMetrics.fileWritten(fileOutputStream.getChannel().size());
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to save file for summary " + projectArtifactId, e);
         }
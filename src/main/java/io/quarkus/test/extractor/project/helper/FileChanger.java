@@ -22,7 +22,10 @@ public record FileChanger(Project project, String filePath) {
         if (Files.exists(absolutePath)) {
             try {
                 String testContent = Files.readString(absolutePath);
-                Files.writeString(absolutePath, replacement.apply(testContent), TRUNCATE_EXISTING);
+                ExtractionMetrics.fileRead(testContent.length());
+                String newContent = replacement.apply(testContent);
+                Files.writeString(absolutePath, newContent, TRUNCATE_EXISTING);
+                ExtractionMetrics.fileWritten(newContent.length());
             } catch (IOException e) {
                 throw new RuntimeException("Failed to adjust file " + absolutePath, e);
             }
@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.List;
 import java.util.Set;
 
 import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
@@ -19,7 +20,9 @@ public final class FileSystemStorage {
     static String loadFileContent(String fileName) {
         Path filePath = TARGET_DIR.resolve(fileName);
         try {
-            return Files.readString(filePath);
+            String content = Files.readString(filePath);
+            ExtractionMetrics.fileRead(content.length());
+            return content;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load " + filePath, e);
         }
@@ -33,6 +36,7 @@ public final class FileSystemStorage {
         Path filePath = TARGET_DIR.resolve(fileName);
         try {
             Files.writeString(filePath, content, StandardOpenOption.CREATE_NEW);
+            ExtractionMetrics.fileWritten(content.length());
             if (executable) {
                 Files.setPosixFilePermissions(filePath, Set.of(GROUP_EXECUTE, OTHERS_EXECUTE, OWNER_EXECUTE, GROUP_READ,
                         OTHERS_READ, OWNER_READ));
@@ -46,11 +50,64 @@ public final class FileSystemStorage {
         Path filePath = TARGET_DIR.resolve(fileName);
         try {
             Files.writeString(filePath, content, StandardOpenOption.TRUNCATE_EXISTING);
+            ExtractionMetrics.fileWritten(content.length());
         } catch (IOException e) {
             throw new RuntimeException("Failed to replace file content: " + fileName, e);
         }
     }
 
+    /**
+     * Creates the file or replaces its content, used by goals that can be executed repeatedly.
+     */
+    public static void writeFileContent(String fileName, String content) {
+        Path filePath = TARGET_DIR.resolve(fileName);
+        try {
+            Files.writeString(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            ExtractionMetrics.fileWritten(content.length());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write content to " + fileName, e);
+        }
+    }
+
+    /**
+     * Stores content produced for a single module, so that the last module can merge all of them.
+     */
+    static void savePartialFileContent(String dirName, String fileName, String content) {
+        Path dirPath = TARGET_DIR.resolve(dirName);
+        try {
+            Files.createDirectories(dirPath);
+            Files.writeString(dirPath.resolve(fileName), content, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ExtractionMetrics.fileWritten(content.length());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save partial content to " + dirPath.resolve(fileName), e);
+        }
+    }
+
+    /**
+     * @return content of all partial files in the directory ordered by the file name, so that merged result
+     *         does not depend on the order in which modules were processed
+     */
+    static List<String> loadPartialFileContents(String dirName) {
+        Path dirPath = TARGET_DIR.resolve(dirName);
+        if (!Files.exists(dirPath)) {
+            return List.of();
+        }
+        try (var files = Files.list(dirPath)) {
+            return files.filter(Files::isRegularFile).sorted().map(p -> {
+                try {
+                    String content = Files.readString(p);
+                    ExtractionMetrics.fileRead(content.length());
+                    return content;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to load " + p, e);
+                }
+            }).toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list partial files in " + dirPath, e);
+        }
+    }
+
     static void addToFile(String fileName, String content) {
         Path filePath = TARGET_DIR.resolve(fileName);
         if (!Files.exists(filePath)) {
@@ -62,6 +119,7 @@ public final class FileSystemStorage {
         }
         try {
             Files.writeString(filePath, content + System.lineSeparator(), StandardOpenOption.APPEND);
+            ExtractionMetrics.fileWritten(content.length() + System.lineSeparator().length());
         } catch (IOException e) {
             throw new RuntimeException("Failed to append content to file " + fileName, e);
         }
@@ -0,0 +1,157 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.result.ParentProject;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Records which managed modules (modules copied as is, like the test extension or common JPA entities)
+ * every test module needs, so that the 'run_tests.sh' script only builds managed modules required by tested modules.
+ * The final 'managed-module-dependencies' file contains lines like
+ * 'integration-tests/main=integration-tests/class-transformer,integration-tests/class-transformer/runtime'.
+ */
+public final class ManagedModuleDependencies {
+
+    private static final String MANAGED_MODULE_DEPENDENCIES_FILE_NAME = "managed-module-dependencies";
+    private static final String PARTIAL_MANAGED_MODULE_DEPENDENCIES_DIR_NAME = "partial-managed-module-dependencies";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String DEPENDENCY_SEPARATOR = ",";
+    private static final String MANAGED = "MANAGED";
+    private static final String TESTED = "TESTED";
+    /**
+     * Forced dependencies like 'new AppArtifact("io.quarkus", "quarkus-integration-test-test-extension", ...)'
+     * are not visible in the POM file.
+     */
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"([a-z0-9][a-z0-9.-]*)\"");
+
+    private ManagedModuleDependencies() {
+        // utils
+    }
+
+    public static void recordManagedModule(Project project, Model model) {
+        record(MANAGED, project, model, findManagedDependencies(model));
+    }
+
+    public static void recordTestModule(Project project, Model model) {
+        var managedDependencies = findManagedDependencies(model);
+        managedDependencies.addAll(findManagedArtifactsInTestSources(project.projectPath()));
+        record(TESTED, project, model, managedDependencies);
+    }
+
+    /**
+     * Computes transitive closures of managed modules for all the test modules.
+     */
+    public static void createAndStoreManagedModuleDependencies() {
+        Map<String, String> managedArtifactIdToPath = new HashMap<>();
+        Map<String, Set<String>> managedArtifactIdToDependencies = new HashMap<>();
+        Map<String, Set<String>> testModulePathToDependencies = new TreeMap<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_MANAGED_MODULE_DEPENDENCIES_DIR_NAME).forEach(partial -> {
+            var lines = partial.lines().toList();
+            String[] module = lines.get(0).split(ENTRY_SEPARATOR);
+            Set<String> dependencies = lines.size() < 2 || lines.get(1).isBlank() ? Set.of()
+                    : Set.of(lines.get(1).split(DEPENDENCY_SEPARATOR));
+            if (MANAGED.equals(module[0])) {
+                managedArtifactIdToPath.put(module[1], module[2]);
+                managedArtifactIdToDependencies.put(module[1], dependencies);
+            }
+            if (TESTED.equals(module[0])) {
+                testModulePathToDependencies.computeIfAbsent(module[2], k -> new TreeSet<>()).addAll(dependencies);
+            }
+        });
+        var result = new StringBuilder();
+        testModulePathToDependencies.forEach((testModulePath, dependencies) -> {
+            Set<String> closure = new TreeSet<>();
+            var toVisit = new ArrayDeque<>(dependencies);
+            while (!toVisit.isEmpty()) {
+                String artifactId = toVisit.poll();
+                String managedModulePath = managedArtifactIdToPath.get(artifactId);
+                if (managedModulePath != null && !managedModulePath.equals(testModulePath)
+                        && closure.add(managedModulePath)) {
+                    toVisit.addAll(managedArtifactIdToDependencies.get(artifactId));
+                }
+            }
+            if (!closure.isEmpty()) {
+                result.append(testModulePath).append("=").append(String.join(DEPENDENCY_SEPARATOR, closure))
+                        .append(System.lineSeparator());
+            }
+        });
+        FileSystemStorage.saveFileContent(MANAGED_MODULE_DEPENDENCIES_FILE_NAME, result.toString());
+    }
+
+    /**
+     * @return test module path to paths of managed modules it needs
+     */
+    static Map<String, List<String>> loadManagedModuleDependencies() {
+        Map<String, List<String>> result = new HashMap<>();
+        FileSystemStorage.loadFileContent(MANAGED_MODULE_DEPENDENCIES_FILE_NAME).lines()
+                .filter(line -> !line.isBlank())
+                .forEach(line -> {
+                    String[] entry = line.split("=", 2);
+                    result.put(entry[0], List.of(entry[1].split(DEPENDENCY_SEPARATOR)));
+                });
+        return result;
+    }
+
+    private static void record(String kind, Project project, Model model, Set<String> managedDependencies) {
+        managedDependencies.remove(project.artifactId());
+        String content = String.join(ENTRY_SEPARATOR, kind, project.artifactId(), project.targetRelativePath())
+                + System.lineSeparator() + String.join(DEPENDENCY_SEPARATOR, managedDependencies);
+        // test modules copied as is are recorded twice, once as managed and once as tested
+        FileSystemStorage.savePartialFileContent(PARTIAL_MANAGED_MODULE_DEPENDENCIES_DIR_NAME,
+                kind + "-" + project.artifactId(), content);
+    }
+
+    private static Set<String> findManagedDependencies(Model model) {
+        var managedDependencies = new TreeSet<String>();
+        Stream.concat(model.getDependencies().stream(), model.getProfiles().stream()
+                        .flatMap(p -> p.getDependencies().stream()))
+                .map(Dependency::getArtifactId)
+                .filter(ManagedModuleDependencies::isManagedArtifactId)
+                .forEach(managedDependencies::add);
+        if (model.getParent() != null && isManagedArtifactId(model.getParent().getArtifactId())) {
+            managedDependencies.add(model.getParent().getArtifactId());
+        }
+        return managedDependencies;
+    }
+
+    private static Set<String> findManagedArtifactsInTestSources(Path projectPath) {
+        Path srcTestPath = projectPath.resolve("src").resolve("test");
+        if (!Files.exists(srcTestPath)) {
+            return Set.of();
+        }
+        var managedArtifactIds = new LinkedHashSet<String>();
+        try (var files = Files.walk(srcTestPath)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".java")).forEach(p -> {
+                try {
+                    STRING_LITERAL.matcher(Files.readString(p)).results().map(r -> r.group(1))
+                            .filter(ManagedModuleDependencies::isManagedArtifactId)
+                            .forEach(managedArtifactIds::add);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read " + p, e);
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to find managed artifacts in " + srcTestPath, e);
+        }
+        return managedArtifactIds;
+    }
+
+    private static boolean isManagedArtifactId(String artifactId) {
+        return artifactId != null && ParentProject.isManagedByTestParent(artifactId);
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.test.extractor.project.helper;
+
+import java.util.Locale;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+/**
+ * Records modules that are copied as they are and managed by the generated parent project. The extraction
+ * adds them to the parent project dependency management one by one, so whether a module is managed must not
+ * be decided by the dependency management, which depends on the order in which modules are extracted.
+ * The final 'managed-projects' file contains artifact ids of all these modules, one per line.
+ */
+public final class ManagedProjects {
+
+    public static final String MANAGED_PROJECTS_FILE_NAME = "managed-projects";
+    private static final String PARTIAL_MANAGED_PROJECTS_DIR_NAME = "partial-managed-projects";
+    private static volatile Set<String> managedProjects = null;
+
+    private ManagedProjects() {
+        // utils
+    }
+
+    public static void recordManagedProject(String artifactId) {
+        FileSystemStorage.savePartialFileContent(PARTIAL_MANAGED_PROJECTS_DIR_NAME, artifactId, artifactId);
+    }
+
+    public static void createAndStoreManagedProjects() {
+        String content = String.join(System.lineSeparator(),
+                FileSystemStorage.loadPartialFileContents(PARTIAL_MANAGED_PROJECTS_DIR_NAME).stream()
+                        .map(String::trim)
+                        .filter(artifactId -> !artifactId.isEmpty())
+                        .sorted()
+                        .toList());
+        FileSystemStorage.writeFileContent(MANAGED_PROJECTS_FILE_NAME, content);
+    }
+
+    /**
+     * @return true if the module is copied as it is, regardless of whether it was already extracted
+     */
+    public static boolean isManagedProject(String artifactId) {
+        return getManagedProjects().contains(artifactId.toLowerCase(Locale.ROOT));
+    }
+
+    private static Set<String> getManagedProjects() {
+        if (managedProjects == null) {
+            if (!FileSystemStorage.exists(MANAGED_PROJECTS_FILE_NAME)) {
+                // project metadata are being collected
+                return Set.of();
+            }
+            managedProjects = FileSystemStorage.loadFileContent(MANAGED_PROJECTS_FILE_NAME).lines()
+                    .map(String::trim)
+                    .filter(artifactId -> !artifactId.isEmpty())
+                    .map(artifactId -> artifactId.toLowerCase(Locale.ROOT))
+                    .collect(toUnmodifiableSet());
+        }
+        return managedProjects;
+    }
+}
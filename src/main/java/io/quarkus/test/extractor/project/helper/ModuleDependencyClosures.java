@@ -0,0 +1,90 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Records dependencies of every test module, including dependencies of managed modules it needs, so that we can tell
+ * which modules are affected when a new Quarkus platform build changes only a few managed artifacts.
+ * The final 'module-dependency-closures' file contains lines like 'integration-tests/main;io.quarkus:quarkus-arc,...'.
+ */
+public final class ModuleDependencyClosures {
+
+    public static final String MODULE_DEPENDENCY_CLOSURES_FILE_NAME = "module-dependency-closures";
+    private static final String PARTIAL_MODULE_DEPENDENCY_CLOSURES_DIR_NAME = "partial-module-dependency-closures";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String DEPENDENCY_SEPARATOR = ",";
+    private static final String MANAGED = "MANAGED";
+    private static final String TESTED = "TESTED";
+
+    private ModuleDependencyClosures() {
+        // utils
+    }
+
+    public static void recordManagedModule(Project project) {
+        record(MANAGED, project);
+    }
+
+    public static void recordTestModule(Project project) {
+        record(TESTED, project);
+    }
+
+    /**
+     * Must be called after the managed module dependencies were stored.
+     */
+    public static void createAndStoreModuleDependencyClosures() {
+        Map<String, Set<String>> managedModulePathToClosure = new HashMap<>();
+        Map<String, Set<String>> testModulePathToClosure = new TreeMap<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_MODULE_DEPENDENCY_CLOSURES_DIR_NAME).forEach(partial -> {
+            var lines = partial.lines().toList();
+            String[] module = lines.get(0).split(ENTRY_SEPARATOR);
+            List<String> closure = lines.size() < 2 || lines.get(1).isBlank() ? List.of()
+                    : List.of(lines.get(1).split(DEPENDENCY_SEPARATOR));
+            var modulePathToClosure = MANAGED.equals(module[0]) ? managedModulePathToClosure : testModulePathToClosure;
+            modulePathToClosure.computeIfAbsent(module[1], k -> new TreeSet<>()).addAll(closure);
+        });
+        var managedModulePaths = ManagedModuleDependencies.loadManagedModuleDependencies();
+        var result = new StringBuilder();
+        testModulePathToClosure.forEach((testModulePath, closure) -> {
+            managedModulePaths.getOrDefault(testModulePath, List.of()).stream()
+                    .map(managedModulePathToClosure::get)
+                    .filter(Objects::nonNull)
+                    .forEach(closure::addAll);
+            result.append(testModulePath).append(ENTRY_SEPARATOR).append(String.join(DEPENDENCY_SEPARATOR, closure))
+                    .append(System.lineSeparator());
+        });
+        FileSystemStorage.saveFileContent(MODULE_DEPENDENCY_CLOSURES_FILE_NAME, result.toString());
+    }
+
+    /**
+     * @return target relative test module path to 'groupId:artifactId' of its dependencies
+     */
+    public static Map<String, Set<String>> loadModuleDependencyClosures() {
+        if (!FileSystemStorage.exists(MODULE_DEPENDENCY_CLOSURES_FILE_NAME)) {
+            throw new IllegalStateException("File '%s' not found, please extract tests first"
+                    .formatted(MODULE_DEPENDENCY_CLOSURES_FILE_NAME));
+        }
+        Map<String, Set<String>> closures = new TreeMap<>();
+        FileSystemStorage.loadFileContent(MODULE_DEPENDENCY_CLOSURES_FILE_NAME).lines()
+                .filter(line -> !line.isBlank())
+                .forEach(line -> {
+                    String[] entry = line.split(ENTRY_SEPARATOR, -1);
+                    closures.put(entry[0], entry[1].isEmpty() ? Set.of() : Set.of(entry[1].split(DEPENDENCY_SEPARATOR)));
+                });
+        return closures;
+    }
+
+    private static void record(String kind, Project project) {
+        String content = String.join(ENTRY_SEPARATOR, kind, project.targetRelativePath()) + System.lineSeparator()
+                + String.join(DEPENDENCY_SEPARATOR, project.dependencyClosure());
+        FileSystemStorage.savePartialFileContent(PARTIAL_MODULE_DEPENDENCY_CLOSURES_DIR_NAME,
+                kind + "-" + project.artifactId(), content);
+    }
+}
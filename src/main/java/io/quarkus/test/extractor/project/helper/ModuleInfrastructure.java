@@ -0,0 +1,199 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.utils.PluginUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Classifies test modules by external services (databases, brokers, identity providers, ...) they need.
+ * The shard planner uses the 'module-infrastructure' file, with lines like 'integration-tests/jpa-postgresql;POSTGRESQL',
+ * to place modules that need same services into same shards and run them back to back.
+ */
+public final class ModuleInfrastructure {
+
+    /**
+     * Services are indicated by exact extension artifact ids (with the '-deployment' postfix dropped),
+     * image repositories (without registry and tag, matched as a whole or as a trailing path) and Testcontainers
+     * class names. Partial names are not considered because they are ambiguous, for example OIDC tests mostly
+     * use mocked identity providers rather than Keycloak.
+     */
+    public enum Service {
+        POSTGRESQL(Set.of("quarkus-jdbc-postgresql", "quarkus-reactive-pg-client"),
+                Set.of("postgres", "postgresql", "postgis/postgis"), Set.of("PostgreSQLContainer")),
+        MARIADB(Set.of("quarkus-jdbc-mariadb"), Set.of("mariadb"), Set.of("MariaDBContainer")),
+        MYSQL(Set.of("quarkus-jdbc-mysql", "quarkus-reactive-mysql-client"), Set.of("mysql"),
+                Set.of("MySQLContainer")),
+        MSSQL(Set.of("quarkus-jdbc-mssql", "quarkus-reactive-mssql-client"), Set.of("mssql/server"),
+                Set.of("MSSQLServerContainer")),
+        DB2(Set.of("quarkus-jdbc-db2", "quarkus-reactive-db2-client"), Set.of("db2"), Set.of("Db2Container")),
+        ORACLE(Set.of("quarkus-jdbc-oracle", "quarkus-reactive-oracle-client"), Set.of("oracle-free", "oracle-xe"),
+                Set.of("OracleContainer")),
+        MONGODB(Set.of("quarkus-mongodb-client", "quarkus-mongodb-panache", "quarkus-mongodb-panache-kotlin"),
+                Set.of("mongo"), Set.of("MongoDBContainer")),
+        REDIS(Set.of("quarkus-redis-client", "quarkus-redis-cache"), Set.of("redis", "redis-stack"),
+                Set.of("RedisContainer")),
+        KAFKA(Set.of("quarkus-kafka-client", "quarkus-messaging-kafka", "quarkus-kafka-streams"),
+                Set.of("kafka", "cp-kafka", "kafka-native", "redpanda"),
+                Set.of("KafkaContainer", "RedpandaContainer", "StrimziKafkaContainer")),
+        AMQP(Set.of("quarkus-messaging-amqp"), Set.of("activemq-artemis-broker", "activemq-artemis"),
+                Set.of("ArtemisContainer")),
+        RABBITMQ(Set.of("quarkus-messaging-rabbitmq"), Set.of("rabbitmq"), Set.of("RabbitMQContainer")),
+        PULSAR(Set.of("quarkus-messaging-pulsar"), Set.of("pulsar"), Set.of("PulsarContainer")),
+        KEYCLOAK(Set.of("quarkus-keycloak-authorization"), Set.of("keycloak"), Set.of("KeycloakContainer")),
+        ELASTICSEARCH(Set.of("quarkus-elasticsearch-rest-client", "quarkus-elasticsearch-java-client",
+                "quarkus-hibernate-search-orm-elasticsearch", "quarkus-hibernate-search-standalone-elasticsearch"),
+                Set.of("elasticsearch", "opensearch"), Set.of("ElasticsearchContainer", "OpensearchContainer")),
+        INFINISPAN(Set.of("quarkus-infinispan-client", "quarkus-infinispan-cache"), Set.of("infinispan/server"),
+                Set.of("InfinispanContainer")),
+        LGTM(Set.of("quarkus-observability-devservices-lgtm"),
+                Set.of("otel-lgtm", "jaegertracing/all-in-one", "opentelemetry-collector",
+                        "opentelemetry-collector-contrib"),
+                Set.of("LgtmStackContainer", "JaegerContainer"));
+
+        private final Set<String> extensions;
+        private final Set<String> imageRepositories;
+        private final Set<String> containerClasses;
+
+        Service(Set<String> extensions, Set<String> imageRepositories, Set<String> containerClasses) {
+            this.extensions = extensions;
+            this.imageRepositories = imageRepositories;
+            this.containerClasses = containerClasses;
+        }
+
+        private boolean isIndicatedByImage(String imageRepository) {
+            for (String repository : imageRepositories) {
+                if (imageRepository.equals(repository) || imageRepository.endsWith("/" + repository)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final String MODULE_INFRASTRUCTURE_FILE_NAME = "module-infrastructure";
+    private static final String PARTIAL_MODULE_INFRASTRUCTURE_DIR_NAME = "partial-module-infrastructure";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String SERVICE_SEPARATOR = ",";
+    private static final Pattern CONTAINER_CLASS = Pattern.compile("\\b(\\w+Container)\\b");
+
+    private ModuleInfrastructure() {
+        // utils
+    }
+
+    public static void recordTestModule(Project project, Model model, ModuleSources sources) {
+        var services = findServices(project, model, sources);
+        if (!services.isEmpty()) {
+            FileSystemStorage.savePartialFileContent(PARTIAL_MODULE_INFRASTRUCTURE_DIR_NAME, project.artifactId(),
+                    project.targetRelativePath() + ENTRY_SEPARATOR + toString(services) + System.lineSeparator());
+        }
+    }
+
+    public static void createAndStoreModuleInfrastructure() {
+        String moduleInfrastructure = FileSystemStorage.loadPartialFileContents(PARTIAL_MODULE_INFRASTRUCTURE_DIR_NAME)
+                .stream()
+                .flatMap(String::lines)
+                .filter(l -> !l.isBlank())
+                .sorted()
+                .map(l -> l + System.lineSeparator())
+                .collect(Collectors.joining());
+        FileSystemStorage.saveFileContent(MODULE_INFRASTRUCTURE_FILE_NAME, moduleInfrastructure);
+    }
+
+    /**
+     * @return test module path -> services it needs; empty if the extracted tests don't contain the infrastructure file
+     */
+    public static Map<String, Set<Service>> loadModuleServices() {
+        Path moduleInfrastructurePath = TARGET_DIR.resolve(MODULE_INFRASTRUCTURE_FILE_NAME);
+        if (!Files.exists(moduleInfrastructurePath)) {
+            return Map.of();
+        }
+        Map<String, Set<Service>> moduleToServices = new HashMap<>();
+        try (var lines = Files.lines(moduleInfrastructurePath)) {
+            lines.filter(l -> !l.isBlank()).map(l -> l.split(ENTRY_SEPARATOR)).forEach(entry -> {
+                var services = EnumSet.noneOf(Service.class);
+                Stream.of(entry[1].split(SERVICE_SEPARATOR)).map(Service::valueOf).forEach(services::add);
+                moduleToServices.put(entry[0], services);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load module infrastructure from " + moduleInfrastructurePath, e);
+        }
+        return moduleToServices;
+    }
+
+    public static String toString(Set<Service> services) {
+        return services.stream().map(Service::name).collect(Collectors.joining(SERVICE_SEPARATOR));
+    }
+
+    private static Set<Service> findServices(Project project, Model model, ModuleSources sources) {
+        var extensions = new ArrayList<String>();
+        if (!sources.devServicesDisabled()) {
+            // Dev Services are started for extensions on the classpath, including the tested extension
+            extensions.add(project.artifactId());
+            Stream.concat(model.getDependencies().stream(), model.getProfiles().stream()
+                            .flatMap(p -> p.getDependencies().stream()))
+                    .map(Dependency::getArtifactId)
+                    .forEach(extensions::add);
+        }
+        var containerClasses = sources.testSources().values().stream()
+                .filter(content -> content.contains("Container"))
+                .flatMap(content -> CONTAINER_CLASS.matcher(content).results())
+                .map(r -> r.group(1))
+                .toList();
+        return classify(extensions, ContainerImages.findImages(model, sources), containerClasses);
+    }
+
+    static Set<Service> classify(Collection<String> extensions, Collection<String> images,
+                                 Collection<String> containerClasses) {
+        var services = EnumSet.noneOf(Service.class);
+        for (Service service : Service.values()) {
+            if (extensions.stream().filter(Objects::nonNull).map(PluginUtils::dropDeploymentPostfix)
+                    .anyMatch(service.extensions::contains)
+                    || images.stream().map(ModuleInfrastructure::toImageRepository).anyMatch(service::isIndicatedByImage)
+                    || containerClasses.stream().anyMatch(service.containerClasses::contains)) {
+                services.add(service);
+            }
+        }
+        return services;
+    }
+
+    /**
+     * @return image name without registry, tag and digest, like 'keycloak/keycloak' for 'quay.io/keycloak/keycloak:26.1'
+     */
+    private static String toImageRepository(String image) {
+        String repository = image.toLowerCase(Locale.ROOT);
+        int digestStart = repository.indexOf('@');
+        if (digestStart != -1) {
+            repository = repository.substring(0, digestStart);
+        }
+        int tagStart = repository.lastIndexOf(':');
+        if (tagStart > repository.lastIndexOf('/')) {
+            repository = repository.substring(0, tagStart);
+        }
+        int firstSlash = repository.indexOf('/');
+        if (firstSlash != -1) {
+            String registry = repository.substring(0, firstSlash);
+            if (registry.contains(".") || registry.contains(":") || registry.equals("localhost")) {
+                repository = repository.substring(firstSlash + 1);
+            }
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,76 @@
+package io.quarkus.test.extractor.project.helper;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Sources of a test module that are analyzed during the extraction: test classes, application properties
+ * and Docker Maven plugins. The module is scanned once, and all the recorders that classify the test module
+ * (test inventory, parallel execution plan, module infrastructure and container images) share the scan.
+ *
+ * @param srcTestJavaPath path to the 'src/test/java' directory
+ * @param hasTestSources whether the 'src/test/java' directory exists
+ * @param testSources test source files sorted by path -> their content
+ * @param applicationProperties content of the main and test 'application.properties' files
+ * @param dockerMavenPlugins Docker Maven plugins declared in the module build or profiles
+ */
+public record ModuleSources(Path srcTestJavaPath, boolean hasTestSources, SortedMap<Path, String> testSources,
+                            List<String> applicationProperties, List<Plugin> dockerMavenPlugins) {
+
+    public static ModuleSources scan(Path projectPath, Model model) {
+        Path srcTestJavaPath = projectPath.resolve("src").resolve("test").resolve("java");
+        boolean hasTestSources = Files.exists(srcTestJavaPath);
+        var testSources = new TreeMap<Path, String>();
+        if (hasTestSources) {
+            try (var files = Files.walk(srcTestJavaPath)) {
+                files.filter(p -> p.getFileName().toString().endsWith(".java"))
+                        .filter(Files::isRegularFile)
+                        .forEach(p -> testSources.put(p, readFile(p)));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to scan test sources in " + srcTestJavaPath, e);
+            }
+        }
+        List<String> applicationProperties = Stream.of("main", "test")
+                .map(dir -> projectPath.resolve("src").resolve(dir).resolve("resources")
+                        .resolve("application.properties"))
+                .filter(Files::exists)
+                .map(ModuleSources::readFile)
+                .toList();
+        Stream<Plugin> plugins = model.getBuild() == null ? Stream.empty() : model.getBuild().getPlugins().stream();
+        List<Plugin> dockerMavenPlugins = Stream.concat(plugins, model.getProfiles().stream()
+                        .filter(p -> p.getBuild() != null)
+                        .flatMap(p -> p.getBuild().getPlugins().stream()))
+                .filter(p -> "docker-maven-plugin".equalsIgnoreCase(p.getArtifactId()))
+                .toList();
+        return new ModuleSources(srcTestJavaPath, hasTestSources, Collections.unmodifiableSortedMap(testSources),
+                applicationProperties, dockerMavenPlugins);
+    }
+
+    public boolean usesDockerMavenPlugin() {
+        return !dockerMavenPlugins.isEmpty();
+    }
+
+    public boolean devServicesDisabled() {
+        return applicationProperties.stream()
+                .flatMap(String::lines)
+                .map(l -> l.replace(" ", ""))
+                .anyMatch("quarkus.devservices.enabled=false"::equalsIgnoreCase);
+    }
+
+    private static String readFile(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + path, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether test module can run concurrently with other modules. Modules are not parallel-safe when
+ * they bind fixed ports we can't randomize, start containers with fixed names and ports, or use fixed database location.
+ * Parallel-safe modules are run with the 'parallel-tests' parent profile that randomizes Quarkus test ports.
+ * The final 'parallel-execution-plan' file contains lines like 'extensions/arc-deployment;PARALLEL;'.
+ */
+public final class ParallelExecutionPlan {
+
+    public enum ExecutionMode {
+        PARALLEL,
+        SERIAL
+    }
+
+    private static final String PARALLEL_EXECUTION_PLAN_FILE_NAME = "parallel-execution-plan";
+    private static final String PARTIAL_PARALLEL_EXECUTION_PLANS_DIR_NAME = "partial-parallel-execution-plans";
+    private static final String ENTRY_SEPARATOR = ";";
+    /**
+     * Ports randomized by the 'parallel-tests' profile, tests get them injected, so their values don't matter.
+     * Non-test ports are ignored by Quarkus tests.
+     */
+    private static final Set<String> IGNORED_PORT_PROPERTIES = Set.of("quarkus.http.test-port",
+            "quarkus.http.test-ssl-port", "quarkus.management.test-port", "quarkus.http.port", "quarkus.http.ssl-port",
+            "quarkus.management.port");
+    private static final Pattern FIXED_PORT_PROPERTY = Pattern.compile("^\\s*(?:%[\\w-]+\\.)?([\\w.\"-]*port)\\s*=\\s*(\\d+)\\s*$",
+            Pattern.MULTILINE);
+    private static final Pattern FIXED_DATABASE_LOCATION = Pattern.compile("jdbc:(?:h2:(?:file|tcp)|derby://)");
+    private static final Pattern SHARED_DEV_SERVICES = Pattern.compile("devservices\\.(?:shared\\s*=\\s*true|service-name)");
+    private static final Pattern FIXED_PORT_IN_TEST = Pattern.compile("(?:localhost|127\\.0\\.0\\.1):([1-9]\\d{1,4})"
+            + "|\\.port\\(\\s*([1-9]\\d{1,4})\\s*\\)|new (?:Server)?Socket\\([^)]*?\\b([1-9]\\d{1,4})\\s*\\)");
+
+    private ParallelExecutionPlan() {
+        // utils
+    }
+
+    public static void recordTestModule(Project project, ModuleSources sources) {
+        Optional<String> reason = findReasonToRunSerially(sources);
+        String entry = String.join(ENTRY_SEPARATOR, project.targetRelativePath(),
+                (reason.isPresent() ? ExecutionMode.SERIAL : ExecutionMode.PARALLEL).name(), reason.orElse(""));
+        FileSystemStorage.savePartialFileContent(PARTIAL_PARALLEL_EXECUTION_PLANS_DIR_NAME, project.artifactId(),
+                entry + System.lineSeparator());
+    }
+
+    public static void createAndStorePlan() {
+        String plan = FileSystemStorage.loadPartialFileContents(PARTIAL_PARALLEL_EXECUTION_PLANS_DIR_NAME).stream()
+                .flatMap(String::lines)
+                .filter(l -> !l.isBlank())
+                .sorted()
+                .map(l -> l + System.lineSeparator())
+                .reduce("", String::concat);
+        FileSystemStorage.saveFileContent(PARALLEL_EXECUTION_PLAN_FILE_NAME, plan);
+    }
+
+    private static Optional<String> findReasonToRunSerially(ModuleSources sources) {
+        if (sources.usesDockerMavenPlugin()) {
+            return Optional.of("starts containers with fixed names and ports using the Docker Maven plugin");
+        }
+        for (String properties : sources.applicationProperties()) {
+            var fixedPort = FIXED_PORT_PROPERTY.matcher(properties).results()
+                    .filter(r -> !IGNORED_PORT_PROPERTIES.contains(r.group(1)) && !"0".equals(r.group(2)))
+                    .findFirst();
+            if (fixedPort.isPresent()) {
+                return Optional.of("binds fixed port %s=%s".formatted(fixedPort.get().group(1), fixedPort.get().group(2)));
+            }
+            if (FIXED_DATABASE_LOCATION.matcher(properties).find()) {
+                return Optional.of("uses database with fixed location");
+            }
+            if (SHARED_DEV_SERVICES.matcher(properties).find()) {
+                return Optional.of("shares Dev Services containers");
+            }
+        }
+        return sources.testSources().entrySet().stream()
+                .flatMap(e -> FIXED_PORT_IN_TEST.matcher(e.getValue()).results().findFirst()
+                        .map(r -> "%s uses fixed port in '%s'".formatted(e.getKey().getFileName(), r.group()))
+                        .stream())
+                .findFirst();
+    }
+}
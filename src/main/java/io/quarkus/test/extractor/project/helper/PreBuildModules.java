@@ -0,0 +1,160 @@
+package io.quarkus.test.extractor.project.helper;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.COMMUNITY_DEPENDENCIES;
+import static io.quarkus.test.extractor.project.utils.MavenUtils.isTestJar;
+
+/**
+ * Records reactor artifacts that extraction and tests of extracted modules need, but that are not available
+ * in Maven Central: modules copied as they are, test-jars and community dependencies. The final 'pre-build-modules'
+ * file contains relative paths of modules whose artifacts are missing in the local repository or are older than
+ * the module sources (e.g. a stale SNAPSHOT installed before the Quarkus checkout was updated) in the format
+ * accepted by the '-pl' Maven option, so that Quarkus build can be limited to them and modules they require ('-am').
+ */
+public final class PreBuildModules {
+
+    public static final String PRE_BUILD_MODULES_FILE_NAME = "pre-build-modules";
+    private static final String PARTIAL_PRE_BUILD_MODULES_DIR_NAME = "partial-pre-build-modules";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String MODULE_SEPARATOR = ",";
+    private static final String MODULE = "MODULE";
+    private static final String REQUIRED = "REQUIRED";
+    private static final String TESTS_CLASSIFIER = "tests";
+    private static final String POM = "pom";
+    private static final String JAR = "jar";
+    private static final String ROOT_MODULE = ".";
+    private static final String POM_XML = "pom.xml";
+    private static final String SRC = "src";
+
+    private PreBuildModules() {
+        // utils
+    }
+
+    private record Module(String groupId, String artifactId, String version, String packaging, String relativePath,
+                          Path basedir) {
+    }
+
+    private record RequiredArtifact(String groupId, String artifactId, String classifier) {
+    }
+
+    /**
+     * @param copied whether the module is copied to the extracted project as it is
+     * @param extracted whether tests of the module are extracted, or it is copied
+     */
+    public static void recordModule(MavenProject mavenProject, String relativePath, boolean copied, boolean extracted) {
+        var content = new StringBuilder();
+        content.append(String.join(ENTRY_SEPARATOR, MODULE, mavenProject.getGroupId(), mavenProject.getArtifactId(),
+                mavenProject.getVersion(), mavenProject.getPackaging(),
+                relativePath.isEmpty() ? ROOT_MODULE : relativePath, mavenProject.getBasedir().getAbsolutePath()));
+        if (copied) {
+            appendRequired(content, mavenProject.getGroupId(), mavenProject.getArtifactId(), "");
+        }
+        if (extracted) {
+            mavenProject.getDependencies().stream()
+                    .filter(d -> isTestJar(d) || TESTS_CLASSIFIER.equals(d.getClassifier()))
+                    .forEach(d -> appendRequired(content, d.getGroupId(), d.getArtifactId(), TESTS_CLASSIFIER));
+        }
+        FileSystemStorage.savePartialFileContent(PARTIAL_PRE_BUILD_MODULES_DIR_NAME, mavenProject.getArtifactId(),
+                content.toString());
+    }
+
+    private static void appendRequired(StringBuilder content, String groupId, String artifactId, String classifier) {
+        content.append(System.lineSeparator())
+                .append(String.join(ENTRY_SEPARATOR, REQUIRED, groupId, artifactId, classifier));
+    }
+
+    /**
+     * @return number of modules that must be built before extraction
+     */
+    public static int createAndStorePreBuildModules(RepositorySystemSession repositorySession) {
+        Map<String, Module> keyToModule = new HashMap<>();
+        Set<RequiredArtifact> requiredArtifacts = new HashSet<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_PRE_BUILD_MODULES_DIR_NAME).stream()
+                .flatMap(String::lines)
+                .filter(line -> !line.isBlank())
+                .map(line -> line.split(ENTRY_SEPARATOR, -1))
+                .forEach(entry -> {
+                    if (MODULE.equals(entry[0])) {
+                        var module = new Module(entry[1], entry[2], entry[3], entry[4], entry[5],
+                                Path.of(entry[6]));
+                        keyToModule.put(toKey(module.groupId, module.artifactId), module);
+                        if (COMMUNITY_DEPENDENCIES.contains(module.artifactId)) {
+                            requiredArtifacts.add(new RequiredArtifact(module.groupId, module.artifactId, ""));
+                        }
+                    } else {
+                        requiredArtifacts.add(new RequiredArtifact(entry[1], entry[2], entry[3]));
+                    }
+                });
+
+        var preBuildModules = new TreeSet<String>();
+        requiredArtifacts.forEach(requiredArtifact -> {
+            var module = keyToModule.get(toKey(requiredArtifact.groupId, requiredArtifact.artifactId));
+            // artifacts that are not built by this reactor come from remote repositories
+            if (module != null && isMissingOrStaleInLocalRepository(repositorySession, module,
+                    requiredArtifact.classifier)) {
+                preBuildModules.add(module.relativePath);
+            }
+        });
+        FileSystemStorage.writeFileContent(PRE_BUILD_MODULES_FILE_NAME, String.join(MODULE_SEPARATOR, preBuildModules));
+        return preBuildModules.size();
+    }
+
+    private static boolean isMissingOrStaleInLocalRepository(RepositorySystemSession repositorySession, Module module,
+                                                             String classifier) {
+        String extension = POM.equals(module.packaging) && classifier.isEmpty() ? POM : JAR;
+        var artifact = new DefaultArtifact(module.groupId, module.artifactId, classifier, extension, module.version);
+        var result = repositorySession.getLocalRepositoryManager()
+                .find(repositorySession, new LocalArtifactRequest(artifact, List.of(), null));
+        // file is set even when the artifact was downloaded from repository other than requested
+        return result.getFile() == null || isOlderThanModuleSources(result.getFile().toPath(), module.basedir);
+    }
+
+    /**
+     * Installed artifacts of reactor modules are SNAPSHOTs, which are not rebuilt when the Quarkus checkout changes,
+     * therefore the artifact is only usable when no module source was modified after it was installed.
+     */
+    static boolean isOlderThanModuleSources(Path artifact, Path moduleDir) {
+        try {
+            FileTime installed = Files.getLastModifiedTime(artifact);
+            if (Files.getLastModifiedTime(moduleDir.resolve(POM_XML)).compareTo(installed) > 0) {
+                return true;
+            }
+            Path srcDir = moduleDir.resolve(SRC);
+            if (!Files.exists(srcDir)) {
+                return false;
+            }
+            try (var files = Files.walk(srcDir)) {
+                return files.anyMatch(file -> getLastModifiedTime(file).compareTo(installed) > 0);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compare " + artifact + " with sources of module " + moduleDir, e);
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read last modified time of " + file, e);
+        }
+    }
+
+    private static String toKey(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+}
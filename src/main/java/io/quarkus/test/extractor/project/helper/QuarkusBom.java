@@ -3,7 +3,6 @@ package io.quarkus.test.extractor.project.helper;
 import io.quarkus.test.extractor.project.utils.MavenUtils;
 import io.quarkus.test.extractor.project.utils.PluginUtils;
 import org.apache.maven.model.Dependency;
-import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 
 import java.io.IOException;
@@ -21,6 +20,8 @@ public final class QuarkusBom {
 
     private static final String QUARKUS_BOM_ARTIFACT_ID = "quarkus-bom";
     private static final String MANAGED_DEPENDENCIES_FILE_NAME = "quarkus-bom-managed-deps";
+    public static final String MANAGED_VERSIONS_FILE_NAME = "quarkus-bom-managed-versions";
+    public static final String MANAGED_VERSION_SEPARATOR = ";";
     private static final String STORK_CONFIG_GEN_VERSION_FILE_NAME = "stork-configuration-generator-version";
     private static final String HIBERNATE_JPA_MODEL_GEN_VERSION_FILE_NAME = "hibernate-jpamodelgen-version";
     private static final QuarkusBom INSTANCE = create();
@@ -78,26 +79,33 @@ public final class QuarkusBom {
         return managementKeys;
     }
 
-    private static void saveToFileSystem(String managementKeys, String storkConfigGenVersion,
-                                         String hibernateJpaModelGenVersion) throws MojoExecutionException {
+    private static void saveToFileSystem(String managementKeys, String managedVersions, String storkConfigGenVersion,
+                                         String hibernateJpaModelGenVersion) {
         try {
             Files.writeString(getManagementKeysPath(), managementKeys, CREATE_NEW);
         } catch (IOException e) {
-            throw new MojoExecutionException("Failed to save Quarkus BOM managed dependencies. "
+            throw new RuntimeException("Failed to save Quarkus BOM managed dependencies. "
+                    + "Please make sure that target directory does "
+                    + "not exist or is empty", e);
+        }
+        try {
+            Files.writeString(PluginUtils.TARGET_DIR.resolve(MANAGED_VERSIONS_FILE_NAME), managedVersions, CREATE_NEW);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save Quarkus BOM managed dependency versions. "
                     + "Please make sure that target directory does "
                     + "not exist or is empty", e);
         }
         try {
             Files.writeString(getStorkConfigGenVersionPath(), storkConfigGenVersion, CREATE_NEW);
         } catch (IOException e) {
-            throw new MojoExecutionException("Failed to save 'stork-configuration-generator' version. "
+            throw new RuntimeException("Failed to save 'stork-configuration-generator' version. "
                     + "Please make sure that target directory does "
                     + "not exist or is empty", e);
         }
         try {
             Files.writeString(getHibernateJpaModelGenVersionPath(), hibernateJpaModelGenVersion, CREATE_NEW);
         } catch (IOException e) {
-            throw new MojoExecutionException("Failed to save 'hibernate-jpamodelgen' version. "
+            throw new RuntimeException("Failed to save 'hibernate-jpamodelgen' version. "
                     + "Please make sure that target directory does "
                     + "not exist or is empty", e);
         }
@@ -126,9 +134,20 @@ public final class QuarkusBom {
         return dependencies.map(MavenUtils::getManagementKey).collect(Collectors.joining(System.lineSeparator()));
     }
 
-    public static void saveDependencyKeys(MavenProject mavenProject) throws MojoExecutionException {
+    /**
+     * @return snapshot of the managed dependencies with lines like 'io.quarkus:quarkus-arc;3.15.1', this snapshot
+     *         can be compared with a snapshot of another platform build
+     */
+    private static String getManagedVersions(MavenProject mavenProject) {
+        return mavenProject.getDependencyManagement().getDependencies().stream()
+                .map(d -> getManagementKey(d) + MANAGED_VERSION_SEPARATOR + d.getVersion())
+                .sorted()
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    public static void saveDependencyKeys(MavenProject mavenProject) {
         createDirectoryStructureIfNotExists();
-        saveToFileSystem(getManagementKeys(mavenProject),
+        saveToFileSystem(getManagementKeys(mavenProject), getManagedVersions(mavenProject),
                 getManagedArtifactVersion(mavenProject, "io.smallrye.stork", "stork-configuration-generator"),
                 getManagedArtifactVersion(mavenProject, "org.hibernate.orm", "hibernate-jpamodelgen"));
     }
@@ -0,0 +1,139 @@
+package io.quarkus.test.extractor.project.helper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static io.quarkus.test.extractor.project.utils.MavenUtils.POM_XML;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.EXTENSIONS;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.INTEGRATION_TESTS;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+
+/**
+ * Fingerprints of extracted test module inputs (module files, files of managed modules it depends on and the parent POM),
+ * used as a part of the test result cache key.
+ * The 'test-input-fingerprints' file contains lines like 'extensions/arc-deployment;[SHA-256 hex]'.
+ */
+public final class TestInputFingerprints {
+
+    public static final String TEST_INPUT_FINGERPRINTS_FILE_NAME = "test-input-fingerprints";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String BUILD_DIR = "target";
+
+    private TestInputFingerprints() {
+        // utils
+    }
+
+    /**
+     * Must be called once all the extracted files are final and the managed module dependencies were stored.
+     */
+    public static void createAndStoreFingerprints() {
+        byte[] parentPom = readAllBytes(TARGET_DIR.resolve(POM_XML));
+        var testModulePathToManagedModulePaths = ManagedModuleDependencies.loadManagedModuleDependencies();
+        // managed modules like common JPA entities are shared by many test modules
+        Map<String, byte[]> managedModulePathToDigest = new HashMap<>();
+        var fingerprints = new StringBuilder();
+        for (Path testModuleDir : findTestModuleDirs()) {
+            String testModulePath = toUnixPath(TARGET_DIR.relativize(testModuleDir));
+            MessageDigest digest = createDigest();
+            digest.update(parentPom);
+            digest.update(digestModuleFiles(testModuleDir));
+            for (String managedModulePath : testModulePathToManagedModulePaths.getOrDefault(testModulePath, List.of())) {
+                Path managedModuleDir = TARGET_DIR.resolve(managedModulePath);
+                if (Files.isDirectory(managedModuleDir)) {
+                    digest.update(managedModulePath.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(managedModulePathToDigest.computeIfAbsent(managedModulePath,
+                            k -> digestModuleFiles(managedModuleDir)));
+                }
+            }
+            fingerprints.append(testModulePath).append(ENTRY_SEPARATOR)
+                    .append(HexFormat.of().formatHex(digest.digest())).append(System.lineSeparator());
+        }
+        FileSystemStorage.saveFileContent(TEST_INPUT_FINGERPRINTS_FILE_NAME, fingerprints.toString());
+    }
+
+    private static byte[] digestModuleFiles(Path moduleDir) {
+        MessageDigest digest = createDigest();
+        listModuleFiles(moduleDir).forEach(file -> {
+            digest.update(toUnixPath(moduleDir.relativize(file)).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(readAllBytes(file));
+        });
+        return digest.digest();
+    }
+
+    private static List<Path> findTestModuleDirs() {
+        return Stream.of(EXTENSIONS, INTEGRATION_TESTS).map(TARGET_DIR::resolve).filter(Files::isDirectory)
+                .flatMap(dir -> {
+                    try (var files = Files.walk(dir)) {
+                        return files
+                                .filter(p -> p.getFileName().toString().equals(POM_XML))
+                                .map(Path::getParent)
+                                .filter(moduleDir -> Files.isDirectory(moduleDir.resolve("src").resolve("test")))
+                                .toList()
+                                .stream();
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to find test modules in " + dir, e);
+                    }
+                })
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * @return module files ordered by their path without build output and submodules
+     */
+    private static List<Path> listModuleFiles(Path moduleDir) {
+        try (var files = Files.walk(moduleDir)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !isInBuildDirOrSubmodule(moduleDir, file))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list files of " + moduleDir, e);
+        }
+    }
+
+    private static boolean isInBuildDirOrSubmodule(Path moduleDir, Path file) {
+        Path relativePath = moduleDir.relativize(file);
+        if (relativePath.getNameCount() > 1 && BUILD_DIR.equals(relativePath.getName(0).toString())) {
+            return true;
+        }
+        for (Path dir = file.getParent(); !dir.equals(moduleDir); dir = dir.getParent()) {
+            if (Files.exists(dir.resolve(POM_XML))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to create SHA-256 digest", e);
+        }
+    }
+
+    private static byte[] readAllBytes(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + file, e);
+        }
+    }
+
+    private static String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+}
@@ -0,0 +1,324 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.builder.Project;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.quarkus.test.extractor.project.helper.DisabledTest.hasProjectDisabledTests;
+import static io.quarkus.test.extractor.project.helper.DisabledTest.isNotDisabledTest;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.TARGET_DIR;
+import static io.quarkus.test.extractor.project.utils.PluginUtils.dropDeploymentPostfix;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Index of every extracted test class and its execution traits.
+ * Each module stores its test classes as a partial inventory, and the last module merges them into a single
+ * binary file that can be memory-mapped, so that questions like "which modules have native ITs" are answered
+ * without walking the extracted sources.
+ * <p>
+ * File layout: header (magic, string count, record count), string offsets, fixed-size records, string data.
+ */
+public final class TestInventory {
+
+    public enum TestKind {
+        QUARKUS_UNIT_TEST,
+        QUARKUS_DEV_MODE_TEST,
+        QUARKUS_PROD_MODE_TEST,
+        QUARKUS_TEST,
+        QUARKUS_INTEGRATION_TEST,
+        OTHER
+    }
+
+    public enum TestTrait {
+        /**
+         * Executed by the Failsafe plugin, for '@QuarkusIntegrationTest' that means it also runs in native.
+         */
+        FAILSAFE,
+        /**
+         * Starts containers on its own or the module starts them with the Docker Maven plugin.
+         */
+        CONTAINERS,
+        /**
+         * May start containers through Quarkus Dev Services.
+         */
+        DEV_SERVICES,
+        /**
+         * Not extracted, see {@link DisabledTest}.
+         */
+        DISABLED;
+
+        private int mask() {
+            return 1 << ordinal();
+        }
+    }
+
+    public record TestClass(String module, String modulePath, String profile, String className, TestKind kind,
+                            Set<TestTrait> traits) {
+
+        public boolean has(TestTrait trait) {
+            return traits.contains(trait);
+        }
+
+        public boolean requiresDocker() {
+            return has(TestTrait.CONTAINERS) || has(TestTrait.DEV_SERVICES);
+        }
+    }
+
+    private static final String TEST_INVENTORY_FILE_NAME = "test-inventory";
+    private static final String PARTIAL_TEST_INVENTORIES_DIR_NAME = "partial-test-inventories";
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final int MAGIC = 0x51544931;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int RECORD_SIZE = 4 * Integer.BYTES + 4;
+    private static final Pattern SUREFIRE_TEST_CLASS = Pattern.compile("(Test.*|.*Test|.*Tests|.*TestCase)\\.java");
+    private static final Pattern FAILSAFE_TEST_CLASS = Pattern.compile("(IT.*|.*IT|.*ITCase)\\.java");
+    /**
+     * Runtime extensions that start containers through Dev Services unless configured otherwise.
+     */
+    private static final Set<String> DEV_SERVICES_EXTENSIONS = Set.of("quarkus-jdbc-postgresql",
+            "quarkus-jdbc-mysql", "quarkus-jdbc-mariadb", "quarkus-jdbc-mssql", "quarkus-jdbc-db2",
+            "quarkus-jdbc-oracle", "quarkus-reactive-pg-client", "quarkus-reactive-mysql-client",
+            "quarkus-reactive-mssql-client", "quarkus-reactive-db2-client", "quarkus-reactive-oracle-client",
+            "quarkus-kafka-client", "quarkus-messaging-kafka", "quarkus-kafka-streams", "quarkus-messaging-amqp",
+            "quarkus-messaging-rabbitmq", "quarkus-messaging-pulsar", "quarkus-redis-client",
+            "quarkus-mongodb-client", "quarkus-oidc", "quarkus-keycloak-authorization",
+            "quarkus-elasticsearch-rest-client", "quarkus-elasticsearch-java-client",
+            "quarkus-hibernate-search-orm-elasticsearch", "quarkus-infinispan-client",
+            "quarkus-apicurio-registry-avro", "quarkus-observability-devservices-lgtm");
+
+    private final MappedByteBuffer buffer;
+    private final int stringCount;
+    private final int recordCount;
+    private final String[] strings;
+
+    private TestInventory(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("File '" + TEST_INVENTORY_FILE_NAME + "' is not a test inventory");
+        }
+        this.buffer = buffer;
+        this.stringCount = buffer.getInt(Integer.BYTES);
+        this.recordCount = buffer.getInt(2 * Integer.BYTES);
+        this.strings = new String[stringCount];
+    }
+
+    public static TestInventory load() {
+        return load(TARGET_DIR.resolve(TEST_INVENTORY_FILE_NAME));
+    }
+
+    public static TestInventory load(Path inventoryPath) {
+        try (var channel = FileChannel.open(inventoryPath, READ)) {
+            return new TestInventory(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load test inventory " + inventoryPath
+                    + ", please make sure tests were extracted first", e);
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public Stream<TestClass> testClasses() {
+        return IntStream.range(0, recordCount).mapToObj(this::testClass);
+    }
+
+    /**
+     * @return target relative paths of modules that contains at least one matching test class
+     */
+    public List<String> modulePaths(Predicate<TestClass> predicate) {
+        return testClasses().filter(predicate).map(TestClass::modulePath).distinct().sorted().toList();
+    }
+
+    private TestClass testClass(int index) {
+        int position = HEADER_SIZE + stringCount * Integer.BYTES + index * RECORD_SIZE;
+        String module = string(buffer.getInt(position));
+        String modulePath = string(buffer.getInt(position + Integer.BYTES));
+        String className = string(buffer.getInt(position + 2 * Integer.BYTES));
+        String profile = string(buffer.getInt(position + 3 * Integer.BYTES));
+        TestKind kind = TestKind.values()[buffer.get(position + 4 * Integer.BYTES)];
+        int traitsMask = buffer.get(position + 4 * Integer.BYTES + 1);
+        return new TestClass(module, modulePath, profile, className, kind, toTraits(traitsMask));
+    }
+
+    private String string(int index) {
+        String string = strings[index];
+        if (string == null) {
+            int offset = buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+            int length = buffer.getInt(offset);
+            byte[] bytes = new byte[length];
+            buffer.get(offset + Integer.BYTES, bytes);
+            string = new String(bytes, UTF_8);
+            strings[index] = string;
+        }
+        return string;
+    }
+
+    public static void recordTestClasses(Project project, Model model, ModuleSources sources) {
+        if (!sources.hasTestSources()) {
+            return;
+        }
+        boolean moduleStartsContainers = sources.usesDockerMavenPlugin();
+        boolean moduleMayUseDevServices = mayUseDevServices(project, model, sources);
+        boolean containsDisabledTests = hasProjectDisabledTests(project.artifactId());
+        Path srcTestJavaPath = sources.srcTestJavaPath();
+        var partialInventory = new StringBuilder();
+        partialInventory
+                .append(project.artifactId()).append(ENTRY_SEPARATOR)
+                .append(project.targetRelativePath()).append(ENTRY_SEPARATOR)
+                .append(project.targetProfileName()).append(System.lineSeparator());
+        sources.testSources().forEach((testClassPath, content) -> {
+            String fileName = testClassPath.getFileName().toString();
+            boolean failsafe = FAILSAFE_TEST_CLASS.matcher(fileName).matches();
+            if (!failsafe && !SUREFIRE_TEST_CLASS.matcher(fileName).matches()) {
+                return;
+            }
+            String simpleName = fileName.substring(0, fileName.length() - ".java".length());
+            if (Pattern.compile("abstract\\s+class\\s+" + simpleName + "\\b").matcher(content).find()) {
+                // Surefire and Failsafe skip abstract classes as well
+                return;
+            }
+            var traits = EnumSet.noneOf(TestTrait.class);
+            if (failsafe) {
+                traits.add(TestTrait.FAILSAFE);
+            }
+            if (moduleStartsContainers || startsContainers(content)) {
+                traits.add(TestTrait.CONTAINERS);
+            }
+            if (moduleMayUseDevServices || content.toLowerCase(Locale.ROOT).contains("devservices")) {
+                traits.add(TestTrait.DEV_SERVICES);
+            }
+            if (containsDisabledTests && !isNotDisabledTest(project.artifactId(), testClassPath.toFile())) {
+                traits.add(TestTrait.DISABLED);
+            }
+            String className = srcTestJavaPath.relativize(testClassPath).toString()
+                    .replace(testClassPath.getFileSystem().getSeparator(), ".");
+            className = className.substring(0, className.length() - ".java".length());
+            partialInventory
+                    .append(className).append(ENTRY_SEPARATOR)
+                    .append(detectTestKind(content).name()).append(ENTRY_SEPARATOR)
+                    .append(toMask(traits)).append(System.lineSeparator());
+        });
+        FileSystemStorage.savePartialFileContent(PARTIAL_TEST_INVENTORIES_DIR_NAME, project.artifactId(),
+                partialInventory.toString());
+    }
+
+    public static void createAndStoreInventory() {
+        Map<String, Integer> stringToIndex = new LinkedHashMap<>();
+        List<int[]> records = new ArrayList<>();
+        FileSystemStorage.loadPartialFileContents(PARTIAL_TEST_INVENTORIES_DIR_NAME).forEach(partialInventory -> {
+            var lines = partialInventory.lines().filter(l -> !l.isBlank()).toList();
+            String[] module = lines.get(0).split(ENTRY_SEPARATOR);
+            int artifactId = indexOf(module[0], stringToIndex);
+            int modulePath = indexOf(module[1], stringToIndex);
+            int profile = indexOf(module[2], stringToIndex);
+            lines.stream().skip(1).map(l -> l.split(ENTRY_SEPARATOR)).forEach(testClass -> records.add(new int[]{
+                    artifactId, modulePath, indexOf(testClass[0], stringToIndex), profile,
+                    TestKind.valueOf(testClass[1]).ordinal(), Integer.parseInt(testClass[2])}));
+        });
+        String[] strings = stringToIndex.keySet().toArray(String[]::new);
+        // deterministic order no matter in which order modules were extracted
+        records.sort(Comparator.<int[], String>comparing(r -> strings[r[1]]).thenComparing(r -> strings[r[2]]));
+        writeInventory(strings, records);
+    }
+
+    private static void writeInventory(String[] strings, List<int[]> records) {
+        byte[][] encodedStrings = Arrays.stream(strings).map(s -> s.getBytes(UTF_8)).toArray(byte[][]::new);
+        int stringsOffset = HEADER_SIZE + strings.length * Integer.BYTES + records.size() * RECORD_SIZE;
+        int size = stringsOffset + Arrays.stream(encodedStrings).mapToInt(b -> Integer.BYTES + b.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(strings.length).putInt(records.size());
+        int offset = stringsOffset;
+        for (byte[] encodedString : encodedStrings) {
+            buffer.putInt(offset);
+            offset += Integer.BYTES + encodedString.length;
+        }
+        for (int[] record : records) {
+            buffer.putInt(record[0]).putInt(record[1]).putInt(record[2]).putInt(record[3])
+                    .put((byte) record[4]).put((byte) record[5]).putShort((short) 0);
+        }
+        for (byte[] encodedString : encodedStrings) {
+            buffer.putInt(encodedString.length).put(encodedString);
+        }
+        Path inventoryPath = TARGET_DIR.resolve(TEST_INVENTORY_FILE_NAME);
+        try (var channel = FileChannel.open(inventoryPath, CREATE_NEW, WRITE)) {
+            channel.write(buffer.flip());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create test inventory " + inventoryPath, e);
+        }
+    }
+
+    private static int indexOf(String string, Map<String, Integer> stringToIndex) {
+        return stringToIndex.computeIfAbsent(string, s -> stringToIndex.size());
+    }
+
+    private static TestKind detectTestKind(String content) {
+        if (content.contains("QuarkusDevModeTest")) {
+            return TestKind.QUARKUS_DEV_MODE_TEST;
+        }
+        if (content.contains("QuarkusProdModeTest")) {
+            return TestKind.QUARKUS_PROD_MODE_TEST;
+        }
+        if (content.contains("QuarkusUnitTest")) {
+            return TestKind.QUARKUS_UNIT_TEST;
+        }
+        if (content.contains("@QuarkusIntegrationTest") || content.contains("@QuarkusMainIntegrationTest")) {
+            return TestKind.QUARKUS_INTEGRATION_TEST;
+        }
+        if (content.contains("@QuarkusTest") || content.contains("@QuarkusMainTest")) {
+            return TestKind.QUARKUS_TEST;
+        }
+        return TestKind.OTHER;
+    }
+
+    private static boolean startsContainers(String content) {
+        return content.contains("org.testcontainers") || content.contains("GenericContainer")
+                || content.contains("DockerImageName");
+    }
+
+    private static boolean mayUseDevServices(Project project, Model model, ModuleSources sources) {
+        if (sources.devServicesDisabled()) {
+            return false;
+        }
+        return DEV_SERVICES_EXTENSIONS.contains(dropDeploymentPostfix(project.artifactId()))
+                || model.getDependencies().stream()
+                .map(Dependency::getArtifactId)
+                .map(artifactId -> artifactId == null ? "" : dropDeploymentPostfix(artifactId))
+                .anyMatch(DEV_SERVICES_EXTENSIONS::contains);
+    }
+
+    private static int toMask(Set<TestTrait> traits) {
+        return traits.stream().mapToInt(TestTrait::mask).reduce(0, (a, b) -> a | b);
+    }
+
+    private static Set<TestTrait> toTraits(int mask) {
+        var traits = EnumSet.noneOf(TestTrait.class);
+        for (TestTrait trait : TestTrait.values()) {
+            if ((mask & trait.mask()) != 0) {
+                traits.add(trait);
+            }
+        }
+        return traits;
+    }
+}
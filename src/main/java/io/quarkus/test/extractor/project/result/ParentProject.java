@@ -1,6 +1,7 @@
 package io.quarkus.test.extractor.project.result;
 
 import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ManagedProjects;
 import io.quarkus.test.extractor.project.utils.MavenUtils;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
@@ -9,6 +10,7 @@ import org.apache.maven.model.Profile;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static io.quarkus.test.extractor.project.utils.MavenUtils.*;
 
@@ -29,6 +31,14 @@ public final class ParentProject {
             "quarkus-security-test-utils",
             "quarkus-integration-test-common-jpa-entities");
     private static final Model MAVEN_MODEL = MavenUtils.getMavenModel("pom-test-parent-skeleton.xml");
+    /**
+     * Artifact ids managed by the parent project skeleton, before any extracted module is added to it.
+     */
+    private static final Set<String> SKELETON_MANAGED_ARTIFACT_IDS = MAVEN_MODEL.getDependencyManagement()
+            .getDependencies().stream()
+            .map(d -> d.getArtifactId().toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    private static final ThreadLocal<List<Change>> RECORDED_CHANGES = new ThreadLocal<>();
     private static final Map<String, String> PLUGIN_ARTIFACT_ID_TO_VERSION_PROP;
 
     static {
@@ -48,6 +58,65 @@ public final class ParentProject {
         PLUGIN_ARTIFACT_ID_TO_VERSION_PROP = Map.copyOf(plugins);
     }
 
+    public enum ChangeType {
+        TEST_MODULE,
+        MANAGED_PROJECT
+    }
+
+    /**
+     * Module or managed project added to the parent project by extraction of one module.
+     *
+     * @param profile profile where the module is added, or null when only the project is managed
+     */
+    public record Change(ChangeType type, String artifactId, String profile, String module) {
+
+        private void apply() {
+            switch (type) {
+                case TEST_MODULE -> findProfileByName(profile).addModule(module);
+                case MANAGED_PROJECT -> {
+                    var managedDependency = new Dependency();
+                    managedDependency.setVersion("$USE-EXTRACTED-PROPERTIES{project.version}");
+                    managedDependency.setArtifactId(artifactId);
+                    managedDependency.setGroupId(TEST_PARENT_GROUP_ID);
+                    MAVEN_MODEL.getDependencyManagement().addDependency(managedDependency);
+                    if (profile != null) {
+                        getProfile(profile).ifPresent(p -> p.addModule(module));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records changes of the parent project made by the extraction on the current thread instead of applying them,
+     * so that modules can be extracted concurrently and their changes applied in the reactor order.
+     *
+     * @return changes made by the extraction in the order they were made
+     */
+    public static List<Change> recordChanges(Runnable extraction) {
+        var changes = new ArrayList<Change>();
+        RECORDED_CHANGES.set(changes);
+        try {
+            extraction.run();
+        } finally {
+            RECORDED_CHANGES.remove();
+        }
+        return changes;
+    }
+
+    public static void applyChanges(List<Change> changes) {
+        changes.forEach(Change::apply);
+    }
+
+    private static void applyOrRecord(Change change) {
+        var recordedChanges = RECORDED_CHANGES.get();
+        if (recordedChanges == null) {
+            change.apply();
+        } else {
+            recordedChanges.add(change);
+        }
+    }
+
     public static void correctGroupIdIfNecessary(Dependency dependency) {
         if (isManagedByTestParent(dependency)) {
             dependency.setGroupId(TEST_PARENT_GROUP_ID);
@@ -56,17 +125,27 @@ public final class ParentProject {
     }
 
     public static void addTestModule(String testModuleName, String profile) {
-        findProfileByName(profile).addModule(testModuleName);
+        applyOrRecord(new Change(ChangeType.TEST_MODULE, null, profile, testModuleName));
     }
 
+    /**
+     * Managed projects are added to the parent project as modules are extracted, therefore they are looked up
+     * in the project metadata, so that the result is the same when modules are extracted concurrently.
+     */
     public static boolean isManagedByTestParent(Dependency dependency) {
         if (dependency == null) {
             return false;
         }
-        return copyAsIsContainsArtifactId(dependency)
-                || dependency.getArtifactId().startsWith("quarkus-integration-test")
-                || MAVEN_MODEL.getDependencyManagement().getDependencies().stream()
-                .anyMatch(d -> dependency.getArtifactId().equalsIgnoreCase(d.getArtifactId()));
+        return isManagedByTestParent(dependency.getArtifactId())
+                || SKELETON_MANAGED_ARTIFACT_IDS.contains(dependency.getArtifactId().toLowerCase(Locale.ROOT))
+                || ManagedProjects.isManagedProject(dependency.getArtifactId());
+    }
+
+    /**
+     * @return true if the artifact is (or would be) one of modules copied as is, regardless of the processing order
+     */
+    public static boolean isManagedByTestParent(String artifactId) {
+        return COPY_AS_IS_ARTIFACT_IDS.contains(artifactId) || artifactId.startsWith("quarkus-integration-test");
     }
 
     public static boolean copyAsIsContainsArtifactId(Dependency dependency) {
@@ -112,6 +191,13 @@ public final class ParentProject {
         return actualValue.equals(propertyValue);
     }
 
+    /**
+     * @return property defined in the parent project, e.g. one of properties copied from the Quarkus build parent
+     */
+    public static String getProperty(String propertyName) {
+        return MAVEN_MODEL.getProperties() == null ? null : MAVEN_MODEL.getProperties().getProperty(propertyName);
+    }
+
     public static String getPluginVersionInParentProps(Plugin plugin) {
         String pluginArtifactId = plugin.getArtifactId();
         String propertyName = PLUGIN_ARTIFACT_ID_TO_VERSION_PROP.get(pluginArtifactId);
@@ -131,20 +217,16 @@ public final class ParentProject {
     }
 
     public static void addManagedProject(Project project) {
-        var managedDependency = new Dependency();
-        managedDependency.setVersion("$USE-EXTRACTED-PROPERTIES{project.version}");
-        managedDependency.setArtifactId(project.artifactId());
-        managedDependency.setGroupId(TEST_PARENT_GROUP_ID);
-        MAVEN_MODEL.getDependencyManagement().addDependency(managedDependency);
+        String profile = null;
         if (project.isIntegrationTestModule()) {
             if (project.isDirectSubModule()) {
-                getProfile("integration-tests-managed-modules" + getProfilePostfix(project))
-                        .ifPresent(profile -> profile.addModule(project.targetRelativePath()));
+                profile = "integration-tests-managed-modules" + getProfilePostfix(project);
             }
         } else {
-            getProfile("extension-tests-managed-modules")
-                    .ifPresent(profile -> profile.addModule(project.targetRelativePath()));
+            profile = "extension-tests-managed-modules";
         }
+        applyOrRecord(new Change(ChangeType.MANAGED_PROJECT, project.artifactId(), profile,
+                project.targetRelativePath()));
     }
 
     public static Optional<Profile> getProfile(String x) {
@@ -1,7 +1,9 @@
 package io.quarkus.test.extractor.project.result;
 
 import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ExtractionMetrics;
 import io.quarkus.test.extractor.project.utils.MavenUtils;
+import io.quarkus.test.extractor.project.utils.ModelCopies;
 import org.apache.maven.model.Model;
 
 import static io.quarkus.test.extractor.project.utils.MavenUtils.TEST_PARENT_GROUP_ID;
@@ -9,10 +11,15 @@ import static io.quarkus.test.extractor.project.utils.MavenUtils.computeRelative
 
 public final class TestModuleProject {
 
-    private static final Model MAVEN_MODEL = MavenUtils.getMavenModel("pom-test-module-skeleton.xml");
+    // the skeleton is shared by concurrently extracted modules, copying it once initializes its lazily created lists,
+    // so that the skeleton is never modified afterwards
+    private static final Model MAVEN_MODEL = ModelCopies.copyOf(MavenUtils.getMavenModel("pom-test-module-skeleton.xml"));
 
     public static Model create(Project project) {
-        Model model = MAVEN_MODEL.clone();
+        // only the parent is modified, everything else from the skeleton is shared or replaced
+        Model model = ModelCopies.copyOf(MAVEN_MODEL);
+        model.setParent(MAVEN_MODEL.getParent().clone());
+        ExtractionMetrics.modelCloned();
         model.setVersion(project.version());
         model.setProperties(project.properties());
         if (project.isDirectSubModule()) {
@@ -21,7 +28,7 @@ public final class TestModuleProject {
             model.getParent().setRelativePath(parentRelativePath);
             model.getProperties().put("rootDir", parentRelativePath);
         } else {
-            model.setParent(project.originalModel().getParent());
+            model.setParent(project.parent());
         }
         model.getParent().setGroupId(TEST_PARENT_GROUP_ID);
         model.setArtifactId(project.artifactId());
@@ -0,0 +1,87 @@
+package io.quarkus.test.extractor.project.utils;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Resolves dependencies through the repository system only for modules and coordinates that extraction needs,
+ * so that mojos don't require Maven to resolve dependencies of every module in the reactor.
+ * Only POM files are needed to collect dependencies, artifacts are never downloaded.
+ */
+public final class DependencyResolver {
+
+    /**
+     * Scopes of the compile classpath, dependencies with other scopes are only included when declared directly.
+     */
+    private static final Set<String> TRANSITIVE_SCOPES = Set.of("compile", "provided", "system");
+
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession repositorySession;
+
+    public DependencyResolver(RepositorySystem repositorySystem, RepositorySystemSession repositorySession) {
+        this.repositorySystem = repositorySystem;
+        this.repositorySession = repositorySession;
+    }
+
+    /**
+     * @return 'groupId:artifactId' of declared dependencies of any scope and of their compile classpath
+     */
+    public Set<String> collectDependencyClosure(MavenProject mavenProject) {
+        ArtifactTypeRegistry typeRegistry = repositorySession.getArtifactTypeRegistry();
+        var collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(RepositoryUtils.toArtifact(mavenProject.getArtifact()));
+        collectRequest.setRepositories(mavenProject.getRemoteProjectRepositories());
+        mavenProject.getDependencies()
+                .forEach(d -> collectRequest.addDependency(RepositoryUtils.toDependency(d, typeRegistry)));
+        if (mavenProject.getDependencyManagement() != null) {
+            mavenProject.getDependencyManagement().getDependencies()
+                    .forEach(d -> collectRequest.addManagedDependency(RepositoryUtils.toDependency(d, typeRegistry)));
+        }
+        final DependencyNode root;
+        try {
+            root = repositorySystem.collectDependencies(repositorySession, collectRequest).getRoot();
+        } catch (DependencyCollectionException e) {
+            throw new RuntimeException("Failed to collect dependencies of module " + mavenProject.getArtifactId(), e);
+        }
+        var closure = new TreeSet<String>();
+        addDependencies(root.getChildren(), closure, new HashSet<>(), true);
+        return closure;
+    }
+
+    /**
+     * The same dependency can be reached first with a scope that is not transitive (e.g. a declared test
+     * dependency) and later with a transitive scope, therefore children are added whenever the dependency
+     * is reached with a transitive scope for the first time, regardless of the visit order.
+     */
+    static void addDependencies(List<DependencyNode> nodes, Set<String> closure, Set<String> expanded,
+                                boolean declared) {
+        for (DependencyNode node : nodes) {
+            Dependency dependency = node.getDependency();
+            if (dependency == null) {
+                continue;
+            }
+            boolean transitiveScope = TRANSITIVE_SCOPES.contains(dependency.getScope());
+            if (!declared && !transitiveScope) {
+                continue;
+            }
+            var artifact = dependency.getArtifact();
+            String key = artifact.getGroupId() + ":" + artifact.getArtifactId();
+            closure.add(key);
+            if (transitiveScope && expanded.add(key)) {
+                addDependencies(node.getChildren(), closure, expanded, false);
+            }
+        }
+    }
+}
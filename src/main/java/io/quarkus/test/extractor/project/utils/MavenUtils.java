@@ -1,6 +1,8 @@
 package io.quarkus.test.extractor.project.utils;
 
 import io.quarkus.test.extractor.project.builder.Project;
+import io.quarkus.test.extractor.project.helper.ExtractionEvents;
+import io.quarkus.test.extractor.project.helper.ExtractionMetrics;
 import io.quarkus.test.extractor.project.helper.ExtractionSummary;
 import io.quarkus.test.extractor.project.helper.FileChanger;
 import io.quarkus.test.extractor.project.result.ParentProject;
@@ -114,8 +116,11 @@ public final class MavenUtils {
     }
 
     private static void writeMavenModel(Model model, Path targetDir, boolean parentModule) {
-        writeMavenModel(model, getPomFile(targetDir));
-        finalizePom(targetDir, parentModule);
+        File pomFile = getPomFile(targetDir);
+        ExtractionMetrics.measure(ExtractionMetrics.Phase.POM_WRITE,
+                () -> ExtractionEvents.pomWrite(pomFile, () -> writeMavenModel(model, pomFile)));
+        ExtractionMetrics.measure(ExtractionMetrics.Phase.POM_FINALIZE,
+                () -> ExtractionEvents.pomFinalize(pomFile, () -> finalizePom(pomFile, parentModule)));
     }
 
     public static boolean isTestModuleProperty(String propertyName, String propertyValue) {
@@ -149,10 +154,6 @@ public final class MavenUtils {
         }
     }
 
-    private static void finalizePom(Path targetDir, boolean parentModule) {
-        finalizePom(getPomFile(targetDir), parentModule);
-    }
-
     private static Model getMavenModel(InputStream is) {
         MavenXpp3Reader reader = new MavenXpp3Reader();
         try (is) {
@@ -173,6 +174,9 @@ public final class MavenUtils {
     private static void writeMavenModel(Model model, File targetPom) {
         try (var newFileOS = new FileOutputStream(targetPom)) {
             new MavenXpp3Writer().write(newFileOS, model);
+            if (ExtractionMetrics.isEnabled()) {
+                ExtractionMetrics.fileWritten(newFileOS.getChannel().size());
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to save '%s' POM file".formatted(targetPom), e);
         }
@@ -181,6 +185,7 @@ public final class MavenUtils {
     private static void finalizePom(File targetPom, boolean parentModule) {
         try {
             String pomContent = Files.readString(targetPom.toPath());
+            ExtractionMetrics.fileRead(pomContent.length());
             pomContent = pomContent.replaceAll(MAVEN_PROPERTY_PREFIX, PROPERTY_START);
             if (!parentModule && pomContent.contains(THIS_PROJECT_VERSION)) {
                 // this is "fallback" that exists mostly because plugin configurations doesn't have unified XML schema
@@ -228,6 +233,7 @@ public final class MavenUtils {
                         .collect(joining(System.lineSeparator()));
             }
             Files.writeString(targetPom.toPath(), pomContent, StandardOpenOption.TRUNCATE_EXISTING);
+            ExtractionMetrics.fileWritten(pomContent.length());
         } catch (IOException e) {
             throw new RuntimeException("Failed to remove Maven property placeholder from POM file", e);
         }
@@ -323,11 +329,17 @@ public final class MavenUtils {
     public static void copyDirectory(File sourceDirectory, File destinationDirectory, boolean containsDisabledTests,
                                      String artifactId) {
         destinationDirectory.mkdirs();
-        copyDirectory(sourceDirectory, destinationDirectory, destinationDirectory, containsDisabledTests, artifactId);
+        ExtractionMetrics.measure(ExtractionMetrics.Phase.COPY, () -> {
+            try (var copyBatch = ExtractionEvents.copyBatch(sourceDirectory, destinationDirectory)) {
+                copyDirectory(sourceDirectory, destinationDirectory, destinationDirectory, containsDisabledTests,
+                        artifactId, copyBatch);
+            }
+        });
     }
 
     private static void copyDirectory(File sourceDir, File destinationDir, File originalDir,
-                                      boolean containsDisabledTests, String artifactId) {
+                                      boolean containsDisabledTests, String artifactId,
+                                      ExtractionEvents.CopyBatchEvent copyBatch) {
         File[] files = sourceDir.listFiles();
         if (files != null) {
             String sourcePath = sourceDir.getAbsolutePath();
@@ -349,6 +361,12 @@ public final class MavenUtils {
                             }
                             try {
                                 Files.copy(source.toPath(), destinationFile.toPath(), REPLACE_EXISTING);
+                                if (ExtractionMetrics.isEnabled()) {
+                                    long bytes = source.length();
+                                    ExtractionMetrics.fileRead(bytes);
+                                    ExtractionMetrics.fileWritten(bytes);
+                                }
+                                copyBatch.fileCopied(source);
                             } catch (IOException e) {
                                 throw new RuntimeException("Failed to copy '%s' file to '%s'"
                                         .formatted(source.getPath(), destinationFile.getPath()), e);
@@ -356,7 +374,7 @@ public final class MavenUtils {
                         }
                     } else {
                         destination.mkdirs();
-                        copyDirectory(source, destination, originalDir, containsDisabledTests, artifactId);
+                        copyDirectory(source, destination, originalDir, containsDisabledTests, artifactId, copyBatch);
                     }
                 }
             }
@@ -399,7 +417,13 @@ public final class MavenUtils {
             return classContent
                     .replaceAll(Pattern.quote(GET_VERSION), "System.getProperty(\"core.quarkus.version\")");
         }, path);
-        try(var files = Files.walk(targetDir, Integer.MAX_VALUE, FileVisitOption.FOLLOW_LINKS)) {
+        ExtractionMetrics.measure(ExtractionMetrics.Phase.FORCED_DEPENDENCY_SCAN,
+                () -> substituteForcedDependencyVersions(targetDir, extractionSummary, getVersionSubstitution));
+    }
+
+    private static void substituteForcedDependencyVersions(Path targetDir, ExtractionSummary extractionSummary,
+                                                           Consumer<Path> getVersionSubstitution) {
+        try (var files = Files.walk(targetDir, Integer.MAX_VALUE, FileVisitOption.FOLLOW_LINKS)) {
             files
                 .filter(Files::isRegularFile)
                 .filter(p -> p.toString().endsWith("Test.java") || p.toString().endsWith("TestCase.java"))
@@ -431,6 +455,7 @@ public final class MavenUtils {
 
     private static Predicate<Path> anyLineMatches(Predicate<String> predicate) {
         return p -> {
+            ExtractionMetrics.fileRead(p);
             try (var linesStream = Files.lines(p)) {
                 return linesStream.anyMatch(predicate);
             } catch (IOException e) {
@@ -0,0 +1,118 @@
+package io.quarkus.test.extractor.project.utils;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Profile;
+
+/**
+ * Shallow copies of Maven model nodes. Unlike the 'clone()', the copy shares all the child nodes and lists
+ * with the original, so the caller must replace child nodes or lists it is going to modify (copy-on-write).
+ * Input locations are not copied because the POM writer doesn't use them.
+ */
+public final class ModelCopies {
+
+    private ModelCopies() {
+        // utils
+    }
+
+    public static Model copyOf(Model model) {
+        var copy = new Model();
+        copyModelBase(model, copy);
+        copy.setModelVersion(model.getModelVersion());
+        copy.setParent(model.getParent());
+        copy.setGroupId(model.getGroupId());
+        copy.setArtifactId(model.getArtifactId());
+        copy.setVersion(model.getVersion());
+        copy.setPackaging(model.getPackaging());
+        copy.setName(model.getName());
+        copy.setDescription(model.getDescription());
+        copy.setUrl(model.getUrl());
+        copy.setChildProjectUrlInheritAppendPath(model.getChildProjectUrlInheritAppendPath());
+        copy.setInceptionYear(model.getInceptionYear());
+        copy.setOrganization(model.getOrganization());
+        copy.setLicenses(model.getLicenses());
+        copy.setDevelopers(model.getDevelopers());
+        copy.setContributors(model.getContributors());
+        copy.setMailingLists(model.getMailingLists());
+        copy.setPrerequisites(model.getPrerequisites());
+        copy.setScm(model.getScm());
+        copy.setIssueManagement(model.getIssueManagement());
+        copy.setCiManagement(model.getCiManagement());
+        copy.setBuild(model.getBuild());
+        copy.setProfiles(model.getProfiles());
+        copy.setModelEncoding(model.getModelEncoding());
+        copy.setPomFile(model.getPomFile());
+        return copy;
+    }
+
+    public static Profile copyOf(Profile profile) {
+        var copy = new Profile();
+        copyModelBase(profile, copy);
+        copy.setId(profile.getId());
+        copy.setSource(profile.getSource());
+        copy.setActivation(profile.getActivation());
+        copy.setBuild(profile.getBuild());
+        return copy;
+    }
+
+    public static Build copyOf(Build build) {
+        var copy = new Build();
+        copyBuildBase(build, copy);
+        copy.setSourceDirectory(build.getSourceDirectory());
+        copy.setScriptSourceDirectory(build.getScriptSourceDirectory());
+        copy.setTestSourceDirectory(build.getTestSourceDirectory());
+        copy.setOutputDirectory(build.getOutputDirectory());
+        copy.setTestOutputDirectory(build.getTestOutputDirectory());
+        copy.setExtensions(build.getExtensions());
+        return copy;
+    }
+
+    public static BuildBase copyOf(BuildBase build) {
+        if (build instanceof Build b) {
+            return copyOf(b);
+        }
+        var copy = new BuildBase();
+        copyBuildBase(build, copy);
+        return copy;
+    }
+
+    public static Dependency copyOf(Dependency dependency) {
+        var copy = new Dependency();
+        copy.setGroupId(dependency.getGroupId());
+        copy.setArtifactId(dependency.getArtifactId());
+        copy.setVersion(dependency.getVersion());
+        copy.setType(dependency.getType());
+        copy.setClassifier(dependency.getClassifier());
+        copy.setScope(dependency.getScope());
+        copy.setSystemPath(dependency.getSystemPath());
+        copy.setExclusions(dependency.getExclusions());
+        copy.setOptional(dependency.getOptional());
+        return copy;
+    }
+
+    private static void copyModelBase(ModelBase source, ModelBase copy) {
+        copy.setModules(source.getModules());
+        copy.setDistributionManagement(source.getDistributionManagement());
+        copy.setProperties(source.getProperties());
+        copy.setDependencyManagement(source.getDependencyManagement());
+        copy.setDependencies(source.getDependencies());
+        copy.setRepositories(source.getRepositories());
+        copy.setPluginRepositories(source.getPluginRepositories());
+        copy.setReports(source.getReports());
+        copy.setReporting(source.getReporting());
+    }
+
+    private static void copyBuildBase(BuildBase source, BuildBase copy) {
+        copy.setPlugins(source.getPlugins());
+        copy.setPluginManagement(source.getPluginManagement());
+        copy.setDefaultGoal(source.getDefaultGoal());
+        copy.setResources(source.getResources());
+        copy.setTestResources(source.getTestResources());
+        copy.setDirectory(source.getDirectory());
+        copy.setFinalName(source.getFinalName());
+        copy.setFilters(source.getFilters());
+    }
+}
@@ -5,6 +5,32 @@ import io.quarkus.test.extractor.project.helper.ExtractionSummary;
 
 public sealed interface ProjectWriter permits ProjectWriterImpl {
 
+    /**
+     * When the project can be written relative to other projects.
+     */
+    enum Stage {
+        /**
+         * Writing the project does nothing.
+         */
+        NONE,
+        /**
+         * Parent projects that other projects need, must be written first and one at a time.
+         */
+        PARENT,
+        /**
+         * Modules that can be written concurrently, provided changes of the parent project they make are recorded.
+         */
+        MODULE,
+        /**
+         * Unsupported modules that are removed from already written POM files, one at a time.
+         */
+        UNSUPPORTED,
+        /**
+         * The last module, which writes the parent project and merges partial results, must be written last.
+         */
+        FINALIZATION
+    }
+
     void writeProject(Project project);
 
     static void writeProject(Project project, ExtractionSummary extractionSummary) {
@@ -12,4 +38,15 @@ public sealed interface ProjectWriter permits ProjectWriterImpl {
         projectWriter.writeProject(project);
     }
 
+    /**
+     * @return true if writing the project does anything, false for modules that the extraction can skip
+     */
+    static boolean isExtracted(Project project) {
+        return getStage(project) != Stage.NONE;
+    }
+
+    static Stage getStage(Project project) {
+        return ProjectWriterImpl.getStage(project);
+    }
+
 }
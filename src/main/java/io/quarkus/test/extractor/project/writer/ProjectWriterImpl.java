@@ -26,6 +26,7 @@ import static io.quarkus.test.extractor.project.utils.PluginUtils.*;
 final class ProjectWriterImpl implements ProjectWriter {
 
     private static final String RUN_TESTS_BASH_SCRIPT = "run_tests.sh";
+    private static final String QUARKUS_BUILD_SKIP = "quarkus.build.skip";
     private static final Path EXTENSION_MODULES_PATH = TARGET_DIR.resolve(EXTENSIONS);
     private static final Path IT_MODULES_PATH = TARGET_DIR.resolve(INTEGRATION_TESTS);
 
@@ -56,11 +57,21 @@ final class ProjectWriterImpl implements ProjectWriter {
         }
 
         if (isLastModule(project.artifactId())) {
-            ParentProject.writeTo(TARGET_DIR);
-            correctVersionResolutionForForcedDeps(TARGET_DIR, extractionSummary);
-            extractionSummary.createAndStoreFinalSummary();
-            addTestExecutionBashLibrary();
-            createPruneDockerContainersFileInProjectRootDir();
+            ExtractionMetrics.measure(ExtractionMetrics.Phase.FINALIZATION, () -> {
+                ParentProject.writeTo(TARGET_DIR);
+                correctVersionResolutionForForcedDeps(TARGET_DIR, extractionSummary);
+                extractionSummary.createAndStoreFinalSummary();
+                TestInventory.createAndStoreInventory();
+                ManagedModuleDependencies.createAndStoreManagedModuleDependencies();
+                ModuleDependencyClosures.createAndStoreModuleDependencyClosures();
+                ParallelExecutionPlan.createAndStorePlan();
+                ModuleInfrastructure.createAndStoreModuleInfrastructure();
+                ContainerImages.createAndStoreContainerImages();
+                addTestExecutionBashLibrary();
+                createPruneDockerContainersFileInProjectRootDir();
+                // keep last, fingerprints must cover final content of extracted files
+                TestInputFingerprints.createAndStoreFingerprints();
+            });
         } else {
             extractionSummary.createAndStorePartialSummary();
         }
@@ -108,13 +119,31 @@ final class ProjectWriterImpl implements ProjectWriter {
         FileSystemStorage.saveFileContent(RUN_TESTS_BASH_SCRIPT, libContent, true);
     }
 
+    /**
+     * Must be kept in sync with the {@link #writeProject(Project)}.
+     */
+    static Stage getStage(Project project) {
+        if (isLastModule(project.artifactId())) {
+            return Stage.FINALIZATION;
+        }
+        if (isQuarkusBuildParent(project) || isIntegrationTestsParent(project) || isQuarkusParentPomProject(project)) {
+            return Stage.PARENT;
+        }
+        if (isNotSupportedProject(project)) {
+            // only needs to be removed from the parent project if the parent project is written
+            return !project.isDirectSubModule() && !isNotSupportedProject(project.parentProject())
+                    ? Stage.UNSUPPORTED : Stage.NONE;
+        }
+        return copyAsIs(project) || project.isTestModule() ? Stage.MODULE : Stage.NONE;
+    }
+
     private static boolean isIntegrationTestsParent(Project project) {
         return project.artifactId().equalsIgnoreCase("quarkus-integration-tests-parent");
     }
 
     private static void copyWholeProject(Project project) {
         copyAllFilesInProjectExceptForPom(project);
-        Model model = project.originalModel();
+        final Model model = ExtractionMetrics.measure(ExtractionMetrics.Phase.MODEL_PREPARATION, project::originalModel);
         Parent parent = model.getParent();
         parent.setGroupId(TEST_PARENT_GROUP_ID);
         if (project.isDirectSubModule()) {
@@ -123,7 +152,23 @@ final class ProjectWriterImpl implements ProjectWriter {
             parent.setRelativePath(computeRelativePath(project));
         }
         TestProjectCustomizer.customizeIfNecessary(project, model);
+        if (project.isIntegrationTestModule() && hasJarPackaging(project)) {
+            // managed modules are installed in the same reactor as tested modules, which skip the Quarkus build
+            // until the tests are run, but tests may need the managed application built
+            model.getProperties().put(QUARKUS_BUILD_SKIP, Boolean.FALSE.toString());
+        }
         createMavenModule(project, model, getTargetProjectDirPath(project));
+        ManagedModuleDependencies.recordManagedModule(project, model);
+        ModuleDependencyClosures.recordManagedModule(project);
+        if (project.isTestModule()) {
+            var sources = ModuleSources.scan(project.projectPath(), model);
+            TestInventory.recordTestClasses(project, model, sources);
+            ManagedModuleDependencies.recordTestModule(project, model);
+            ModuleDependencyClosures.recordTestModule(project);
+            ParallelExecutionPlan.recordTestModule(project, sources);
+            ModuleInfrastructure.recordTestModule(project, model, sources);
+            ContainerImages.recordTestModule(project, model, sources);
+        }
         // we copy the whole project, so we need to manage it so that it is found
         // if some test module needs it
         ParentProject.addManagedProject(project);
@@ -141,10 +186,18 @@ final class ProjectWriterImpl implements ProjectWriter {
         } else {
             copyTests(project);
         }
-        Model testModel = TestModuleProject.create(project);
+        final Model testModel = ExtractionMetrics.measure(ExtractionMetrics.Phase.MODEL_PREPARATION,
+                () -> TestModuleProject.create(project));
         TestProjectCustomizer.customizeIfNecessary(project, testModel);
         Path testModelTargetPath = getTargetProjectDirPath(project);
         createMavenModule(project, testModel, testModelTargetPath);
+        var sources = ModuleSources.scan(project.projectPath(), testModel);
+        TestInventory.recordTestClasses(project, testModel, sources);
+        ManagedModuleDependencies.recordTestModule(project, testModel);
+        ModuleDependencyClosures.recordTestModule(project);
+        ParallelExecutionPlan.recordTestModule(project, sources);
+        ModuleInfrastructure.recordTestModule(project, testModel, sources);
+        ContainerImages.recordTestModule(project, testModel, sources);
     }
 
     private static void copyAllFilesInProjectExceptForPom(Project project) {
@@ -6,26 +6,38 @@ run_tests() {
   local MODULE_GROUP_NUMBER="${AXIS_VALUE##*-}"
   local MODULE_DIR_NAME=''
   local ADDITIONAL_ARGS=''
+  local SHARD_ARGS=''
+  local SHARD_IMAGE_MANIFEST=''
+  local MANAGED_MODULES_ARGS=''
+  local MVN_INSTALL_THREADS="${MVN_INSTALL_THREADS:-1C}"
+  local TESTED_MODULES=()
+  local POM_MODULES=()
   
   # determine which modules should be run based on the scenario postfix
   if [[ $AXIS_VALUE == extensions* ]];
   then
       echo "Testing extension module group number $MODULE_GROUP_NUMBER"
       MODULE_DIR_NAME='extensions'
-      echo "Building managed extension dependencies in case we need them during testing"
-      mvn clean install -V -B --no-transfer-progress -DskipITs -DskipTests -Dextension-tests-managed-modules $MVN_INSTALL_ARGS
+      MANAGED_MODULES_ARGS='-Dextension-tests-managed-modules'
   else
       echo "Testing integration test module group number $MODULE_GROUP_NUMBER"
       MODULE_DIR_NAME='integration-tests'
-      echo "Building managed integration test dependencies in case we need them during testing"
-      mvn clean install -V -B --no-transfer-progress -DskipITs -DskipTests -Dintegration-tests-managed-modules -Dquarkus.build.skip=false $MVN_INSTALL_ARGS
+      MANAGED_MODULES_ARGS='-Dintegration-tests-managed-modules'
       ADDITIONAL_ARGS+=' -Dintegration-tests-build'
   fi
 
-  if [[ "$OUTER_MVN_ADDITIONAL_ARGS" != *" -pl "* ]];then
+  if [[ "$OUTER_MVN_ADDITIONAL_ARGS" == *" -pl "* ]];then
+      echo "The 'MVN_ADDITIONAL_ARGS' environment variable specifies modules that should be run using the '-pl' option"
+  elif hasPlannedShards "$MODULE_DIR_NAME" "$NUMBER_OF_AXES_PER_CATEGORY"; then
+    # shards planned by the 'plan-shards' goal based on historical module durations
+    echo "Using planned shard $MODULE_DIR_NAME-$MODULE_GROUP_NUMBER: $(grep "^$MODULE_DIR_NAME-$MODULE_GROUP_NUMBER;" test-shards)"
+    # sliced modules also need to know which of their test slices belong to this shard
+    local SLICE_ARGS=$(grep "^$MODULE_DIR_NAME-$MODULE_GROUP_NUMBER;" test-shards | cut -d';' -f4)
+    SHARD_ARGS="-Dshard=$MODULE_DIR_NAME-$MODULE_GROUP_NUMBER $SLICE_ARGS"
+    TESTED_MODULES=($(grep "^$MODULE_DIR_NAME-$MODULE_GROUP_NUMBER;" test-shards | cut -d';' -f3 | tr ',' ' '))
+    SHARD_IMAGE_MANIFEST="container-image-manifests/$MODULE_DIR_NAME-$MODULE_GROUP_NUMBER"
+  else
     # determine which modules should be tested
-    head -n -1 pom.xml > pom-wip
-    echo "    <modules>" >> pom-wip
     local TOTAL_NUMBER_OF_MODULES=$(ls -d $MODULE_DIR_NAME/*/* | grep pom.xml | wc -l)
     (( REMAINDER=TOTAL_NUMBER_OF_MODULES%NUMBER_OF_AXES_PER_CATEGORY, NUMBER_OF_MODULES_PER_GROUP=TOTAL_NUMBER_OF_MODULES/NUMBER_OF_AXES_PER_CATEGORY ))
     echo "Total number of $MODULE_DIR_NAME modules is $TOTAL_NUMBER_OF_MODULES and there is $NUMBER_OF_AXES_PER_CATEGORY module groups"
@@ -50,20 +62,173 @@ run_tests() {
           fi
         fi
     done
-    echo "    </modules>" >> pom-wip
-    echo "</project>" >> pom-wip
-    mv pom-wip pom.xml
+    TESTED_MODULES=("${POM_MODULES[@]}")
+  fi
+
+  local PULL_PID=''
+  # pull images while modules are built, so that tests don't pull them lazily and time out
+  if [ "$PRE_PULL_IMAGES" = true ] && [ -f "$SHARD_IMAGE_MANIFEST" ]; then
+    # the manifest written by the 'plan-shards' goal lists images of all modules planned into this shard
+    pullContainerImages $(cat "$SHARD_IMAGE_MANIFEST") &
+    PULL_PID=$!
+  elif [ "$PRE_PULL_IMAGES" = true ] && [ -f container-images ] && [[ ${#TESTED_MODULES[@]} -gt 0 ]]; then
+    pullContainerImages $(findContainerImages "${TESTED_MODULES[@]}") &
+    PULL_PID=$!
+  fi
+
+  cp pom.xml pom-original
+  if [ -f managed-module-dependencies ] && [[ ${#TESTED_MODULES[@]} -gt 0 ]]; then
+    # only build managed modules (and managed modules they depend on) that tested modules need
+    local MANAGED_MODULES=($(findManagedModules "${TESTED_MODULES[@]}"))
+    echo "Tested modules need ${#MANAGED_MODULES[@]} managed modules: ${MANAGED_MODULES[*]}"
+    MANAGED_MODULES_ARGS=''
+    writePomFile pom.xml "${POM_MODULES[@]}" "${MANAGED_MODULES[@]}"
   else
-      echo "The 'MVN_ADDITIONAL_ARGS' environment variable specifies modules that should be run using the '-pl' option"
+    writePomFile pom.xml "${POM_MODULES[@]}"
   fi
            
   # IMPORTANT: we need to have installed in local repo all the artifacts for all the test modules (and POM parent)
   # simply because some tests like io.quarkus.info.deployment.NoGitProjectInfoTest fail if they don't exist
-  echo "Building tested modules"
-  mvn clean install -V -B --no-transfer-progress -DskipITs -DskipTests $MVN_INSTALL_ARGS
+  # managed modules are built in the same reactor in case we need them during testing
+  echo "Building managed and tested modules"
+  mvn clean install -V -B --no-transfer-progress -T $MVN_INSTALL_THREADS -Dinstall-only $MANAGED_MODULES_ARGS $SHARD_ARGS $MVN_INSTALL_ARGS
+  # managed modules are already installed, tests are only run for tested modules
+  writePomFile pom.xml "${POM_MODULES[@]}"
+  rm pom-original
   
-  echo "Running tests"
-  mvn clean verify -V -B --no-transfer-progress --fail-at-end -Dtest-containers -Dstart-containers $OUTER_MVN_ADDITIONAL_ARGS
+  if [ -n "$PULL_PID" ]; then
+    wait $PULL_PID
+  fi
+
+  if [ "$TEST_RESULT_CACHE" = true ]; then
+    # modules that passed with same inputs and Quarkus platform are not tested again
+    OUTER_MVN_ADDITIONAL_ARGS+=' -Dtest-result-cache'
+  fi
+
+  if [ "$TEST_TELEMETRY" = true ]; then
+    # every module writes test class timing into 'target/test-telemetry'
+    OUTER_MVN_ADDITIONAL_ARGS+=' -Dtest-telemetry'
+  fi
+
+  if [ "$JFR" = true ]; then
+    # every test JVM writes a Java Flight Recording into 'target' of the module
+    OUTER_MVN_ADDITIONAL_ARGS+=' -Djfr'
+  fi
+
+  local TRAINED_MODULE=''
+  local TRAINING_RESULT=0
+  if [ -n "$CDS_TRAINING_MODULE" ] && [ ! -f test-jvm-classes.jsa ]; then
+    if isTestedModule "$CDS_TRAINING_MODULE" "${TESTED_MODULES[@]}"; then
+      # test JVMs of following runs share JDK classes loaded by the representative module
+      # application classes are not archived as they are loaded from module directories that differ for every fork
+      # the training pass is the module test run, therefore the module is not tested again with other modules
+      echo "Creating AppCDS archive from test JVMs of module $CDS_TRAINING_MODULE"
+      mvn verify -V -B --no-transfer-progress -Dcds-training -Dtest-containers -Dstart-containers -pl "$CDS_TRAINING_MODULE" $SHARD_ARGS $OUTER_MVN_ADDITIONAL_ARGS || TRAINING_RESULT=$?
+      TRAINED_MODULE="$CDS_TRAINING_MODULE"
+      if ls "$CDS_TRAINING_MODULE"/target/test-jvm-classes-*.lst > /dev/null 2>&1; then
+        # every Surefire and Failsafe fork lists its classes into a separate file, classes are numbered per list,
+        # so numbers are removed and classes of custom class loaders, which need them, are skipped (they are not archived)
+        cat "$CDS_TRAINING_MODULE"/target/test-jvm-classes-*.lst | grep -v '^#' | grep -v ' source: ' \
+          | sed 's/ id: [0-9]*$//' | awk '!seen[$0]++' > test-jvm-classes.lst
+        "${JAVA_HOME:+$JAVA_HOME/bin/}java" -Xshare:dump -XX:SharedClassListFile=test-jvm-classes.lst \
+          -XX:SharedArchiveFile="$(pwd)/test-jvm-classes.jsa" > /dev/null || echo "Failed to create AppCDS archive"
+        rm test-jvm-classes.lst
+      else
+        echo "Module $CDS_TRAINING_MODULE has not listed loaded classes, AppCDS archive was not created"
+      fi
+    else
+      # modules selected with the '-pl' option are not known, so the module is only trained when it is known to be tested
+      echo "Module $CDS_TRAINING_MODULE is not tested in this run, AppCDS archive was not created"
+    fi
+  fi
+
+  # no 'clean' so that compiled classes are reused, the Quarkus build of tested modules only happens now
+  if [ -n "$PARALLEL_TEST_THREADS" ] && [ -f parallel-execution-plan ] && [[ ${#TESTED_MODULES[@]} -gt 0 ]]; then
+    # modules that don't bind fixed ports or start fixed containers run concurrently, the rest one by one
+    local PARALLEL_MODULES=$(findModulesInPlan PARALLEL "${TESTED_MODULES[@]}" | withoutModule "$TRAINED_MODULE")
+    local SERIAL_MODULES=$(findModulesInPlan SERIAL "${TESTED_MODULES[@]}" | withoutModule "$TRAINED_MODULE")
+    local PARALLEL_RESULT=0
+    local SERIAL_RESULT=0
+    if [ -n "$PARALLEL_MODULES" ]; then
+      echo "Running tests of parallel-safe modules with $PARALLEL_TEST_THREADS threads"
+      mvn verify -V -B --no-transfer-progress --fail-at-end -T $PARALLEL_TEST_THREADS -Dparallel-tests -Dtest-containers -Dstart-containers -pl "$PARALLEL_MODULES" $SHARD_ARGS $OUTER_MVN_ADDITIONAL_ARGS || PARALLEL_RESULT=$?
+    fi
+    if [ -n "$SERIAL_MODULES" ]; then
+      echo "Running tests of modules that are not parallel-safe"
+      mvn verify -V -B --no-transfer-progress --fail-at-end -Dtest-containers -Dstart-containers -pl "$SERIAL_MODULES" $SHARD_ARGS $OUTER_MVN_ADDITIONAL_ARGS || SERIAL_RESULT=$?
+    fi
+    [[ $TRAINING_RESULT -eq 0 ]] && [[ $PARALLEL_RESULT -eq 0 ]] && [[ $SERIAL_RESULT -eq 0 ]]
+  else
+    local TEST_RESULT=0
+    echo "Running tests"
+    mvn verify -V -B --no-transfer-progress --fail-at-end -Dtest-containers -Dstart-containers ${TRAINED_MODULE:+-pl !$TRAINED_MODULE} $SHARD_ARGS $OUTER_MVN_ADDITIONAL_ARGS || TEST_RESULT=$?
+    [[ $TRAINING_RESULT -eq 0 ]] && [[ $TEST_RESULT -eq 0 ]]
+  fi
+}
+
+pullContainerImages() {
+  local CMD="docker"
+  if [[ "$DOCKER_HOST" == *podman* ]]; then
+    CMD="podman"
+  fi
+  local IMAGES=("$@")
+  echo "Pulling ${#IMAGES[@]} container images: ${IMAGES[*]}"
+  local IMAGE
+  for IMAGE in "${IMAGES[@]}"
+  do
+    echo "$IMAGE"
+  done | xargs -r -P 4 -I {} sh -c "$CMD pull -q {} > /dev/null || echo 'Failed to pull image {}'"
+}
+
+findContainerImages() {
+  # prints images referenced by tested modules (tested modules or their submodules), one per line
+  local MODULE_NAME
+  for MODULE_NAME in "$@"
+  do
+    grep "^$MODULE_NAME[/;]" container-images | cut -d';' -f2 | tr ',' '\n'
+  done | sort -u
+}
+
+findModulesInPlan() {
+  # prints comma-separated test modules (tested modules or their submodules) with given execution mode
+  local EXECUTION_MODE="$1"
+  shift
+  local MODULE_NAME
+  for MODULE_NAME in "$@"
+  do
+    grep "^$MODULE_NAME[/;]" parallel-execution-plan | grep ";$EXECUTION_MODE;" | cut -d';' -f1
+  done | sort -u | paste -s -d ','
+}
+
+withoutModule() {
+  # removes given module from comma-separated modules read from STD IN
+  local MODULE_NAME="$1"
+  if [ -n "$MODULE_NAME" ]; then
+    tr ',' '\n' | grep -v -x -F "$MODULE_NAME" | paste -s -d ','
+  else
+    cat
+  fi
+}
+
+isTestedModule() {
+  # the module is tested when it is one of tested modules or their submodule
+  local MODULE_NAME="$1"
+  shift
+  local TESTED_MODULE
+  for TESTED_MODULE in "$@"
+  do
+    if [[ "$MODULE_NAME" == "$TESTED_MODULE" ]] || [[ "$MODULE_NAME" == "$TESTED_MODULE"/* ]]; then
+      return 0
+    fi
+  done
+  return 1
+}
+
+hasPlannedShards() {
+  # planned shards are only usable when they were planned for the same number of module groups
+  local MODULE_DIR_NAME="$1"
+  local NUMBER_OF_AXES_PER_CATEGORY=$2
+  [ -f test-shards ] && [[ "$(grep -c "^$MODULE_DIR_NAME-[0-9]*;" test-shards)" == "$NUMBER_OF_AXES_PER_CATEGORY" ]]
 }
 
 addModuleToPomFile() {
@@ -74,7 +239,7 @@ addModuleToPomFile() {
   local MODULE_NAME="$1"
   local POM_FILE="$MODULE_NAME/pom.xml"
   if [ -f "$POM_FILE" ]; then
-    echo "        <module>$MODULE_NAME</module>" >> pom-wip
+    POM_MODULES+=("$MODULE_NAME")
   else
     local SUB_MODULES=($( ls -d $MODULE_NAME/* ))
     for SUB_MODULE in "${SUB_MODULES[@]}"
@@ -84,4 +249,45 @@ addModuleToPomFile() {
   fi
 }
 
+findManagedModules() {
+  # managed module dependencies are recorded for test modules, which can be submodules of tested modules
+  local MODULE_NAME
+  for MODULE_NAME in "$@"
+  do
+    grep "^$MODULE_NAME[/=]" managed-module-dependencies | cut -d'=' -f2 | tr ',' '\n'
+  done | while read -r MANAGED_MODULE; do toReactorModule "$MANAGED_MODULE"; done | sort -u
+}
+
+toReactorModule() {
+  # nested managed modules are built by the first parent module placed in a directory with a pom.xml file
+  local MODULE_PATH="$1"
+  local PREFIX="${MODULE_PATH%%/*}"
+  local REST="${MODULE_PATH#*/}"
+  local PART
+  for PART in ${REST//\// }
+  do
+    PREFIX="$PREFIX/$PART"
+    if [ -f "$PREFIX/pom.xml" ]; then
+      echo "$PREFIX"
+      return
+    fi
+  done
+}
+
+writePomFile() {
+  # writes the original POM file with given modules (without duplicates)
+  local TARGET_FILE="$1"
+  shift
+  head -n -1 pom-original > pom-wip
+  if [[ $# -gt 0 ]]; then
+    echo "    <modules>" >> pom-wip
+    printf '%s\n' "$@" | awk '!seen[$0]++' | while read -r MODULE_NAME; do
+      echo "        <module>$MODULE_NAME</module>" >> pom-wip
+    done
+    echo "    </modules>" >> pom-wip
+  fi
+  echo "</project>" >> pom-wip
+  mv pom-wip "$TARGET_FILE"
+}
+
 run_tests $1 "$2" "$3" "$4"
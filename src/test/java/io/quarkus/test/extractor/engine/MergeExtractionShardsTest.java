@@ -0,0 +1,114 @@
+package io.quarkus.test.extractor.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static io.quarkus.test.extractor.engine.StandaloneExtractor.COLLECT_PROJECT_METADATA;
+import static io.quarkus.test.extractor.engine.StandaloneExtractor.EXTRACT_TESTS;
+import static io.quarkus.test.extractor.engine.StandaloneExtractor.MERGE_EXTRACTION_SHARDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every extraction runs in its own JVM, because the selected shard, the target directory and the generated
+ * parent project are static.
+ */
+class MergeExtractionShardsTest {
+
+    private static final String PARENT_PROJECT_CHANGES_DIR_NAME = "partial-parent-project-changes";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mergedShardsAreIdenticalToSingleRun() throws IOException, InterruptedException, URISyntaxException {
+        Path reactorDir = copyDirectory(Path.of(Objects.requireNonNull(getClass().getResource("/sharded-reactor"))
+                .toURI()), tempDir.resolve("reactor"));
+        Path metadataDir = Files.createDirectories(tempDir.resolve("metadata"));
+        extract(reactorDir, metadataDir, COLLECT_PROJECT_METADATA);
+
+        Path singleRunDir = copyDirectory(metadataDir, tempDir.resolve("single-run"));
+        extract(reactorDir, singleRunDir, EXTRACT_TESTS);
+
+        Path firstShardDir = copyDirectory(metadataDir, tempDir.resolve("shard-1"));
+        extract(reactorDir, firstShardDir, EXTRACT_TESTS, "-Dextraction-shard=1/2");
+        Path secondShardDir = copyDirectory(metadataDir, tempDir.resolve("shard-2"));
+        extract(reactorDir, secondShardDir, EXTRACT_TESTS, "-Dextraction-shard=2/2");
+        // both shards extract some modules, so that changes of the parent project are replayed from both of them
+        assertTrue(Files.exists(firstShardDir.resolve(PARENT_PROJECT_CHANGES_DIR_NAME)));
+        assertTrue(Files.exists(secondShardDir.resolve(PARENT_PROJECT_CHANGES_DIR_NAME)));
+
+        Path mergedDir = copyDirectory(metadataDir, tempDir.resolve("merged"));
+        extract(reactorDir, mergedDir, MERGE_EXTRACTION_SHARDS, "-Dshard-dirs=" + firstShardDir + "," + secondShardDir);
+
+        var singleRunFiles = readFiles(singleRunDir);
+        var mergedFiles = readFiles(mergedDir);
+        assertEquals(singleRunFiles.keySet(), mergedFiles.keySet());
+        singleRunFiles.forEach((path, content) -> assertArrayEquals(content, mergedFiles.get(path), path));
+    }
+
+    private void extract(Path reactorDir, Path targetDir, String goal, String... properties)
+            throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dwrite-to=" + targetDir);
+        command.add("-Dmaven.repo.local=" + tempDir.resolve("repository"));
+        command.addAll(List.of(properties));
+        command.add("-cp");
+        command.add(System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")));
+        command.add(StandaloneExtractor.class.getName());
+        command.add(goal);
+        Path log = tempDir.resolve(targetDir.getFileName() + "-" + goal + ".log");
+        int exitCode = new ProcessBuilder(command)
+                .directory(reactorDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start()
+                .waitFor();
+        assertEquals(0, exitCode, () -> readString(log));
+    }
+
+    private static SortedMap<String, byte[]> readFiles(Path dir) throws IOException {
+        var pathToContent = new TreeMap<String, byte[]>();
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                // partial extraction summaries are not text files
+                pathToContent.put(dir.relativize(path).toString(), Files.readAllBytes(path));
+            }
+        }
+        return pathToContent;
+    }
+
+    private static Path copyDirectory(Path source, Path target) throws IOException {
+        try (var paths = Files.walk(source)) {
+            for (Path path : paths.toList()) {
+                Path targetPath = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(targetPath);
+                } else {
+                    Files.copy(path, targetPath);
+                }
+            }
+        }
+        return target;
+    }
+
+    private static String readString(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + path, e);
+        }
+    }
+}
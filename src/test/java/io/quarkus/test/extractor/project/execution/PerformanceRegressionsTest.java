@@ -0,0 +1,69 @@
+package io.quarkus.test.extractor.project.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reference values were computed by numerical integration of the Student's t-distribution density.
+ */
+class PerformanceRegressionsTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void upperTailMatchesReferenceValues() {
+        // Cauchy distribution, P(T > 1) = 1/2 - atan(1)/pi
+        assertEquals(0.25, PerformanceRegressions.studentTUpperTail(1, 1), TOLERANCE);
+        // closed form for 2 degrees of freedom, P(T > t) = 1/2 - t / (2 * sqrt(2 + t^2))
+        assertEquals(0.5 - 2 / (2 * Math.sqrt(6)), PerformanceRegressions.studentTUpperTail(2, 2), TOLERANCE);
+        // one-sided critical value of the 0.05 level for 5 degrees of freedom
+        assertEquals(0.05, PerformanceRegressions.studentTUpperTail(2.015048, 5), TOLERANCE);
+        assertEquals(0.0066177998, PerformanceRegressions.studentTUpperTail(4.242640687119285, 4), TOLERANCE);
+        assertEquals(0.3103615024, PerformanceRegressions.studentTUpperTail(0.5, 30), TOLERANCE);
+    }
+
+    @Test
+    void upperTailIsSymmetric() {
+        assertEquals(0.5, PerformanceRegressions.studentTUpperTail(0, 9), TOLERANCE);
+        assertEquals(0.9113507565, PerformanceRegressions.studentTUpperTail(-1.5, 7), TOLERANCE);
+        assertEquals(1, PerformanceRegressions.studentTUpperTail(1.3, 12)
+                + PerformanceRegressions.studentTUpperTail(-1.3, 12), TOLERANCE);
+    }
+
+    @Test
+    void pairedTTestDetectsConsistentSlowdown() {
+        var pairs = pairs(new double[] { 12.1, 15.3, 9.8, 20.4, 11.0, 14.2 },
+                new double[] { 13.0, 15.9, 10.9, 21.1, 11.2, 15.8 });
+
+        // t = 4.370001864937755 with 5 degrees of freedom
+        assertEquals(0.0036110259, PerformanceRegressions.pairedTTestPValue(pairs), TOLERANCE);
+    }
+
+    @Test
+    void pairedTTestOfSpeedupIsNotSignificant() {
+        var pairs = pairs(new double[] { 13.0, 15.9, 10.9, 21.1, 11.2, 15.8 },
+                new double[] { 12.1, 15.3, 9.8, 20.4, 11.0, 14.2 });
+
+        assertEquals(1 - 0.0036110259, PerformanceRegressions.pairedTTestPValue(pairs), TOLERANCE);
+    }
+
+    @Test
+    void pairedTTestWithoutVarianceDependsOnlyOnDirection() {
+        assertEquals(0, PerformanceRegressions.pairedTTestPValue(pairs(new double[] { 1, 2, 3 },
+                new double[] { 2, 3, 4 })));
+        assertEquals(1, PerformanceRegressions.pairedTTestPValue(pairs(new double[] { 1, 2, 3 },
+                new double[] { 1, 2, 3 })));
+    }
+
+    private static List<double[]> pairs(double[] baseline, double[] current) {
+        var pairs = new ArrayList<double[]>();
+        for (int i = 0; i < baseline.length; i++) {
+            pairs.add(new double[] { baseline[i], current[i] });
+        }
+        return pairs;
+    }
+}
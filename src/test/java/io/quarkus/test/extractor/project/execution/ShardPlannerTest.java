@@ -0,0 +1,114 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.ShardPlanner.Shard;
+import io.quarkus.test.extractor.project.execution.TestSlicer.Slice;
+import io.quarkus.test.extractor.project.helper.ModuleInfrastructure.Service;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardPlannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void longestModulesAreBalancedAcrossShards() throws IOException {
+        var durations = durations(Map.of("it/a", 7, "it/b", 5, "it/c", 4, "it/d", 3, "it/e", 3, "it/f", 2));
+
+        var shards = ShardPlanner.planShards("integration-tests", 2, durations.modulePaths(), durations.durations(),
+                List.of(), Map.of(), 0);
+
+        assertEquals(List.of("integration-tests-1", "integration-tests-2"), shards.stream().map(Shard::id).toList());
+        assertEquals(List.of(12.0, 12.0), shards.stream().map(Shard::estimatedSeconds).toList());
+        assertEquals(List.of("it/a", "it/d", "it/f"), shards.get(0).modulePaths());
+        assertEquals(List.of("it/b", "it/c", "it/e"), shards.get(1).modulePaths());
+    }
+
+    @Test
+    void everyModuleIsPlannedExactlyOnce() throws IOException {
+        var durations = durations(Map.of("it/a", 40, "it/b", 30, "it/c", 20, "it/d", 10, "it/e", 5));
+
+        var shards = ShardPlanner.planShards("integration-tests", 3, durations.modulePaths(), durations.durations(),
+                List.of(), Map.of(), 0);
+
+        var plannedModules = shards.stream().flatMap(s -> s.modulePaths().stream()).sorted().toList();
+        assertEquals(durations.modulePaths().stream().sorted().toList(), plannedModules);
+        // LPT guarantees that the longest shard is no longer than 4/3 of the optimum, here the optimum is 40
+        double longestShard = shards.stream().mapToDouble(Shard::estimatedSeconds).max().orElseThrow();
+        assertTrue(longestShard <= 40 * 4.0 / 3, "Longest shard takes " + longestShard + " seconds");
+    }
+
+    @Test
+    void sameInputProducesSameShards() throws IOException {
+        var durations = durations(Map.of("it/a", 5, "it/b", 5, "it/c", 5, "it/d", 5));
+
+        var first = ShardPlanner.planShards("extensions", 2, durations.modulePaths(), durations.durations(),
+                List.of(), Map.of(), 0.2);
+        var second = ShardPlanner.planShards("extensions", 2, durations.modulePaths().reversed(),
+                durations.durations(), List.of(), Map.of(), 0.2);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void modulesNeedingSameServicesShareShardWithinTolerance() throws IOException {
+        var durations = durations(Map.of("it/a", 10, "it/b", 8, "it/c", 5, "it/d", 3));
+        var moduleToServices = Map.of("it/a", Set.of(Service.POSTGRESQL), "it/c", Set.of(Service.POSTGRESQL));
+
+        var withoutTolerance = ShardPlanner.planShards("integration-tests", 2, durations.modulePaths(),
+                durations.durations(), List.of(), moduleToServices, 0);
+        var withTolerance = ShardPlanner.planShards("integration-tests", 2, durations.modulePaths(),
+                durations.durations(), List.of(), moduleToServices, 0.5);
+
+        assertEquals(Set.of("it/a", "it/d"), Set.copyOf(withoutTolerance.get(0).modulePaths()));
+        assertEquals(Set.of("it/a", "it/c"), Set.copyOf(withTolerance.get(0).modulePaths()));
+    }
+
+    @Test
+    void slicesOfOneModuleAreNeverPlacedIntoSameShard() throws IOException {
+        var durations = durations(Map.of("it/sliced", 100, "it/a", 1));
+        var slices = List.of(new Slice("it/sliced", "sliced", 1, 30), new Slice("it/sliced", "sliced", 2, 30));
+
+        var shards = ShardPlanner.planShards("integration-tests", 2, durations.modulePaths(), durations.durations(),
+                slices, Map.of(), 0);
+
+        assertEquals(List.of(List.of("-Dtest-slice.sliced=1"), List.of("-Dtest-slice.sliced=2")),
+                shards.stream().map(Shard::arguments).toList());
+        assertTrue(shards.stream().allMatch(s -> s.modulePaths().contains("it/sliced")));
+        assertEquals(61, shards.stream().mapToDouble(Shard::estimatedSeconds).sum());
+    }
+
+    @Test
+    void moduleWithMoreSlicesThanShardsIsRejected() throws IOException {
+        var durations = durations(Map.of("it/sliced", 100));
+        var slices = List.of(new Slice("it/sliced", "sliced", 1, 30), new Slice("it/sliced", "sliced", 2, 30),
+                new Slice("it/sliced", "sliced", 3, 30));
+
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.planShards("integration-tests", 2,
+                durations.modulePaths(), durations.durations(), slices, Map.of(), 0));
+    }
+
+    private record Durations(List<String> modulePaths, ModuleDurations durations) {
+    }
+
+    private Durations durations(Map<String, Integer> moduleToSeconds) throws IOException {
+        var seedFile = tempDir.resolve("durations");
+        Files.writeString(seedFile, moduleToSeconds.entrySet().stream()
+                .map(e -> e.getKey() + ";" + e.getValue())
+                .collect(Collectors.joining(System.lineSeparator())));
+        var modulePaths = moduleToSeconds.keySet().stream().sorted().toList();
+        return new Durations(modulePaths, ModuleDurations.load(modulePaths, List.of(), seedFile));
+    }
+}
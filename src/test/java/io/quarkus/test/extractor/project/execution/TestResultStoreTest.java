@@ -0,0 +1,86 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestReports.TestCaseReport;
+import io.quarkus.test.extractor.project.execution.TestReports.TestStatus;
+import io.quarkus.test.extractor.project.execution.TestReports.TestSuiteReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestResultStoreTest {
+
+    private static final List<TestSuiteReport> SUITES = List.of(
+            new TestSuiteReport("extensions/arc-deployment", "io.quarkus.arc.test.BeanTest", 1.234, 3, 1, 0, 1),
+            new TestSuiteReport("extensions/arc-deployment", "io.quarkus.arc.test.ScopeTest", 0.5, 1, 0, 0, 0),
+            new TestSuiteReport("integration-tests/main", "io.quarkus.it.main.ŽluťoučkýIT", 62.0, 2, 0, 1, 0));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void suitesAreReadAsTheyWereWritten() {
+        try (var writer = TestResultStore.create(tempDir)) {
+            SUITES.forEach(writer::addSuite);
+        }
+
+        var suites = new ArrayList<TestSuiteReport>();
+        TestResultStore.forEachSuite(tempDir, suites::add);
+
+        assertEquals(SUITES, suites);
+    }
+
+    @Test
+    void namesAreStoredInDictionaryAndColumnsInSeparateFiles() throws IOException {
+        try (var writer = TestResultStore.create(tempDir)) {
+            SUITES.forEach(writer::addSuite);
+            writer.addTestCase(new TestCaseReport("extensions/arc-deployment", "io.quarkus.arc.test.BeanTest",
+                    "injects", TestStatus.PASSED, 0.1));
+            writer.addTestCase(new TestCaseReport("extensions/arc-deployment", "io.quarkus.arc.test.BeanTest",
+                    "intercepts", TestStatus.FAILED, 0.2));
+        }
+
+        Path storeDir = tempDir.resolve(TestResultStore.TEST_RESULT_STORE_DIR_NAME);
+        assertEquals(List.of("extensions/arc-deployment", "io.quarkus.arc.test.BeanTest",
+                "io.quarkus.arc.test.ScopeTest", "integration-tests/main", "io.quarkus.it.main.ŽluťoučkýIT"),
+                Files.readAllLines(storeDir.resolve("dictionary")));
+        assertEquals(List.of("format=1", "suites=3", "test-cases=2"), Files.readAllLines(storeDir.resolve("metadata")));
+        // 7 integers per suite
+        assertEquals(3 * 7 * Integer.BYTES, Files.size(storeDir.resolve("suite-columns")));
+        assertEquals(2 * Integer.BYTES, Files.size(storeDir.resolve("test-case-modules")));
+        assertEquals(2 * Integer.BYTES, Files.size(storeDir.resolve("test-case-classes")));
+        assertEquals(2 * Integer.BYTES + "injects".length() + "intercepts".length(),
+                Files.size(storeDir.resolve("test-case-names")));
+        assertEquals(2, Files.size(storeDir.resolve("test-case-statuses")));
+        assertEquals(2 * Integer.BYTES, Files.size(storeDir.resolve("test-case-durations")));
+    }
+
+    @Test
+    void metadataIsWrittenLast() {
+        try (var writer = TestResultStore.create(tempDir)) {
+            writer.addSuite(SUITES.get(0));
+            assertFalse(TestResultStore.exists(tempDir));
+        }
+        assertTrue(TestResultStore.exists(tempDir));
+
+        // recreated store is not used until it is complete
+        try (var writer = TestResultStore.create(tempDir)) {
+            assertFalse(TestResultStore.exists(tempDir));
+            assertThrows(RuntimeException.class, () -> TestResultStore.forEachSuite(tempDir, suite -> {
+            }));
+            writer.addSuite(SUITES.get(1));
+        }
+        var suites = new ArrayList<TestSuiteReport>();
+        TestResultStore.forEachSuite(tempDir, suites::add);
+        assertEquals(List.of(SUITES.get(1)), suites);
+    }
+}
@@ -0,0 +1,108 @@
+package io.quarkus.test.extractor.project.execution;
+
+import io.quarkus.test.extractor.project.execution.TestSlicer.SliceClasses;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestClass;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestKind;
+import io.quarkus.test.extractor.project.helper.TestInventory.TestTrait;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Profile;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TestSlicerTest {
+
+    @Test
+    void classesAreBalancedAcrossSlices() {
+        var testClasses = List.of(testClass("A"), testClass("B"), testClass("C"), testClass("D"), testClass("E"));
+        var classToSeconds = Map.of("org.acme.A", 8.0, "org.acme.B", 6.0, "org.acme.C", 5.0, "org.acme.D", 4.0,
+                "org.acme.E", 3.0);
+
+        var slices = TestSlicer.planSlices(testClasses, 2, classToSeconds);
+
+        assertEquals(List.of(1, 2), slices.stream().map(SliceClasses::number).toList());
+        assertEquals(List.of("org.acme.A", "org.acme.D"), classNames(slices.get(0)));
+        assertEquals(List.of("org.acme.B", "org.acme.C", "org.acme.E"), classNames(slices.get(1)));
+        assertEquals(List.of(12.0, 14.0), slices.stream().map(SliceClasses::estimatedSeconds).toList());
+    }
+
+    @Test
+    void classesWithoutDurationUseAverageOfKnownClasses() {
+        var testClasses = List.of(testClass("A"), testClass("B"), testClass("Unknown"));
+        var classToSeconds = Map.of("org.acme.A", 10.0, "org.acme.B", 2.0);
+
+        var slices = TestSlicer.planSlices(testClasses, 2, classToSeconds);
+
+        // unknown class is estimated to 6 seconds, therefore it is the second-longest class
+        assertEquals(List.of("org.acme.A"), classNames(slices.get(0)));
+        assertEquals(List.of("org.acme.Unknown", "org.acme.B"), classNames(slices.get(1)));
+    }
+
+    @Test
+    void everyClassIsInExactlyOneSlice() {
+        var testClasses = List.of(testClass("A"), testClass("B"), testClass("C"), testClass("D"), testClass("E"),
+                testClass("F"), testClass("G"));
+
+        var slices = TestSlicer.planSlices(testClasses, 3, Map.of());
+
+        var slicedClasses = slices.stream().flatMap(s -> s.testClasses().stream()).map(TestClass::className)
+                .sorted().toList();
+        assertEquals(testClasses.stream().map(TestClass::className).toList(), slicedClasses);
+        assertEquals(List.of(3, 2, 2), slices.stream().map(s -> s.testClasses().size()).toList());
+    }
+
+    @Test
+    void sliceIncludesItsClassesAndSkipsPluginWithoutClasses() {
+        var profile = TestSlicer.createSliceProfile("sliced", 1, List.of(testClass("B"), testClass("A")), false);
+
+        assertEquals("test-slice-1", profile.getId());
+        assertEquals("test-slice.sliced", profile.getActivation().getProperty().getName());
+        assertEquals("1", profile.getActivation().getProperty().getValue());
+        assertEquals(List.of("org/acme/A.java", "org/acme/B.java"),
+                values(configuration(profile, "maven-surefire-plugin").getChild("includes")));
+        assertEquals("true", configuration(profile, "maven-failsafe-plugin").getChild("skipITs").getValue());
+    }
+
+    @Test
+    void lastSliceExcludesClassesOfOtherSlices() {
+        var failsafeClass = new TestClass("sliced", "it/sliced", "integration-tests", "org.acme.IT",
+                TestKind.QUARKUS_INTEGRATION_TEST, Set.of(TestTrait.FAILSAFE));
+
+        var profile = TestSlicer.createSliceProfile("sliced", 3, List.of(testClass("A"), failsafeClass), true);
+
+        var surefireExcludes = configuration(profile, "maven-surefire-plugin").getChild("excludes");
+        assertEquals("append", surefireExcludes.getAttribute("combine.children"));
+        assertEquals(List.of("org/acme/A.java", "**/*$*"), values(surefireExcludes));
+        assertEquals(List.of("org/acme/IT.java", "**/*$*"),
+                values(configuration(profile, "maven-failsafe-plugin").getChild("excludes")));
+        assertNull(configuration(profile, "maven-surefire-plugin").getChild("includes"));
+    }
+
+    private static TestClass testClass(String simpleName) {
+        return new TestClass("sliced", "it/sliced", "integration-tests", "org.acme." + simpleName,
+                TestKind.QUARKUS_TEST, Set.of());
+    }
+
+    private static List<String> classNames(SliceClasses slice) {
+        return slice.testClasses().stream().map(TestClass::className).toList();
+    }
+
+    private static Xpp3Dom configuration(Profile profile, String pluginArtifactId) {
+        return (Xpp3Dom) profile.getBuild().getPlugins().stream()
+                .filter(p -> pluginArtifactId.equals(p.getArtifactId()))
+                .map(Plugin::getConfiguration)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> values(Xpp3Dom element) {
+        return Arrays.stream(element.getChildren()).map(Xpp3Dom::getValue).toList();
+    }
+}
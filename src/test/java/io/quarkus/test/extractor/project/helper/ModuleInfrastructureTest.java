@@ -0,0 +1,73 @@
+package io.quarkus.test.extractor.project.helper;
+
+import io.quarkus.test.extractor.project.helper.ModuleInfrastructure.Service;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModuleInfrastructureTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extensionsAreMatchedByExactArtifactId() {
+        assertEquals(Set.of(Service.POSTGRESQL, Service.KAFKA), ModuleInfrastructure.classify(
+                List.of("quarkus-jdbc-postgresql-deployment", "quarkus-messaging-kafka"), List.of(), List.of()));
+        assertEquals(Set.of(), ModuleInfrastructure.classify(List.of("quarkus-oidc", "quarkus-oidc-client",
+                "quarkus-integration-test-kafka-avro-common", "quarkus-mongodb-health-it"), List.of(), List.of()));
+    }
+
+    @Test
+    void imagesAreMatchedByRepository() {
+        assertEquals(Set.of(Service.KEYCLOAK, Service.POSTGRESQL, Service.MSSQL, Service.INFINISPAN),
+                ModuleInfrastructure.classify(List.of(), List.of("quay.io/keycloak/keycloak:26.1",
+                        "docker.io/postgres:17", "mcr.microsoft.com/mssql/server:2022-latest",
+                        "quay.io/infinispan/server:15.0"), List.of()));
+        assertEquals(Set.of(), ModuleInfrastructure.classify(List.of(), List.of("quay.io/oidc-mock/oidc-server:1",
+                "docker.io/my-postgres-tools:1", "localhost:5000/app/server:1"), List.of()));
+    }
+
+    @Test
+    void containersAreMatchedByClassName() {
+        assertEquals(Set.of(Service.KAFKA), ModuleInfrastructure.classify(List.of(), List.of(),
+                List.of("KafkaContainer", "GenericContainer", "OidcContainer")));
+    }
+
+    @Test
+    void moduleIsScannedOnce() throws IOException {
+        Path testSources = tempDir.resolve("src").resolve("test").resolve("java").resolve("org").resolve("acme");
+        Files.createDirectories(testSources);
+        Files.writeString(testSources.resolve("GreetingTest.java"), "class GreetingTest {}");
+        Files.writeString(testSources.resolve("README.md"), "not a test source");
+        Path testResources = tempDir.resolve("src").resolve("test").resolve("resources");
+        Files.createDirectories(testResources);
+        Files.writeString(testResources.resolve("application.properties"), "quarkus.devservices.enabled = false");
+        var dockerMavenPlugin = new Plugin();
+        dockerMavenPlugin.setArtifactId("docker-maven-plugin");
+        var model = new Model();
+        model.setBuild(new Build());
+        model.getBuild().addPlugin(dockerMavenPlugin);
+
+        var sources = ModuleSources.scan(tempDir, model);
+
+        assertTrue(sources.hasTestSources());
+        assertEquals(List.of(testSources.resolve("GreetingTest.java")), List.copyOf(sources.testSources().keySet()));
+        assertEquals(List.of("class GreetingTest {}"), List.copyOf(sources.testSources().values()));
+        assertTrue(sources.usesDockerMavenPlugin());
+        assertTrue(sources.devServicesDisabled());
+        assertFalse(ModuleSources.scan(tempDir.resolve("missing"), new Model()).hasTestSources());
+    }
+}
@@ -0,0 +1,66 @@
+package io.quarkus.test.extractor.project.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreBuildModulesTest {
+
+    private static final Instant INSTALLED = Instant.parse("2025-01-01T12:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void artifactInstalledAfterSourcesChangedIsUpToDate() throws IOException {
+        var moduleDir = module(INSTALLED.minus(1, ChronoUnit.HOURS));
+
+        assertFalse(PreBuildModules.isOlderThanModuleSources(artifact(), moduleDir));
+    }
+
+    @Test
+    void artifactInstalledBeforeSourceChangedIsStale() throws IOException {
+        var moduleDir = module(INSTALLED.minus(1, ChronoUnit.HOURS));
+        var changedSource = moduleDir.resolve("src").resolve("main").resolve("java").resolve("Changed.java");
+        Files.writeString(changedSource, "class Changed {}");
+        Files.setLastModifiedTime(changedSource, FileTime.from(INSTALLED.plus(1, ChronoUnit.MINUTES)));
+
+        assertTrue(PreBuildModules.isOlderThanModuleSources(artifact(), moduleDir));
+    }
+
+    @Test
+    void artifactInstalledBeforePomChangedIsStale() throws IOException {
+        var moduleDir = module(INSTALLED.minus(1, ChronoUnit.HOURS));
+        Files.setLastModifiedTime(moduleDir.resolve("pom.xml"), FileTime.from(INSTALLED.plus(1, ChronoUnit.MINUTES)));
+
+        assertTrue(PreBuildModules.isOlderThanModuleSources(artifact(), moduleDir));
+    }
+
+    private Path module(Instant sourcesModified) throws IOException {
+        var moduleDir = tempDir.resolve("module");
+        var sourceDir = moduleDir.resolve("src").resolve("main").resolve("java");
+        Files.createDirectories(sourceDir);
+        Files.writeString(moduleDir.resolve("pom.xml"), "<project/>");
+        Files.writeString(sourceDir.resolve("Greeting.java"), "class Greeting {}");
+        for (Path path : new Path[] { moduleDir.resolve("pom.xml"), sourceDir.resolve("Greeting.java"), sourceDir,
+                sourceDir.getParent(), sourceDir.getParent().getParent() }) {
+            Files.setLastModifiedTime(path, FileTime.from(sourcesModified));
+        }
+        return moduleDir;
+    }
+
+    private Path artifact() throws IOException {
+        var artifact = Files.writeString(tempDir.resolve("module-999-SNAPSHOT.jar"), "jar");
+        Files.setLastModifiedTime(artifact, FileTime.from(INSTALLED));
+        return artifact;
+    }
+}
@@ -0,0 +1,49 @@
+package io.quarkus.test.extractor.project.result;
+
+import io.quarkus.test.extractor.project.helper.ManagedProjects;
+import io.quarkus.test.extractor.project.result.ParentProject.Change;
+import io.quarkus.test.extractor.project.result.ParentProject.ChangeType;
+import io.quarkus.test.extractor.project.utils.PluginUtils;
+import org.apache.maven.model.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParentProjectTest {
+
+    private static final String MANAGED_PROJECT = "quarkus-acme-managed-library";
+    private static final String OTHER_PROJECT = "quarkus-acme-library";
+
+    @Test
+    void managedProjectsDoNotDependOnExtractionOrder() throws IOException {
+        Files.createDirectories(PluginUtils.TARGET_DIR);
+        ManagedProjects.recordManagedProject(MANAGED_PROJECT);
+        ManagedProjects.createAndStoreManagedProjects();
+        Predicate<String> isManaged = artifactId -> ParentProject.isManagedByTestParent(dependency(artifactId));
+        var artifactIds = List.of(MANAGED_PROJECT, OTHER_PROJECT, "quarkus-integration-test-shared-library");
+
+        // modules extracted concurrently only record changes, the managed project is not added yet
+        var concurrent = artifactIds.stream().map(isManaged::test).toList();
+        ParentProject.applyChanges(List.of(new Change(ChangeType.MANAGED_PROJECT, MANAGED_PROJECT, null,
+                "integration-tests/acme-managed-library")));
+        // modules extracted one by one apply changes immediately, the managed project is already added
+        var sequential = artifactIds.stream().map(isManaged::test).toList();
+
+        assertEquals(List.of(true, false, true), concurrent);
+        assertEquals(concurrent, sequential);
+        assertTrue(ManagedProjects.isManagedProject(MANAGED_PROJECT.toUpperCase()));
+    }
+
+    private static Dependency dependency(String artifactId) {
+        var dependency = new Dependency();
+        dependency.setGroupId("io.quarkus");
+        dependency.setArtifactId(artifactId);
+        return dependency;
+    }
+}
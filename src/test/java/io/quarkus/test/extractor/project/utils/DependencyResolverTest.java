@@ -0,0 +1,53 @@
+package io.quarkus.test.extractor.project.utils;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DependencyResolverTest {
+
+    @Test
+    void closureDoesNotDependOnVisitOrder() {
+        // 'shared' is a declared test dependency and also a compile dependency of 'library'
+        var sharedAsTest = node("shared", "test", node("shared-child", "compile"));
+        var sharedAsCompile = node("shared", "compile", node("shared-child", "compile"));
+        var library = node("library", "compile", sharedAsCompile);
+
+        var testFirst = closure(List.of(sharedAsTest, library));
+        var compileFirst = closure(List.of(library, sharedAsTest));
+
+        assertEquals(Set.of("org.acme:library", "org.acme:shared", "org.acme:shared-child"), testFirst);
+        assertEquals(testFirst, compileFirst);
+    }
+
+    @Test
+    void childrenOfTestDependenciesAreNotIncluded() {
+        var testDependency = node("test-library", "test", node("test-library-child", "compile"));
+        var runtimeChild = node("runtime-child", "runtime");
+        var library = node("library", "compile", runtimeChild);
+
+        assertEquals(Set.of("org.acme:library", "org.acme:test-library"), closure(List.of(testDependency, library)));
+    }
+
+    private static Set<String> closure(List<DependencyNode> declared) {
+        var closure = new TreeSet<String>();
+        DependencyResolver.addDependencies(declared, closure, new HashSet<>(), true);
+        return closure;
+    }
+
+    private static DependencyNode node(String artifactId, String scope, DependencyNode... children) {
+        var node = new DefaultDependencyNode(new Dependency(new DefaultArtifact("org.acme:" + artifactId + ":1.0"),
+                scope));
+        node.setChildren(List.of(children));
+        return node;
+    }
+}
@@ -0,0 +1,30 @@
+package io.quarkus.extension0;
+
+public class Extension0Recorder {
+
+    @org.junit.jupiter.api.Test
+    public void test0() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test1() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test2() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test3() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test4() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.quarkus.extension2.deployment;
+
+@io.quarkus.test.junit.QuarkusUnitTest
+public class Synthetic0Test {
+
+    @org.junit.jupiter.api.Test
+    public void test0() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test1() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test2() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test3() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void test4() {
+        io.restassured.RestAssured.given().when().get("/hello").then().statusCode(200);
+    }
+
+}
@@ -0,0 +1,4 @@
+package io.quarkus.it.shared;
+
+public class SharedLibrary {
+}
@@ -0,0 +1,138 @@
+package io.quarkus.test.extractor.telemetry;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records timing of test classes and tests executed in extracted test modules. The Quarkus application is started
+ * and stopped by Quarkus JUnit extensions in class callbacks or around the first test, therefore time to the first test
+ * and time after the last test tell how long the Quarkus bootstrap, augmentation and containers took.
+ * This listener is placed on the test classpath by the 'test-telemetry' profile of the generated parent POM,
+ * the 'aggregate-test-telemetry' goal of the plugin reads files it writes.
+ */
+public final class TestTelemetryListener implements TestExecutionListener {
+
+    /**
+     * Directory where every test JVM writes one file.
+     */
+    public static final String TELEMETRY_DIR_PROPERTY = "test-telemetry.dir";
+    private static final String TELEMETRY_FILE_EXTENSION = ".tsv";
+    private static final String CLASS_RECORD = "C";
+    private static final String TEST_RECORD = "T";
+    private static final String SEPARATOR = "\t";
+    private static final Logger LOG = Logger.getLogger(TestTelemetryListener.class.getName());
+
+    private final Map<String, ClassTiming> classTimings = new ConcurrentHashMap<>();
+    private final Map<String, Long> testStarts = new ConcurrentHashMap<>();
+    private final List<String> records = new ArrayList<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        long now = System.nanoTime();
+        testIdentifier.getSource().ifPresent(source -> {
+            if (source instanceof ClassSource classSource && testIdentifier.isContainer()) {
+                classTimings.putIfAbsent(classSource.getClassName(), new ClassTiming(now));
+            } else if (source instanceof MethodSource methodSource && testIdentifier.isTest()) {
+                testStarts.put(testIdentifier.getUniqueId(), now);
+                var classTiming = classTimings.get(methodSource.getClassName());
+                if (classTiming != null && classTiming.firstTestStart == 0) {
+                    classTiming.firstTestStart = now;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        long now = System.nanoTime();
+        testIdentifier.getSource().ifPresent(source -> {
+            if (source instanceof MethodSource methodSource && testIdentifier.isTest()) {
+                Long start = testStarts.remove(testIdentifier.getUniqueId());
+                var classTiming = classTimings.get(methodSource.getClassName());
+                if (classTiming != null) {
+                    classTiming.lastTestEnd = now;
+                }
+                if (start != null) {
+                    addRecord(TEST_RECORD, methodSource.getClassName(), methodSource.getMethodName(),
+                            toMillis(now - start), testExecutionResult.getStatus());
+                }
+            } else if (source instanceof ClassSource classSource && testIdentifier.isContainer()) {
+                var classTiming = classTimings.remove(classSource.getClassName());
+                if (classTiming != null) {
+                    // without tests (e.g. all are disabled), the whole time is spent before the first test
+                    long firstTestStart = classTiming.firstTestStart == 0 ? now : classTiming.firstTestStart;
+                    long lastTestEnd = classTiming.lastTestEnd == 0 ? now : classTiming.lastTestEnd;
+                    addRecord(CLASS_RECORD, classSource.getClassName(), toMillis(firstTestStart - classTiming.start),
+                            toMillis(now - lastTestEnd), toMillis(now - classTiming.start));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        String telemetryDir = System.getProperty(TELEMETRY_DIR_PROPERTY);
+        if (telemetryDir == null || telemetryDir.isBlank()) {
+            return;
+        }
+        List<String> recordsCopy;
+        synchronized (records) {
+            recordsCopy = List.copyOf(records);
+            records.clear();
+        }
+        if (recordsCopy.isEmpty()) {
+            return;
+        }
+        try {
+            Path dir = Files.createDirectories(Path.of(telemetryDir));
+            // forked JVMs and test plans of one JVM write into the same directory
+            Path file = Files.createTempFile(dir, ProcessHandle.current().pid() + "-", TELEMETRY_FILE_EXTENSION);
+            Files.write(file, recordsCopy);
+        } catch (IOException e) {
+            // telemetry must never fail tests, JUnit platform logs through java.util.logging as well
+            LOG.log(Level.WARNING, e, () -> "Failed to write test telemetry into " + telemetryDir);
+        }
+    }
+
+    private void addRecord(Object... values) {
+        var record = new StringBuilder();
+        for (Object value : values) {
+            if (!record.isEmpty()) {
+                record.append(SEPARATOR);
+            }
+            record.append(value);
+        }
+        synchronized (records) {
+            records.add(record.toString());
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static final class ClassTiming {
+
+        private final long start;
+        private volatile long firstTestStart;
+        private volatile long lastTestEnd;
+
+        private ClassTiming(long start) {
+            this.start = start;
+        }
+    }
+}